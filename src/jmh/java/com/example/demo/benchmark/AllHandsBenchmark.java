@@ -0,0 +1,82 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.Employee;
+import com.example.demo.model.Meeting;
+import com.example.demo.service.MeetingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Conflict checks and free-slot searches for very large participant lists, evaluated on the
+ * calling thread (0 threads) or fanned out over a pool.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllHandsBenchmark {
+    private static final int HORIZON_DAYS = 90;
+
+    @Param({"128", "512"})
+    int participants;
+
+    @Param({"200"})
+    int meetingsPerEmployee;
+
+    @Param({"0", "4"})
+    int parallelThreads;
+
+    private MeetingService service;
+    private List<String> names;
+    private List<Employee> employees;
+    private Meeting allHands;
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CalendarGenerator generator = new CalendarGenerator(42, HORIZON_DAYS);
+        service = generator.populate(new MeetingService(), participants, meetingsPerEmployee);
+        service.setParallelThreads(parallelThreads);
+        service.setParallelMinParticipants(1);
+        service.setSlotCacheEntries(0);
+        names = IntStream.range(0, participants).mapToObj(CalendarGenerator::employeeName).toList();
+        employees = names.stream().map(service::getOrCreateEmployee).toList();
+        windowStart = generator.getFirstDay().atStartOfDay();
+        windowEnd = windowStart.plusDays(7);
+        allHands = new Meeting(windowStart.plusHours(15), windowStart.plusHours(16), "All hands");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public List<String> findConflicts() {
+        return service.findConflicts(allHands, names);
+    }
+
+    @Benchmark
+    public List<Meeting> findCommonFreeSlots() {
+        return service.findCommonFreeSlots(employees, 30, windowStart, windowEnd);
+    }
+}
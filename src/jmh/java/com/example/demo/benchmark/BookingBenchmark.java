@@ -0,0 +1,87 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.Meeting;
+import com.example.demo.service.MeetingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups, bookings and conflict checks against a pre-populated in-memory service.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingBenchmark {
+    private static final int HORIZON_DAYS = 90;
+    private static final int SAMPLES = 1024;
+
+    @Param({"100", "1000"})
+    int employees;
+
+    @Param({"10", "200"})
+    int meetingsPerEmployee;
+
+    @Param({"2", "8"})
+    int participants;
+
+    private MeetingService service;
+    private CalendarGenerator generator;
+    private String[] names;
+    private Meeting[] requests;
+    private List<String>[] participantLists;
+    private int next;
+
+    @Setup(Level.Iteration)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        generator = new CalendarGenerator(42, HORIZON_DAYS);
+        service = generator.populate(new MeetingService(), employees, meetingsPerEmployee);
+        names = new String[SAMPLES];
+        requests = new Meeting[SAMPLES];
+        participantLists = new List[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            names[i] = CalendarGenerator.employeeName(i % employees);
+            requests[i] = generator.nextMeeting();
+            participantLists[i] = generator.participants(employees, participants);
+        }
+    }
+
+    private int nextSample() {
+        next = (next + 1) & (SAMPLES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public Object getOrCreateEmployee() {
+        return service.getOrCreateEmployee(names[nextSample()]);
+    }
+
+    // Calendars keep growing during an iteration; they are rebuilt before the next one
+    @Benchmark
+    public String bookMeeting() {
+        int i = nextSample();
+        return service.bookMeeting(names[i], generator.nextMeeting());
+    }
+
+    @Benchmark
+    public List<String> findConflicts() {
+        int i = nextSample();
+        return service.findConflicts(requests[i], participantLists[i]);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.Meeting;
+import com.example.demo.service.MeetingService;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded generator of synthetic calendars: meetings of 30 to 120 minutes on half-hour
+ * boundaries, spread over the working days of a horizon starting next Monday.
+ */
+public class CalendarGenerator {
+    private static final int[] DURATIONS = {30, 30, 60, 60, 60, 90, 120};
+
+    private final Random random;
+    private final LocalDate firstDay;
+    private final int horizonDays;
+
+    public CalendarGenerator(long seed, int horizonDays) {
+        this.random = new Random(seed);
+        this.firstDay = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        this.horizonDays = horizonDays;
+    }
+
+    public LocalDate getFirstDay() {
+        return firstDay;
+    }
+
+    public static String employeeName(int index) {
+        return "Employee " + index;
+    }
+
+    // A random meeting during working hours on a random weekday of the horizon
+    public Meeting nextMeeting() {
+        LocalDate day;
+        do {
+            day = firstDay.plusDays(random.nextInt(horizonDays));
+        } while (day.getDayOfWeek().getValue() > 5);
+        int duration = DURATIONS[random.nextInt(DURATIONS.length)];
+        int startSlot = random.nextInt((9 * 60 - duration) / 30 + 1);
+        LocalDateTime start = day.atTime(9, 0).plusMinutes(startSlot * 30L);
+        return new Meeting(start, start.plusMinutes(duration), "Generated");
+    }
+
+    public List<String> participants(int employees, int count) {
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(employeeName(random.nextInt(employees)));
+        }
+        return names;
+    }
+
+    // Creates {@code employees} employees with {@code meetingsPerEmployee} meetings each
+    public MeetingService populate(MeetingService service, int employees, int meetingsPerEmployee) {
+        for (int e = 0; e < employees; e++) {
+            String name = employeeName(e);
+            service.getOrCreateEmployee(name);
+            for (int m = 0; m < meetingsPerEmployee; m++) {
+                service.bookMeeting(name, nextMeeting());
+            }
+        }
+        return service;
+    }
+}
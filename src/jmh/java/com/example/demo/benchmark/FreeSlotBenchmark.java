@@ -0,0 +1,104 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.Employee;
+import com.example.demo.model.Meeting;
+import com.example.demo.service.MeetingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Free-slot searches over synthetic calendars, by calendar density, search window and
+ * number of participants.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FreeSlotBenchmark {
+    private static final int HORIZON_DAYS = 90;
+    private static final int EMPLOYEES = 64;
+    private static final int SAMPLES = 64;
+
+    @Param({"10", "200"})
+    int meetingsPerEmployee;
+
+    @Param({"7", "30"})
+    int windowDays;
+
+    @Param({"2", "8"})
+    int participants;
+
+    @Param({"30"})
+    int durationMinutes;
+
+    // 0 measures the search itself; pass -p slotCacheEntries=10000 to measure repeated searches served from the cache
+    @Param({"0"})
+    int slotCacheEntries;
+
+    @Param({"heap", "off-heap"})
+    String engine;
+
+    private MeetingService service;
+    private List<Employee>[] groups;
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+    private int next;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        CalendarGenerator generator = new CalendarGenerator(42, HORIZON_DAYS);
+        MeetingService empty = new MeetingService();
+        empty.setCalendarEngine(engine);
+        service = generator.populate(empty, EMPLOYEES, meetingsPerEmployee);
+        service.setSlotCacheEntries(slotCacheEntries);
+        groups = new List[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            List<Employee> group = new ArrayList<>(participants);
+            for (String name : generator.participants(EMPLOYEES, participants)) {
+                group.add(service.getOrCreateEmployee(name));
+            }
+            groups[i] = group;
+        }
+        windowStart = generator.getFirstDay().atStartOfDay();
+        windowEnd = windowStart.plusDays(windowDays);
+    }
+
+    private List<Employee> nextGroup() {
+        next = (next + 1) & (SAMPLES - 1);
+        return groups[next];
+    }
+
+    @Benchmark
+    public List<Meeting> findFreeSlots() {
+        List<Employee> group = nextGroup();
+        return service.findFreeSlots(group.get(0), group.get(1), durationMinutes, windowStart, windowEnd);
+    }
+
+    @Benchmark
+    public List<Meeting> findCommonFreeSlots() {
+        return service.findCommonFreeSlots(nextGroup(), durationMinutes, windowStart, windowEnd);
+    }
+
+    @Benchmark
+    public List<Meeting> findFirstFreeSlots() {
+        return service.findCommonFreeSlots(nextGroup(), durationMinutes, windowStart, windowEnd, 5);
+    }
+}
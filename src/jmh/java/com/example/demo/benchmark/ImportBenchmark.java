@@ -0,0 +1,77 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.ImportRecord;
+import com.example.demo.model.ImportReport;
+import com.example.demo.service.MeetingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk import into an empty in-memory service, against booking the same records one by one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ImportBenchmark {
+    private static final int HORIZON_DAYS = 365;
+
+    @Param({"1000"})
+    int employees;
+
+    @Param({"100000", "1000000"})
+    int records;
+
+    // Run with -prof gc to compare the heap each engine leaves behind
+    @Param({"heap", "off-heap"})
+    String engine;
+
+    private List<ImportRecord> input;
+    private MeetingService service;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        CalendarGenerator generator = new CalendarGenerator(42, HORIZON_DAYS);
+        input = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            ImportRecord record = new ImportRecord(CalendarGenerator.employeeName(i % employees), generator.nextMeeting());
+            record.setIndex(i);
+            input.add(record);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        service = new MeetingService();
+        service.setCalendarEngine(engine);
+    }
+
+    @Benchmark
+    public ImportReport importMeetings() {
+        return service.importMeetings(input.iterator());
+    }
+
+    @Benchmark
+    public MeetingService bookOneByOne() {
+        for (ImportRecord record : input) {
+            service.bookMeeting(record.getEmpName(), record.getMeeting());
+        }
+        return service;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.Employee;
+import com.example.demo.model.Resource;
+import com.example.demo.model.RoomSlot;
+import com.example.demo.service.MeetingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Joint people-and-room searches over a large room inventory, every room with a busy calendar
+ * of its own. Half the rooms have a projector and capacities range from 2 to 20 seats.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomSlotBenchmark {
+    private static final int HORIZON_DAYS = 90;
+
+    @Param({"500", "2000"})
+    int rooms;
+
+    @Param({"200"})
+    int meetingsPerRoom;
+
+    private MeetingService service;
+    private List<Employee> participants;
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CalendarGenerator generator = new CalendarGenerator(42, HORIZON_DAYS);
+        service = generator.populate(new MeetingService(), 64, 200);
+        service.setSlotCacheEntries(0);
+        for (int r = 0; r < rooms; r++) {
+            Resource room = service.putResource("Room " + r, 2 + r % 19, r % 2 == 0 ? List.of("projector") : List.of());
+            for (int m = 0; m < meetingsPerRoom; m++) {
+                room.getCalendar().add(generator.nextMeeting());
+            }
+        }
+        participants = IntStream.range(0, 6).mapToObj(CalendarGenerator::employeeName)
+                .map(service::getOrCreateEmployee).toList();
+        windowStart = generator.getFirstDay().atStartOfDay();
+        windowEnd = windowStart.plusDays(7);
+    }
+
+    @Benchmark
+    public List<RoomSlot> findFreeSlotsWithRoom() {
+        return service.findFreeSlotsWithRoom(participants, 60, 8, List.of("projector"), windowStart, windowEnd, 20);
+    }
+
+    @Benchmark
+    public List<RoomSlot> findFreeSlotsWithAnyRoom() {
+        return service.findFreeSlotsWithRoom(participants, 30, 0, List.of(), windowStart, windowEnd, 20);
+    }
+}
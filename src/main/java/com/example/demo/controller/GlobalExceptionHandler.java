@@ -11,13 +11,16 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 
+import java.util.NoSuchElementException;
+
 @ControllerAdvice
 public class GlobalExceptionHandler {
     @ExceptionHandler({
         MissingServletRequestParameterException.class,
         MethodArgumentTypeMismatchException.class,
         HttpMessageNotReadableException.class,
-        MethodArgumentNotValidException.class
+        MethodArgumentNotValidException.class,
+        IllegalArgumentException.class
     })
     @ResponseBody
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -26,6 +29,14 @@ public class GlobalExceptionHandler {
                 .body("Bad Request: " + ex.getMessage());
     }
 
+    @ExceptionHandler(NoSuchElementException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ResponseEntity<String> handleNotFound(Exception ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body("Not Found: " + ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseBody
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
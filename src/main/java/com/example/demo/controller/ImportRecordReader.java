@@ -0,0 +1,119 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.ImportRecord;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads bulk-import records one at a time from a request body, either a JSON array or NDJSON
+ * (one record per line), so the body is never held in memory as a whole. A record that cannot
+ * be mapped is returned as unreadable and reading goes on; in NDJSON even a malformed line
+ * only costs that line, while broken JSON syntax in an array ends the import at that point.
+ */
+final class ImportRecordReader implements Iterator<ImportRecord> {
+    private final ObjectMapper mapper;
+    private final JsonParser array;
+    private final BufferedReader lines;
+    private long index;
+    private ImportRecord next;
+    private boolean finished;
+
+    private ImportRecordReader(ObjectMapper mapper, JsonParser array, BufferedReader lines) {
+        this.mapper = mapper;
+        this.array = array;
+        this.lines = lines;
+    }
+
+    static ImportRecordReader jsonArray(ObjectMapper mapper, InputStream body) throws IOException {
+        JsonParser parser = mapper.getFactory().createParser(body);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Expected a JSON array of import records");
+        }
+        return new ImportRecordReader(mapper, parser, null);
+    }
+
+    static ImportRecordReader ndjson(ObjectMapper mapper, InputStream body) {
+        return new ImportRecordReader(mapper, null,
+                new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = array != null ? readElement() : readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (next == null) {
+                finished = true;
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public ImportRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ImportRecord record = next;
+        next = null;
+        return record;
+    }
+
+    private ImportRecord readElement() throws IOException {
+        JsonNode element;
+        try {
+            JsonToken token = array.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            element = mapper.readTree(array);
+        } catch (JsonProcessingException e) {
+            // The parser cannot resync after a syntax error, so this is the last record
+            finished = true;
+            return ImportRecord.unreadable(index++, e.getOriginalMessage());
+        }
+        return map(element);
+    }
+
+    private ImportRecord readLine() throws IOException {
+        String line;
+        do {
+            line = lines.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        try {
+            return map(mapper.readTree(line));
+        } catch (JsonProcessingException e) {
+            return ImportRecord.unreadable(index++, e.getOriginalMessage());
+        }
+    }
+
+    private ImportRecord map(JsonNode element) {
+        long position = index++;
+        try {
+            ImportRecord record = mapper.treeToValue(element, ImportRecord.class);
+            record.setIndex(position);
+            return record;
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return ImportRecord.unreadable(position, e instanceof JsonProcessingException json
+                    ? json.getOriginalMessage() : e.getMessage());
+        }
+    }
+}
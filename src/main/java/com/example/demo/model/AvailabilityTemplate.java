@@ -0,0 +1,171 @@
+package com.example.demo.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.demo.model.EpochMinutes.MINUTES_PER_DAY;
+
+/**
+ * A {@link WorkingHours} policy compiled for queries: per ISO weekday, the sorted and merged
+ * shifts as packed {start, end} minute-of-day pairs, plus holidays as sorted epoch days. It is
+ * built once per policy and immutable, so a free-slot search only looks up the day's shifts
+ * instead of re-deriving working hours. Shift times are wall-clock times in the employee's zone.
+ */
+public final class AvailabilityTemplate {
+    private static final int[] NO_SHIFTS = new int[0];
+
+    public static final AvailabilityTemplate STANDARD = compile(WorkingHours.standard());
+
+    // Indexed by ISO day of week (1 = Monday ... 7 = Sunday); slot 0 is unused
+    private final int[][] shifts;
+    private final long[] holidays;
+    private final int slotStepMinutes;
+
+    private AvailabilityTemplate(int[][] shifts, long[] holidays, int slotStepMinutes) {
+        this.shifts = shifts;
+        this.holidays = holidays;
+        this.slotStepMinutes = slotStepMinutes;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a shift or the slot step is invalid
+     */
+    public static AvailabilityTemplate compile(WorkingHours hours) {
+        if (hours.getSlotStepMinutes() <= 0) {
+            throw new IllegalArgumentException("slotStepMinutes must be positive");
+        }
+        int[][] shifts = new int[8][];
+        Arrays.fill(shifts, NO_SHIFTS);
+        for (Map.Entry<DayOfWeek, List<String>> day : hours.getShifts().entrySet()) {
+            List<int[]> ranges = new ArrayList<>();
+            for (String shift : day.getValue()) {
+                ranges.add(WorkingHours.parseShift(shift));
+            }
+            shifts[day.getKey().getValue()] = merge(ranges);
+        }
+        long[] holidays = hours.getHolidays().stream().mapToLong(LocalDate::toEpochDay).sorted().distinct().toArray();
+        return new AvailabilityTemplate(shifts, holidays, hours.getSlotStepMinutes());
+    }
+
+    // Working shifts on the given day as packed {start, end} minute-of-day pairs; empty on days off
+    public int[] shiftsOn(long epochDay) {
+        if (holidays.length > 0 && Arrays.binarySearch(holidays, epochDay) >= 0) {
+            return NO_SHIFTS;
+        }
+        return shifts[EpochMinutes.dayOfWeek(epochDay)];
+    }
+
+    /**
+     * Shifts worked in {@code zone} that overlap the epoch-minute range [from, to), as packed
+     * {start, end} epoch-minute pairs in time order. Shifts are returned whole, not clipped.
+     */
+    public long[] workingIntervals(ZoneTable zone, long from, long to) {
+        // No zone is more than a day away from UTC, so these local days cover the range
+        long firstDay = Math.floorDiv(from, MINUTES_PER_DAY) - 1;
+        long lastDay = Math.floorDiv(to, MINUTES_PER_DAY) + 1;
+        long[] packed = new long[16];
+        int length = 0;
+        for (long day = firstDay; day <= lastDay; day++) {
+            int[] dayShifts = shiftsOn(day);
+            for (int i = 0; i < dayShifts.length; i += 2) {
+                long start = zone.toEpochMinute(day, dayShifts[i]);
+                long end = zone.toEpochMinute(day, dayShifts[i + 1]);
+                if (start < to && end > from && start < end) {
+                    if (length == packed.length) {
+                        packed = Arrays.copyOf(packed, length * 2);
+                    }
+                    packed[length++] = start;
+                    packed[length++] = end;
+                }
+            }
+        }
+        return Arrays.copyOf(packed, length);
+    }
+
+    public int getSlotStepMinutes() {
+        return slotStepMinutes;
+    }
+
+    /**
+     * Hours worked under both templates: shifts are intersected day by day, holidays are
+     * combined, and the coarser slot step wins.
+     */
+    public AvailabilityTemplate intersect(AvailabilityTemplate other) {
+        if (other == this) {
+            return this;
+        }
+        int[][] combined = new int[8][];
+        combined[0] = NO_SHIFTS;
+        for (int day = 1; day <= 7; day++) {
+            combined[day] = intersect(shifts[day], other.shifts[day]);
+        }
+        long[] allHolidays = Arrays.stream(concat(holidays, other.holidays)).sorted().distinct().toArray();
+        return new AvailabilityTemplate(combined, allHolidays, Math.max(slotStepMinutes, other.slotStepMinutes));
+    }
+
+    // The policy this template was compiled from, in normalized form
+    public WorkingHours toWorkingHours() {
+        WorkingHours hours = new WorkingHours();
+        for (int day = 1; day <= 7; day++) {
+            List<String> dayShifts = new ArrayList<>();
+            for (int i = 0; i < shifts[day].length; i += 2) {
+                dayShifts.add(WorkingHours.formatShift(shifts[day][i], shifts[day][i + 1]));
+            }
+            if (!dayShifts.isEmpty()) {
+                hours.getShifts().put(DayOfWeek.of(day), dayShifts);
+            }
+        }
+        for (long holiday : holidays) {
+            hours.getHolidays().add(LocalDate.ofEpochDay(holiday));
+        }
+        hours.setSlotStepMinutes(slotStepMinutes);
+        return hours;
+    }
+
+    // Sorts shifts and merges overlapping or touching ones
+    private static int[] merge(List<int[]> ranges) {
+        ranges.sort((a, b) -> Integer.compare(a[0], b[0]));
+        int[] packed = new int[ranges.size() * 2];
+        int length = 0;
+        for (int[] range : ranges) {
+            if (length > 0 && range[0] <= packed[length - 1]) {
+                packed[length - 1] = Math.max(packed[length - 1], range[1]);
+            } else {
+                packed[length++] = range[0];
+                packed[length++] = range[1];
+            }
+        }
+        return length == 0 ? NO_SHIFTS : Arrays.copyOf(packed, length);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] packed = new int[a.length + b.length];
+        int length = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            int start = Math.max(a[i], b[j]);
+            int end = Math.min(a[i + 1], b[j + 1]);
+            if (start < end) {
+                packed[length++] = start;
+                packed[length++] = end;
+            }
+            if (a[i + 1] < b[j + 1]) {
+                i += 2;
+            } else {
+                j += 2;
+            }
+        }
+        return length == 0 ? NO_SHIFTS : Arrays.copyOf(packed, length);
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
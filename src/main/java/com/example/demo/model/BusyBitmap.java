@@ -0,0 +1,188 @@
+package com.example.demo.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Busy/free map of one calendar in fixed 15-minute quanta, one bit per quantum.
+ *
+ * A bit is set when any meeting touches its quantum, so a clear range is always truly free;
+ * for meetings that start and end on quantum boundaries the map is exact. Bits live in
+ * sparse pages of 4096 quanta (about six weeks), allocated only where meetings exist.
+ * Pages are copy-on-write: writers (already serialized by the calendar's lock) publish a new
+ * array, so readers can probe and OR pages without locking.
+ *
+ * Only meetings spanning at most {@link #MAX_MARKED_QUANTA} quanta are marked, which bounds the
+ * work and page copies of a single booking; the calendar answers for longer ones from its tree.
+ */
+public class BusyBitmap {
+    public static final int QUANTUM_MINUTES = 15;
+
+    private static final int PAGE_SHIFT = 12;
+    private static final int PAGE_QUANTA = 1 << PAGE_SHIFT;
+    private static final int PAGE_WORDS = PAGE_QUANTA / Long.SIZE;
+    // About 170 days; a meeting longer than this is left out of the map
+    public static final int MAX_MARKED_QUANTA = 4 * PAGE_QUANTA;
+
+    private final Map<Long, long[]> pages = new ConcurrentHashMap<>();
+
+    public static boolean isAligned(long epochMinute) {
+        return Math.floorMod(epochMinute, QUANTUM_MINUTES) == 0;
+    }
+
+    // First quantum touched by [start, end); an empty range still touches the quantum it sits in
+    static long firstQuantum(long start) {
+        return Math.floorDiv(start, QUANTUM_MINUTES);
+    }
+
+    // Quantum just past [start, end)
+    static long endQuantum(long start, long end) {
+        return Math.max(firstQuantum(start) + 1, -Math.floorDiv(-end, QUANTUM_MINUTES));
+    }
+
+    // True if [start, end) is short enough to be marked
+    public static boolean isMarkable(long start, long end) {
+        return endQuantum(start, end) - firstQuantum(start) <= MAX_MARKED_QUANTA;
+    }
+
+    // Sets the bits of every quantum touched by [start, end); callers hold the calendar's write lock
+    void mark(long start, long end) {
+        setRange(firstQuantum(start), endQuantum(start, end), true);
+    }
+
+    /**
+     * Marks many {start, end} pairs at once, copying each touched page once rather than once per
+     * interval; pages are published together at the end. Callers hold the calendar's write lock.
+     */
+    void markAll(long[] packed) {
+        Map<Long, long[]> copies = new HashMap<>();
+        for (int i = 0; i < packed.length; i += 2) {
+            long to = endQuantum(packed[i], packed[i + 1]);
+            for (long q = firstQuantum(packed[i]); q < to; q++) {
+                long pageIndex = q >> PAGE_SHIFT;
+                long[] page = copies.computeIfAbsent(pageIndex, index -> {
+                    long[] current = pages.get(index);
+                    return current == null ? new long[PAGE_WORDS] : current.clone();
+                });
+                int bit = (int) (q & (PAGE_QUANTA - 1));
+                page[bit >>> 6] |= 1L << (bit & 63);
+            }
+        }
+        pages.putAll(copies);
+    }
+
+    // Sets or clears the bits of quanta [from, to); callers hold the calendar's write lock
+    void setRange(long from, long to, boolean busy) {
+        long q = from;
+        while (q < to) {
+            long pageIndex = q >> PAGE_SHIFT;
+            long pageEnd = Math.min(to, (pageIndex + 1) << PAGE_SHIFT);
+            long[] current = pages.get(pageIndex);
+            if (current == null && !busy) {
+                q = pageEnd;
+                continue;
+            }
+            long[] page = current == null ? new long[PAGE_WORDS] : current.clone();
+            for (; q < pageEnd; q++) {
+                int bit = (int) (q & (PAGE_QUANTA - 1));
+                if (busy) {
+                    page[bit >>> 6] |= 1L << (bit & 63);
+                } else {
+                    page[bit >>> 6] &= ~(1L << (bit & 63));
+                }
+            }
+            pages.put(pageIndex, page);
+        }
+    }
+
+    /**
+     * Rewrites quanta [from, to) so that exactly those touched by the given start-ordered
+     * {start, end} pairs are set, as after a meeting is removed. Each page is rebuilt in a copy
+     * and published whole; pages left empty are dropped. Callers hold the calendar's write lock.
+     */
+    void reset(long from, long to, long[] stillBusy) {
+        long q = from;
+        int next = 0;
+        while (q < to) {
+            long pageIndex = q >> PAGE_SHIFT;
+            long pageEnd = Math.min(to, (pageIndex + 1) << PAGE_SHIFT);
+            long[] current = pages.get(pageIndex);
+            long[] page = current == null ? new long[PAGE_WORDS] : current.clone();
+            for (long c = q; c < pageEnd; c++) {
+                int bit = (int) (c & (PAGE_QUANTA - 1));
+                page[bit >>> 6] &= ~(1L << (bit & 63));
+            }
+            // Intervals are in start order, so the ones ending before this page are never revisited
+            while (next < stillBusy.length && endQuantum(stillBusy[next], stillBusy[next + 1]) <= q) {
+                next += 2;
+            }
+            for (int i = next; i < stillBusy.length && firstQuantum(stillBusy[i]) < pageEnd; i += 2) {
+                long end = Math.min(pageEnd, endQuantum(stillBusy[i], stillBusy[i + 1]));
+                for (long c = Math.max(q, firstQuantum(stillBusy[i])); c < end; c++) {
+                    int bit = (int) (c & (PAGE_QUANTA - 1));
+                    page[bit >>> 6] |= 1L << (bit & 63);
+                }
+            }
+            if (isEmpty(page)) {
+                pages.remove(pageIndex);
+            } else {
+                pages.put(pageIndex, page);
+            }
+            q = pageEnd;
+        }
+    }
+
+    private static boolean isEmpty(long[] page) {
+        for (long word : page) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // True if any quantum touched by [start, end) is marked busy
+    public boolean anyBusy(long start, long end) {
+        long to = endQuantum(start, end);
+        for (long q = firstQuantum(start); q < to; ) {
+            long pageIndex = q >> PAGE_SHIFT;
+            long pageEnd = Math.min(to, (pageIndex + 1) << PAGE_SHIFT);
+            long[] page = pages.get(pageIndex);
+            if (page != null) {
+                for (; q < pageEnd; q++) {
+                    int bit = (int) (q & (PAGE_QUANTA - 1));
+                    if ((page[bit >>> 6] & (1L << (bit & 63))) != 0) {
+                        return true;
+                    }
+                }
+            }
+            q = pageEnd;
+        }
+        return false;
+    }
+
+    /**
+     * ORs this map into {@code words}, where bit i of the array stands for quantum
+     * {@code firstQuantum + i}. {@code firstQuantum} must be a multiple of 64.
+     */
+    public void orInto(long[] words, long firstQuantum) {
+        if (Math.floorMod(firstQuantum, Long.SIZE) != 0) {
+            throw new IllegalArgumentException("firstQuantum must be a multiple of 64");
+        }
+        int w = 0;
+        while (w < words.length) {
+            long q = firstQuantum + (long) w * Long.SIZE;
+            long pageIndex = q >> PAGE_SHIFT;
+            int pageWord = (int) ((q & (PAGE_QUANTA - 1)) >>> 6);
+            int count = Math.min(words.length - w, PAGE_WORDS - pageWord);
+            long[] page = pages.get(pageIndex);
+            if (page != null) {
+                for (int i = 0; i < count; i++) {
+                    words[w + i] |= page[pageWord + i];
+                }
+            }
+            w += count;
+        }
+    }
+}
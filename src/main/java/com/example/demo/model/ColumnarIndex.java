@@ -0,0 +1,303 @@
+package com.example.demo.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Off-heap replacement for the interval tree of {@link MeetingCalendar}: one-off meetings live
+ * in {@link ColumnarSegment}s, a large sorted base in a direct buffer plus a small sorted delta
+ * that takes new bookings. Removing a base row only lists it as deleted. Once the delta or the
+ * deleted list reaches the square root of the base (at least {@value #MIN_DELTA} rows), both are
+ * folded into a new base, so a booking or removal copies O(√n) rows amortized, while queries
+ * binary-search two segments.
+ *
+ * The delta is rebuilt on every booking, so it lives in a heap buffer: one byte array that young
+ * collections reclaim cheaply, where a direct buffer per booking would reserve native memory
+ * that only a collection releases. Only the base, rebuilt once per merge, is direct.
+ *
+ * All three parts are published together as one immutable snapshot through a volatile write, so
+ * readers see a consistent calendar without locking; writers are serialized by the calendar's
+ * lock. Meeting objects are created only when a caller asks for meetings rather than times.
+ */
+final class ColumnarIndex {
+    private static final int MIN_DELTA = 64;
+
+    private final StringDictionary dictionary;
+    private volatile Snapshot snapshot = new Snapshot(ColumnarSegment.EMPTY, ColumnarSegment.NO_ROWS,
+            ColumnarSegment.EMPTY);
+
+    ColumnarIndex(StringDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    // Callers hold the calendar's write lock
+    void add(Meeting meeting) {
+        Snapshot current = snapshot;
+        publish(current.base, current.deleted, current.delta.with(new ColumnarSegment.Row(meeting, dictionary)));
+    }
+
+    // Meetings in start order, as a bulk add sorts them; merged straight into the base. Callers hold the write lock
+    void addAll(List<Meeting> sorted) {
+        List<ColumnarSegment.Row> rows = new ArrayList<>(sorted.size());
+        for (Meeting meeting : sorted) {
+            rows.add(new ColumnarSegment.Row(meeting, dictionary));
+        }
+        Snapshot current = snapshot;
+        ColumnarSegment added = ColumnarSegment.merge(current.delta, ColumnarSegment.NO_ROWS,
+                ColumnarSegment.of(rows, false), false);
+        snapshot = new Snapshot(ColumnarSegment.merge(current.base, current.deleted, added, true),
+                ColumnarSegment.NO_ROWS, ColumnarSegment.EMPTY);
+    }
+
+    // Folds the delta and the deleted rows into a new base once either has grown past its share
+    private void publish(ColumnarSegment base, int[] deleted, ColumnarSegment delta) {
+        int limit = Math.max(MIN_DELTA, (int) Math.sqrt(base.size()));
+        snapshot = delta.size() >= limit || deleted.length >= limit
+                ? new Snapshot(ColumnarSegment.merge(base, deleted, delta, true), ColumnarSegment.NO_ROWS,
+                        ColumnarSegment.EMPTY)
+                : new Snapshot(base, deleted, delta);
+    }
+
+    /**
+     * Removes the meeting with the same ID (without one, the same start, end and title) and
+     * returns its {start, end}, or null if there is none. Callers hold the write lock.
+     */
+    long[] remove(Meeting meeting) {
+        Snapshot current = snapshot;
+        long start = meeting.startEpochMinute();
+        ColumnarSegment.Key key = ColumnarSegment.Key.of(meeting.getId());
+        int row = find(current.base, current.deleted, start, key, meeting);
+        if (row >= 0) {
+            long[] removed = {current.base.start(row), current.base.end(row)};
+            publish(current.base, withRow(current.deleted, row), current.delta);
+            return removed;
+        }
+        row = find(current.delta, ColumnarSegment.NO_ROWS, start, key, meeting);
+        if (row >= 0) {
+            long[] removed = {current.delta.start(row), current.delta.end(row)};
+            publish(current.base, current.deleted, current.delta.without(row));
+            return removed;
+        }
+        return null;
+    }
+
+    private int find(ColumnarSegment segment, int[] skipped, long start, ColumnarSegment.Key key, Meeting meeting) {
+        return key.isNone()
+                ? segment.findWithoutId(start, meeting.endEpochMinute(), meeting.getTitle(), dictionary, skipped)
+                : segment.find(start, key, skipped);
+    }
+
+    // The sorted rows plus one more
+    private static int[] withRow(int[] rows, int row) {
+        int at = ColumnarSegment.countBefore(rows, row);
+        int[] grown = new int[rows.length + 1];
+        System.arraycopy(rows, 0, grown, 0, at);
+        grown[at] = row;
+        System.arraycopy(rows, at, grown, at + 1, rows.length - at);
+        return grown;
+    }
+
+    // The meeting with the ID starting at the given minute, built from its row; null if there is none
+    Meeting find(String id, long start) {
+        Snapshot current = snapshot;
+        ColumnarSegment.Key key = ColumnarSegment.Key.of(id);
+        int row = current.base.find(start, key, current.deleted);
+        if (row >= 0) {
+            return current.base.meeting(row, dictionary);
+        }
+        row = current.delta.find(start, key, ColumnarSegment.NO_ROWS);
+        return row >= 0 ? current.delta.meeting(row, dictionary) : null;
+    }
+
+    int size() {
+        Snapshot current = snapshot;
+        return current.base.size() - current.deleted.length + current.delta.size();
+    }
+
+    // Off-heap bytes held by the current snapshot, which are the base's
+    long bytes() {
+        Snapshot current = snapshot;
+        return (long) current.base.bytes() + current.delta.bytes();
+    }
+
+    boolean overlaps(long start, long end) {
+        Snapshot current = snapshot;
+        return current.base.overlaps(start, end, current.deleted) || current.delta.overlaps(start, end);
+    }
+
+    // Meetings starting at or before the given minute
+    int countStartingBy(long minute) {
+        Snapshot current = snapshot;
+        int base = current.base.firstStartingAfter(minute);
+        return base - ColumnarSegment.countBefore(current.deleted, base) + current.delta.firstStartingAfter(minute);
+    }
+
+    /**
+     * Meeting at the given position in start order. A base row's position is the live base rows
+     * before it plus the delta rows starting strictly before it (on ties the older base row comes
+     * first), which grows with the row, so the last base row at or before the position is found
+     * by binary search; if that row is deleted or short of the position, a delta row is there.
+     */
+    Meeting get(int index) {
+        Snapshot current = snapshot;
+        int lo = 0;
+        int hi = current.base.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (position(current, mid) <= index) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        // lo base rows sit at or before the position; if the last of them is live and exactly there, it is the one
+        if (lo > 0 && !ColumnarSegment.isListed(current.deleted, lo - 1) && position(current, lo - 1) == index) {
+            return current.base.meeting(lo - 1, dictionary);
+        }
+        return current.delta.meeting(index - (lo - ColumnarSegment.countBefore(current.deleted, lo)), dictionary);
+    }
+
+    private static int position(Snapshot current, int baseRow) {
+        return baseRow - ColumnarSegment.countBefore(current.deleted, baseRow)
+                + current.delta.firstStartingFrom(current.base.start(baseRow));
+    }
+
+    // Meetings overlapping [start, end), in start order
+    void collectOverlapping(long start, long end, List<Meeting> out) {
+        Snapshot current = snapshot;
+        long[] rows = overlappingRows(current, start, end);
+        for (int i = 0; i < rows.length; i += 2) {
+            ColumnarSegment segment = rows[i] == 0 ? current.base : current.delta;
+            out.add(segment.meeting((int) rows[i + 1], dictionary));
+        }
+    }
+
+    // Start/end minutes of the meetings overlapping [start, end), packed and in start order
+    long[] findOverlappingIntervals(long start, long end) {
+        Snapshot current = snapshot;
+        long[] base = intervals(current.base, current.deleted, start, end);
+        long[] delta = intervals(current.delta, ColumnarSegment.NO_ROWS, start, end);
+        if (delta.length == 0 || base.length == 0) {
+            return delta.length == 0 ? base : delta;
+        }
+        long[] merged = new long[base.length + delta.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < base.length || j < delta.length) {
+            if (j >= delta.length || (i < base.length && base[i] <= delta[j])) {
+                merged[k++] = base[i++];
+                merged[k++] = base[i++];
+            } else {
+                merged[k++] = delta[j++];
+                merged[k++] = delta[j++];
+            }
+        }
+        return merged;
+    }
+
+    private static long[] intervals(ColumnarSegment segment, int[] skipped, long start, long end) {
+        long[] out = new long[16];
+        int length = 0;
+        for (int row = segment.firstOverlapCandidate(start); row < segment.size() && segment.start(row) < end; row++) {
+            long rowEnd = segment.end(row);
+            if (rowEnd > start && !ColumnarSegment.isListed(skipped, row)) {
+                if (length + 2 > out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                out[length++] = segment.start(row);
+                out[length++] = rowEnd;
+            }
+        }
+        return Arrays.copyOf(out, length);
+    }
+
+    // {segment (0 base, 1 delta), row} pairs of the rows overlapping [start, end), in start order
+    private static long[] overlappingRows(Snapshot current, long start, long end) {
+        long[] out = new long[16];
+        int length = 0;
+        ColumnarSegment base = current.base;
+        ColumnarSegment delta = current.delta;
+        int i = base.firstOverlapCandidate(start);
+        int j = delta.firstOverlapCandidate(start);
+        while (true) {
+            boolean baseLeft = i < base.size() && base.start(i) < end;
+            boolean deltaLeft = j < delta.size() && delta.start(j) < end;
+            if (!baseLeft && !deltaLeft) {
+                return Arrays.copyOf(out, length);
+            }
+            boolean fromBase = baseLeft && (!deltaLeft || base.start(i) <= delta.start(j));
+            ColumnarSegment segment = fromBase ? base : delta;
+            int row = fromBase ? i++ : j++;
+            if (segment.end(row) > start && !(fromBase && ColumnarSegment.isListed(current.deleted, row))) {
+                if (length + 2 > out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                out[length++] = fromBase ? 0 : 1;
+                out[length++] = row;
+            }
+        }
+    }
+
+    Cursor cursor() {
+        return new Cursor(snapshot, dictionary);
+    }
+
+    /** Walks a snapshot in start order, building each meeting only when it is returned. */
+    static final class Cursor {
+        private final ColumnarSegment base;
+        private final int[] deleted;
+        private final ColumnarSegment delta;
+        private final StringDictionary dictionary;
+        private int i;
+        private int j;
+        // First entry of deleted that i has not passed
+        private int d;
+
+        private Cursor(Snapshot snapshot, StringDictionary dictionary) {
+            this.base = snapshot.base;
+            this.deleted = snapshot.deleted;
+            this.delta = snapshot.delta;
+            this.dictionary = dictionary;
+            skipDeleted();
+        }
+
+        boolean hasNext() {
+            return i < base.size() || j < delta.size();
+        }
+
+        // Start of the meeting next() would return
+        long peekStart() {
+            return fromBase() ? base.start(i) : delta.start(j);
+        }
+
+        Meeting next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (!fromBase()) {
+                return delta.meeting(j++, dictionary);
+            }
+            Meeting meeting = base.meeting(i++, dictionary);
+            skipDeleted();
+            return meeting;
+        }
+
+        private boolean fromBase() {
+            return j >= delta.size() || (i < base.size() && base.start(i) <= delta.start(j));
+        }
+
+        private void skipDeleted() {
+            while (d < deleted.length && deleted[d] == i) {
+                i++;
+                d++;
+            }
+        }
+    }
+
+    // deleted lists base rows, in ascending order, that are gone until the next merge drops them
+    private record Snapshot(ColumnarSegment base, int[] deleted, ColumnarSegment delta) {
+    }
+}
@@ -0,0 +1,494 @@
+package com.example.demo.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * An immutable run of one-off meetings in start order (equal starts in insertion order), held
+ * in a single buffer laid out column by column:
+ *
+ * <pre>
+ * start[n] end[n] maxEnd[n] idMsb[n] idLsb[n]   (longs, epoch minutes and UUID halves)
+ * title[n] zone[n] idRef[n] description[n]      (ints: dictionary codes and text offsets)
+ * text                                           (length-prefixed UTF-8)
+ * </pre>
+ *
+ * maxEnd is the running maximum of end, so the first row that can overlap a range is found by a
+ * binary search and overlap checks never touch a Meeting object. Zones and repeated titles are
+ * codes in a shared {@link StringDictionary}; other titles, IDs not in canonical UUID form (which
+ * take two longs) and descriptions go to the text area. Times are whole epoch minutes, as the
+ * index uses them.
+ *
+ * The buffer is written once by a {@link Builder} and only read afterwards, with absolute reads,
+ * so any number of threads can query a segment without locking. A direct buffer keeps the rows
+ * off the Java heap, and its memory is released by the buffer's cleaner once no calendar
+ * snapshot refers to it; short-lived segments use a heap buffer instead, a single byte array
+ * that the collector never traces into and that reserves no direct memory.
+ *
+ * Methods taking {@code skipped} ignore the rows it lists, in ascending order, as if they had
+ * been removed.
+ */
+final class ColumnarSegment {
+    static final ColumnarSegment EMPTY = new Builder(0, 0, false).build();
+    static final int[] NO_ROWS = new int[0];
+
+    private static final int ROW_BYTES = 5 * Long.BYTES + 4 * Integer.BYTES;
+    // idRef values that do not point into the text area
+    private static final int NO_ID = -1;
+    private static final int UUID_ID = -2;
+    // title values from here down point into the text area, at offset TEXT_TITLE - value
+    private static final int TEXT_TITLE = -2;
+
+    private final ByteBuffer buffer;
+    private final int size;
+
+    private ColumnarSegment(ByteBuffer buffer, int size) {
+        this.buffer = buffer;
+        this.size = size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Off-heap bytes held, for sizing; 0 for a heap segment
+    int bytes() {
+        return buffer.isDirect() ? buffer.capacity() : 0;
+    }
+
+    boolean isDirect() {
+        return buffer.isDirect();
+    }
+
+    long start(int row) {
+        return buffer.getLong(row * Long.BYTES);
+    }
+
+    long end(int row) {
+        return buffer.getLong((size + row) * Long.BYTES);
+    }
+
+    private long maxEnd(int row) {
+        return buffer.getLong((2 * size + row) * Long.BYTES);
+    }
+
+    private long idMsb(int row) {
+        return buffer.getLong((3 * size + row) * Long.BYTES);
+    }
+
+    private long idLsb(int row) {
+        return buffer.getLong((4 * size + row) * Long.BYTES);
+    }
+
+    private int title(int row) {
+        return buffer.getInt(5 * size * Long.BYTES + row * Integer.BYTES);
+    }
+
+    private int zone(int row) {
+        return buffer.getInt(5 * size * Long.BYTES + (size + row) * Integer.BYTES);
+    }
+
+    private int idRef(int row) {
+        return buffer.getInt(5 * size * Long.BYTES + (2 * size + row) * Integer.BYTES);
+    }
+
+    private int description(int row) {
+        return buffer.getInt(5 * size * Long.BYTES + (3 * size + row) * Integer.BYTES);
+    }
+
+    private int textStart() {
+        return size * ROW_BYTES;
+    }
+
+    private String text(int ref) {
+        int at = textStart() + ref;
+        byte[] bytes = new byte[buffer.getInt(at)];
+        buffer.get(at + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private String title(int row, StringDictionary dictionary) {
+        int title = title(row);
+        return title >= StringDictionary.NULL ? dictionary.decode(title) : text(TEXT_TITLE - title);
+    }
+
+    // Text bytes the row holds, which copying it into another segment takes
+    private int textBytes(int row) {
+        int bytes = 0;
+        if (title(row) <= TEXT_TITLE) {
+            bytes += Integer.BYTES + buffer.getInt(textStart() + TEXT_TITLE - title(row));
+        }
+        if (idRef(row) >= 0) {
+            bytes += Integer.BYTES + buffer.getInt(textStart() + idRef(row));
+        }
+        if (description(row) >= 0) {
+            bytes += Integer.BYTES + buffer.getInt(textStart() + description(row));
+        }
+        return bytes;
+    }
+
+    private int textBytes() {
+        return buffer.capacity() - textStart();
+    }
+
+    // First row starting at or after the minute
+    int firstStartingFrom(long minute) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (start(mid) < minute) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // First row starting after the minute, which is also how many start at or before it
+    int firstStartingAfter(long minute) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (start(mid) <= minute) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // First row ending after the minute; every row before it ends at or before the minute
+    private int firstEndingAfter(long minute) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnd(mid) <= minute) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // True if any row overlaps [start, end): the first row ending after start is the only candidate
+    boolean overlaps(long start, long end) {
+        int row = firstEndingAfter(start);
+        return row < size && start(row) < end;
+    }
+
+    // As overlaps(start, end), but the first candidate may be skipped, so the rest are walked
+    boolean overlaps(long start, long end, int[] skipped) {
+        if (skipped.length == 0) {
+            return overlaps(start, end);
+        }
+        for (int row = firstEndingAfter(start); row < size && start(row) < end; row++) {
+            if (end(row) > start && !isListed(skipped, row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // First row that may overlap [start, ...); rows from it on that start before end and end after start overlap
+    int firstOverlapCandidate(long start) {
+        return firstEndingAfter(start);
+    }
+
+    // Row holding the wanted meeting among those starting at the given minute, or -1
+    int find(long start, Key wanted, int[] skipped) {
+        for (int row = firstStartingFrom(start); row < size && start(row) == start; row++) {
+            if (wanted.matches(this, row) && !isListed(skipped, row)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    // Row among those starting at the given minute that has no ID and the given end and title, or -1
+    int findWithoutId(long start, long end, String title, StringDictionary dictionary, int[] skipped) {
+        for (int row = firstStartingFrom(start); row < size && start(row) == start; row++) {
+            if (idRef(row) == NO_ID && end(row) == end && Objects.equals(title(row, dictionary), title)
+                    && !isListed(skipped, row)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    Meeting meeting(int row, StringDictionary dictionary) {
+        Meeting meeting = new Meeting(EpochMinutes.toLocalDateTime(start(row)),
+                EpochMinutes.toLocalDateTime(end(row)), title(row, dictionary));
+        int zone = zone(row);
+        if (zone != StringDictionary.NULL) {
+            meeting = meeting.withZone(ZoneId.of(dictionary.decode(zone)));
+        }
+        int description = description(row);
+        if (description >= 0) {
+            meeting.setDescription(text(description));
+        }
+        int idRef = idRef(row);
+        if (idRef == UUID_ID) {
+            meeting.setId(new UUID(idMsb(row), idLsb(row)).toString());
+        } else if (idRef >= 0) {
+            meeting.setId(text(idRef));
+        }
+        return meeting;
+    }
+
+    // Rows listed in skipped, which is in ascending order, that come before the given row
+    static int countBefore(int[] skipped, int row) {
+        int at = Arrays.binarySearch(skipped, row);
+        return at >= 0 ? at : -at - 1;
+    }
+
+    static boolean isListed(int[] skipped, int row) {
+        return skipped.length > 0 && Arrays.binarySearch(skipped, row) >= 0;
+    }
+
+    /**
+     * Rows of both segments except a's skipped ones, in start order, in a direct or heap buffer;
+     * on equal starts a's rows come first, being older.
+     */
+    static ColumnarSegment merge(ColumnarSegment a, int[] skipped, ColumnarSegment b, boolean direct) {
+        if (skipped.length == 0 && (a.size == 0 || b.size == 0)) {
+            ColumnarSegment only = a.size == 0 ? b : a;
+            if (only.size == 0 || only.isDirect() == direct) {
+                return only;
+            }
+        }
+        int textBytes = a.textBytes() + b.textBytes();
+        for (int row : skipped) {
+            textBytes -= a.textBytes(row);
+        }
+        Builder builder = new Builder(a.size - skipped.length + b.size, textBytes, direct);
+        int i = 0;
+        int j = 0;
+        int next = 0;
+        while (i < a.size || j < b.size) {
+            if (next < skipped.length && skipped[next] == i) {
+                i++;
+                next++;
+            } else if (j >= b.size || (i < a.size && a.start(i) <= b.start(j))) {
+                builder.copy(a, i++);
+            } else {
+                builder.copy(b, j++);
+            }
+        }
+        return builder.build();
+    }
+
+    // This segment plus one row, placed after the rows starting no later
+    ColumnarSegment with(Row row) {
+        Builder builder = new Builder(size + 1, textBytes() + row.textBytes(), isDirect());
+        int at = firstStartingAfter(row.start);
+        for (int i = 0; i < at; i++) {
+            builder.copy(this, i);
+        }
+        builder.add(row);
+        for (int i = at; i < size; i++) {
+            builder.copy(this, i);
+        }
+        return builder.build();
+    }
+
+    ColumnarSegment without(int removed) {
+        Builder builder = new Builder(size - 1, textBytes() - textBytes(removed), isDirect());
+        for (int i = 0; i < size; i++) {
+            if (i != removed) {
+                builder.copy(this, i);
+            }
+        }
+        return builder.build();
+    }
+
+    // Rows already in start order
+    static ColumnarSegment of(List<Row> sorted, boolean direct) {
+        int text = 0;
+        for (Row row : sorted) {
+            text += row.textBytes();
+        }
+        Builder builder = new Builder(sorted.size(), text, direct);
+        for (Row row : sorted) {
+            builder.add(row);
+        }
+        return builder.build();
+    }
+
+    /** A meeting encoded for a segment, before it is written into one. */
+    static final class Row {
+        final long start;
+        final long end;
+        private final long idMsb;
+        private final long idLsb;
+        private final int idRef;
+        private final byte[] idText;
+        private final int title;
+        // Set when the dictionary declined the title
+        private final byte[] titleText;
+        private final int zone;
+        private final byte[] description;
+
+        Row(Meeting meeting, StringDictionary dictionary) {
+            this.start = meeting.startEpochMinute();
+            this.end = meeting.endEpochMinute();
+            Key id = Key.of(meeting.getId());
+            this.idMsb = id.msb;
+            this.idLsb = id.lsb;
+            this.idRef = id.text != null ? 0 : id.uuid ? UUID_ID : NO_ID;
+            this.idText = id.text == null ? null : id.text.getBytes(StandardCharsets.UTF_8);
+            this.title = dictionary.encodeRepeated(meeting.getTitle());
+            this.titleText = title == StringDictionary.NOT_ENCODED ? meeting.getTitle().getBytes(StandardCharsets.UTF_8) : null;
+            this.zone = dictionary.encode(meeting.getZone() == null ? null : meeting.getZone().getId());
+            this.description = meeting.getDescription() == null ? null
+                    : meeting.getDescription().getBytes(StandardCharsets.UTF_8);
+        }
+
+        int textBytes() {
+            return (idText == null ? 0 : Integer.BYTES + idText.length)
+                    + (titleText == null ? 0 : Integer.BYTES + titleText.length)
+                    + (description == null ? 0 : Integer.BYTES + description.length);
+        }
+    }
+
+    /** A meeting ID as rows hold it, for matching without decoding every candidate row. */
+    static final class Key {
+        private static final Key NONE = new Key(false, 0, 0, null);
+
+        private final boolean uuid;
+        private final long msb;
+        private final long lsb;
+        private final String text;
+
+        private Key(boolean uuid, long msb, long lsb, String text) {
+            this.uuid = uuid;
+            this.msb = msb;
+            this.lsb = lsb;
+            this.text = text;
+        }
+
+        static Key of(String id) {
+            if (id == null) {
+                return NONE;
+            }
+            if (id.length() == 36) {
+                try {
+                    UUID parsed = UUID.fromString(id);
+                    // Only the canonical form round-trips through two longs
+                    if (parsed.toString().equals(id)) {
+                        return new Key(true, parsed.getMostSignificantBits(), parsed.getLeastSignificantBits(), null);
+                    }
+                } catch (IllegalArgumentException e) {
+                    // Not a UUID; kept as text
+                }
+            }
+            return new Key(false, 0, 0, id);
+        }
+
+        boolean isNone() {
+            return !uuid && text == null;
+        }
+
+        boolean matches(ColumnarSegment segment, int row) {
+            int ref = segment.idRef(row);
+            if (uuid) {
+                return ref == UUID_ID && segment.idMsb(row) == msb && segment.idLsb(row) == lsb;
+            }
+            return text != null && ref >= 0 && text.equals(segment.text(ref));
+        }
+    }
+
+    /** Writes a segment of a known number of rows and text bytes, one row at a time in order. */
+    private static final class Builder {
+        private final ByteBuffer buffer;
+        private final int size;
+        private int row;
+        private int text;
+        private long maxEnd = Long.MIN_VALUE;
+
+        Builder(int size, int textBytes, boolean direct) {
+            this.size = size;
+            int capacity = size * ROW_BYTES + textBytes;
+            this.buffer = (direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity)).order(ByteOrder.nativeOrder());
+        }
+
+        void add(Row source) {
+            int idRef = source.idRef;
+            if (source.idText != null) {
+                idRef = putText(source.idText);
+            }
+            int title = source.titleText == null ? source.title : TEXT_TITLE - putText(source.titleText);
+            int description = source.description == null ? StringDictionary.NULL : putText(source.description);
+            put(source.start, source.end, source.idMsb, source.idLsb, title, source.zone, idRef, description);
+        }
+
+        void copy(ColumnarSegment source, int at) {
+            int idRef = source.idRef(at);
+            if (idRef >= 0) {
+                idRef = copyText(source, idRef);
+            }
+            int title = source.title(at);
+            if (title <= TEXT_TITLE) {
+                title = TEXT_TITLE - copyText(source, TEXT_TITLE - title);
+            }
+            int description = source.description(at);
+            if (description >= 0) {
+                description = copyText(source, description);
+            }
+            put(source.start(at), source.end(at), source.idMsb(at), source.idLsb(at),
+                    title, source.zone(at), idRef, description);
+        }
+
+        private void put(long start, long end, long idMsb, long idLsb, int title, int zone, int idRef, int description) {
+            maxEnd = Math.max(maxEnd, end);
+            buffer.putLong(row * Long.BYTES, start);
+            buffer.putLong((size + row) * Long.BYTES, end);
+            buffer.putLong((2 * size + row) * Long.BYTES, maxEnd);
+            buffer.putLong((3 * size + row) * Long.BYTES, idMsb);
+            buffer.putLong((4 * size + row) * Long.BYTES, idLsb);
+            int ints = 5 * size * Long.BYTES;
+            buffer.putInt(ints + row * Integer.BYTES, title);
+            buffer.putInt(ints + (size + row) * Integer.BYTES, zone);
+            buffer.putInt(ints + (2 * size + row) * Integer.BYTES, idRef);
+            buffer.putInt(ints + (3 * size + row) * Integer.BYTES, description);
+            row++;
+        }
+
+        // Appends length-prefixed bytes to the text area; returns their offset in it
+        private int putText(byte[] bytes) {
+            int ref = text;
+            int at = size * ROW_BYTES + text;
+            buffer.putInt(at, bytes.length);
+            buffer.put(at + Integer.BYTES, bytes);
+            text += Integer.BYTES + bytes.length;
+            return ref;
+        }
+
+        private int copyText(ColumnarSegment source, int ref) {
+            int from = source.textStart() + ref;
+            int length = Integer.BYTES + source.buffer.getInt(from);
+            int copied = text;
+            buffer.put(size * ROW_BYTES + text, source.buffer, from, length);
+            text += length;
+            return copied;
+        }
+
+        ColumnarSegment build() {
+            if (row != size || size * ROW_BYTES + text != buffer.capacity()) {
+                throw new IllegalStateException("Segment sized for " + size + " rows, written " + row);
+            }
+            return new ColumnarSegment(buffer, size);
+        }
+    }
+}
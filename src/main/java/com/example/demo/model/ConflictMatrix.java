@@ -0,0 +1,46 @@
+package com.example.demo.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of checking many candidate meetings against the same participants at once:
+ * {@code conflicts[c][p]} is true if participant {@code p} is busy during candidate {@code c}.
+ * Candidates and participants keep the order they were given in.
+ */
+public class ConflictMatrix {
+    private final List<String> participants;
+    private final boolean[][] conflicts;
+
+    public ConflictMatrix(List<String> participants, int candidates) {
+        this.participants = List.copyOf(participants);
+        this.conflicts = new boolean[candidates][participants.size()];
+    }
+
+    public List<String> getParticipants() {
+        return participants;
+    }
+
+    public boolean[][] getConflicts() {
+        return conflicts;
+    }
+
+    public boolean isConflict(int candidate, int participant) {
+        return conflicts[candidate][participant];
+    }
+
+    public void markConflict(int candidate, int participant) {
+        conflicts[candidate][participant] = true;
+    }
+
+    // Names of the participants busy during one candidate, like a single conflict check returns
+    public List<String> conflictsFor(int candidate) {
+        List<String> names = new ArrayList<>();
+        for (int p = 0; p < participants.size(); p++) {
+            if (conflicts[candidate][p]) {
+                names.add(participants.get(p));
+            }
+        }
+        return names;
+    }
+}
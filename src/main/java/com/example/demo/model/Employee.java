@@ -1,24 +1,129 @@
 package com.example.demo.model;
-import java.util.ArrayList;
+import java.time.ZoneId;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class Employee {
-    private String name;
-    private List<Meeting> meetings = new ArrayList<>();
+    // Shared so that no two employees, even with the same name, ever hold the same version
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private final String name;
+    private final MeetingCalendar calendar;
+    private final List<Meeting> meetings = new MeetingsView();
+    // Meetings ending at or before this epoch minute were left in the calendar store, not loaded
+    private volatile long warmFrom = Long.MIN_VALUE;
+    // Compiled working hours of this employee; null means the organization's apply
+    private volatile AvailabilityTemplate availability;
+    // Zone the working hours are read in; null means the organization's
+    private volatile ZoneId zone;
+    // Increases after every change to the meetings or policy, so results computed at a version stay valid while it holds
+    private final AtomicLong version = new AtomicLong(VERSIONS.incrementAndGet());
 
     public Employee(String name) {
+        this(name, new MeetingCalendar());
+    }
+
+    // With a calendar of the given kind, such as an off-heap one
+    public Employee(String name, MeetingCalendar calendar) {
         this.name = name;
+        this.calendar = calendar;
     }
 
     public String getName() {
         return name;
     }
 
+    // Live view of the calendar in start-time order; adding to it books the meeting
     public List<Meeting> getMeetings() {
         return meetings;
     }
 
+    public MeetingCalendar getCalendar() {
+        return calendar;
+    }
+
+    public long getWarmFrom() {
+        return warmFrom;
+    }
+
+    public void setWarmFrom(long warmFrom) {
+        this.warmFrom = warmFrom;
+    }
+
+    public AvailabilityTemplate getAvailability() {
+        return availability;
+    }
+
+    public void setAvailability(AvailabilityTemplate availability) {
+        this.availability = availability;
+        bumpVersion();
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public void setZone(ZoneId zone) {
+        this.zone = zone;
+        bumpVersion();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
     public void addMeeting(Meeting meeting) {
-        meetings.add(meeting);
+        calendar.add(meeting);
+        bumpVersion();
+    }
+
+    // Bulk variant of addMeeting: indexes all the meetings in one pass
+    public void addMeetings(Collection<Meeting> meetings) {
+        calendar.addAll(meetings);
+        bumpVersion();
+    }
+
+    // Removes the meeting with the same ID from the calendar; false if it holds no such meeting
+    public boolean removeMeeting(Meeting meeting) {
+        boolean removed = calendar.remove(meeting);
+        if (removed) {
+            bumpVersion();
+        }
+        return removed;
+    }
+
+    /**
+     * Called after the change, so a search that reads the new version also sees the change.
+     * Concurrent writers may draw their numbers in either order; keeping the larger one means
+     * the version never goes back, and every change was made before the number that covers it.
+     */
+    private void bumpVersion() {
+        version.accumulateAndGet(VERSIONS.incrementAndGet(), Math::max);
+    }
+
+    private class MeetingsView extends AbstractList<Meeting> {
+        @Override
+        public Meeting get(int index) {
+            return calendar.get(index);
+        }
+
+        @Override
+        public int size() {
+            return calendar.size();
+        }
+
+        @Override
+        public boolean add(Meeting meeting) {
+            addMeeting(meeting);
+            return true;
+        }
+
+        @Override
+        public Iterator<Meeting> iterator() {
+            return calendar.iterator();
+        }
     }
 }
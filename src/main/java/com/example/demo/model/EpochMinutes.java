@@ -0,0 +1,57 @@
+package com.example.demo.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Conversions between {@link LocalDateTime} and whole minutes since 1970-01-01T00:00Z. A
+ * LocalDateTime without a zone is read as UTC.
+ *
+ * Internally meeting times are compared and stepped as plain longs, so the hot paths
+ * (overlap checks, slot arithmetic) do no allocation; LocalDateTime objects are only
+ * created again when results are handed back to callers.
+ */
+public final class EpochMinutes {
+    public static final long MINUTES_PER_DAY = 24 * 60;
+
+    private EpochMinutes() {
+    }
+
+    // Minute containing the given time (rounds down)
+    public static long floor(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    // First whole minute at or after the given time (rounds up)
+    public static long ceil(LocalDateTime time) {
+        long minute = floor(time);
+        return time.getSecond() == 0 && time.getNano() == 0 ? minute : minute + 1;
+    }
+
+    // Minute containing the given wall-clock time in a zone (null for UTC)
+    public static long floor(LocalDateTime time, ZoneId zone) {
+        if (zone == null) {
+            return floor(time);
+        }
+        return Math.floorDiv(time.atZone(zone).toEpochSecond(), 60);
+    }
+
+    public static long ceil(LocalDateTime time, ZoneId zone) {
+        long minute = floor(time, zone);
+        return time.getSecond() == 0 && time.getNano() == 0 ? minute : minute + 1;
+    }
+
+    public static LocalDateTime toLocalDateTime(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    public static long epochDay(long epochMinute) {
+        return Math.floorDiv(epochMinute, MINUTES_PER_DAY);
+    }
+
+    // ISO day of week (1 = Monday ... 7 = Sunday); 1970-01-01 was a Thursday
+    public static int dayOfWeek(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7L) + 1;
+    }
+}
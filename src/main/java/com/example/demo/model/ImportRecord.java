@@ -0,0 +1,57 @@
+package com.example.demo.model;
+
+/**
+ * One (employee, meeting) pair of a bulk import, e.g.
+ * {@code {"empName": "John", "meeting": {"start": "...", "end": "...", "title": "..."}}}.
+ * The reader numbers records from 0 in input order; a record it could not parse carries the
+ * parse error instead of a meeting.
+ */
+public class ImportRecord {
+    private long index;
+    private String empName;
+    private Meeting meeting;
+    private String error;
+
+    public ImportRecord() {
+    }
+
+    public ImportRecord(String empName, Meeting meeting) {
+        this.empName = empName;
+        this.meeting = meeting;
+    }
+
+    public static ImportRecord unreadable(long index, String error) {
+        ImportRecord record = new ImportRecord();
+        record.index = index;
+        record.error = error;
+        return record;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public String getEmpName() {
+        return empName;
+    }
+
+    public void setEmpName(String empName) {
+        this.empName = empName;
+    }
+
+    public Meeting getMeeting() {
+        return meeting;
+    }
+
+    public void setMeeting(Meeting meeting) {
+        this.meeting = meeting;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
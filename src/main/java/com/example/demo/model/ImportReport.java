@@ -0,0 +1,42 @@
+package com.example.demo.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: how many records were imported into how many calendars, and for
+ * every record that was not, its index in the input and why.
+ */
+public class ImportReport {
+    private long imported;
+    private int employees;
+    private final List<Failure> failures = new ArrayList<>();
+
+    public long getImported() {
+        return imported;
+    }
+
+    public int getEmployees() {
+        return employees;
+    }
+
+    public long getFailed() {
+        return failures.size();
+    }
+
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    public void recordImported(int meetings) {
+        imported += meetings;
+        employees++;
+    }
+
+    public void recordFailed(long index, String empName, String message) {
+        failures.add(new Failure(index, empName, message));
+    }
+
+    public record Failure(long index, String empName, String message) {
+    }
+}
@@ -1,33 +1,69 @@
 package com.example.demo.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Objects;
 
 public class Meeting {
+    // Assigned when the meeting is booked and shared by every attendee's copy; null until then
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String id;
     private LocalDateTime start;
     private LocalDateTime end;
     private String title;
     private String description;
+    // Zone of the start and end wall-clock times; null means UTC
+    private ZoneId zone;
+    // Repeats the meeting from start/end onwards; null for a one-off meeting
+    private Recurrence recurrence;
+    // Epoch-minute copies of start/end, kept in sync by the setters for allocation-free comparisons
+    private long startMinute;
+    private long endMinute;
 
     public Meeting() {
     }
 
     public Meeting(LocalDateTime start, LocalDateTime end) {
-        this.start = start;
-        this.end = end;
+        setStart(start);
+        setEnd(end);
     }
 
     public Meeting(LocalDateTime start, LocalDateTime end, String title) {
-        this.start = start;
-        this.end = end;
+        this(start, end);
         this.title = title;
     }
 
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    // A copy of this meeting under the given ID
+    public Meeting withId(String id) {
+        Meeting copy = new Meeting();
+        copy.zone = zone;
+        copy.setStart(start);
+        copy.setEnd(end);
+        copy.title = title;
+        copy.description = description;
+        copy.recurrence = recurrence;
+        copy.id = id;
+        return copy;
+    }
+
     public LocalDateTime getStart() {
         return start;
     }
 
     public void setStart(LocalDateTime start) {
         this.start = start;
+        this.startMinute = start == null ? 0 : EpochMinutes.floor(start, zone);
     }
 
     public LocalDateTime getEnd() {
@@ -36,6 +72,82 @@ public class Meeting {
 
     public void setEnd(LocalDateTime end) {
         this.end = end;
+        this.endMinute = end == null ? 0 : EpochMinutes.ceil(end, zone);
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public void setZone(ZoneId zone) {
+        this.zone = zone;
+        setStart(start);
+        setEnd(end);
+    }
+
+    /**
+     * A copy with the same instants expressed as wall-clock times in {@code target} (null for
+     * UTC). Returns this meeting if it is already in that zone.
+     */
+    public Meeting withZone(ZoneId target) {
+        if (Objects.equals(zone, target) || start == null || end == null) {
+            return this;
+        }
+        ZoneId from = zone == null ? ZoneOffset.UTC : zone;
+        ZoneId to = target == null ? ZoneOffset.UTC : target;
+        Meeting copy = new Meeting();
+        copy.zone = target;
+        copy.setStart(start.atZone(from).withZoneSameInstant(to).toLocalDateTime());
+        copy.setEnd(end.atZone(from).withZoneSameInstant(to).toLocalDateTime());
+        copy.title = title;
+        copy.description = description;
+        copy.recurrence = recurrence;
+        copy.id = id;
+        return copy;
+    }
+
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    public void setRecurrence(Recurrence recurrence) {
+        this.recurrence = recurrence;
+    }
+
+    /**
+     * Occurrences overlapping the epoch-minute range [from, to) as packed {start, end} pairs in
+     * time order: the meeting itself if it is a one-off, otherwise only the occurrences of its
+     * series that fall in the range.
+     */
+    public long[] occurrences(long from, long to) {
+        if (recurrence != null) {
+            return recurrence.expand(this, from, to);
+        }
+        return startMinute < to && endMinute > from ? new long[] {startMinute, endMinute} : new long[0];
+    }
+
+    // Epoch minute by which every occurrence has ended; Long.MAX_VALUE for a series without an end
+    public long lastEndEpochMinute() {
+        return recurrence != null ? recurrence.lastEnd(this) : endMinute;
+    }
+
+    // A one-off copy of this meeting at one of its occurrences, given as epoch minutes
+    public Meeting occurrence(long startEpochMinute, long endEpochMinute) {
+        Meeting copy = new Meeting(EpochMinutes.toLocalDateTime(startEpochMinute),
+                EpochMinutes.toLocalDateTime(endEpochMinute), title).withZone(zone);
+        copy.description = description;
+        copy.id = id;
+        return copy;
+    }
+
+    // Start as minutes since the epoch, rounded down
+    public long startEpochMinute() {
+        return startMinute;
+    }
+
+    // End as minutes since the epoch, rounded up so sub-minute ends still block their minute
+    public long endEpochMinute() {
+        return endMinute;
     }
 
     public String getTitle() {
@@ -56,18 +168,22 @@ public class Meeting {
 
     // Helper method to check if this meeting overlaps with another
     public boolean overlapsWith(Meeting other) {
-        return this.start.isBefore(other.end) && this.end.isAfter(other.start);
+        return this.startMinute < other.endMinute && this.endMinute > other.startMinute;
     }
 
-    // Helper method to get duration in minutes
+    // Helper method to get duration in minutes; elapsed time, so a DST shift in between counts
     public long getDurationInMinutes() {
+        if (zone != null) {
+            return java.time.Duration.between(start.atZone(zone), end.atZone(zone)).toMinutes();
+        }
         return java.time.Duration.between(start, end).toMinutes();
     }
 
     @Override
     public String toString() {
         return "Meeting{" +
-                "start=" + start +
+                "id=" + id +
+                ", start=" + start +
                 ", end=" + end +
                 ", title='" + title + '\'' +
                 ", description='" + description + '\'' +
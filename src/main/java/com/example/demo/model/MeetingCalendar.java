@@ -0,0 +1,845 @@
+package com.example.demo.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Time-ordered interval index over one employee's meetings.
+ *
+ * Meetings are kept in an AVL tree ordered by start time (ties broken by insertion order),
+ * where every node also records the latest end time in its subtree. That lets
+ * "does anything overlap [start, end)" run in O(log n) and "meetings in a window"
+ * in O(log n + k) instead of scanning the whole calendar. Times are held as epoch minutes
+ * (see {@link EpochMinutes}), so tree walks are plain long comparisons.
+ *
+ * Nodes are immutable; an insert or removal copies only the path from the root to the
+ * affected node and publishes the new root through a volatile write. Writers serialize on the
+ * calendar's own lock, while readers just take the current root as a consistent snapshot, so
+ * queries never block bookings and never see a half-applied update.
+ *
+ * A {@link BusyBitmap} is maintained alongside the tree. Overlap checks consult it first:
+ * a clear range is definitely free, and while every meeting sits on quantum boundaries a
+ * set bit is a definite conflict, so most checks never walk the tree. Meetings too long for
+ * the bitmap (see {@link BusyBitmap#MAX_MARKED_QUANTA}) are left out of it, and ranges they may
+ * reach are answered by the tree.
+ *
+ * Recurring meetings are kept apart, one entry per series in a small copy-on-write array
+ * ordered by first start. They take no space in the tree or the bitmap; queries expand only
+ * the occurrences that fall in the queried range.
+ *
+ * A calendar made by {@link #offHeap} keeps its one-off meetings in a {@link ColumnarIndex}
+ * instead of the tree: sorted start/end columns with dictionary-encoded titles, held outside the
+ * Java heap, with Meeting objects built only when meetings rather than times are asked for.
+ */
+public class MeetingCalendar implements Iterable<Meeting> {
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final BusyBitmap busyBitmap = new BusyBitmap();
+    // One-off meetings of an off-heap calendar; null when they are kept in the tree
+    private final ColumnarIndex columns;
+    private volatile Node root;
+    // Meetings not starting and ending on quantum boundaries (or empty), for which the bitmap is only approximate
+    private volatile int unalignedCount;
+    // {first start, last end} of the meetings left out of the bitmap; null when there are none
+    private volatile long[] unmarkedSpan;
+    private int unmarkedCount;
+    // Recurring meetings in first-start order, replaced wholesale on every change
+    private volatile Series[] series = new Series[0];
+    private long sequence;
+
+    public MeetingCalendar() {
+        this(null);
+    }
+
+    private MeetingCalendar(ColumnarIndex columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * A calendar whose one-off meetings are held off-heap, with titles and zones encoded in the
+     * given dictionary (which calendars can share). Times are kept to the minute, start rounded
+     * down and end rounded up, and the meetings it returns are new objects built from its columns
+     * rather than the ones added.
+     */
+    public static MeetingCalendar offHeap(StringDictionary dictionary) {
+        return new MeetingCalendar(new ColumnarIndex(dictionary));
+    }
+
+    public boolean isOffHeap() {
+        return columns != null;
+    }
+
+    // Bytes of one-off meetings held outside the heap; 0 for a heap calendar
+    public long offHeapBytes() {
+        return columns == null ? 0 : columns.bytes();
+    }
+
+    public void add(Meeting meeting) {
+        requireValidRange(meeting);
+        writeLock.lock();
+        try {
+            if (meeting.getRecurrence() != null) {
+                addSeries(new Series(meeting, meeting.startEpochMinute(), meeting.lastEndEpochMinute()));
+                return;
+            }
+            // Bitmap first, so a reader that sees the new root also sees its bits
+            markBusy(meeting.startEpochMinute(), meeting.endEpochMinute());
+            if (!isAligned(meeting.startEpochMinute(), meeting.endEpochMinute())) {
+                unalignedCount++;
+            }
+            if (columns != null) {
+                columns.add(meeting);
+            } else {
+                root = insert(root, new Node(meeting, sequence++));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds many meetings at once, as a bulk import does: the new meetings are sorted, merged
+     * with the existing ones in a single pass and the tree is rebuilt perfectly balanced, instead
+     * of paying a path copy and rebalance per meeting. Nothing is added if any meeting is invalid.
+     */
+    public void addAll(Collection<Meeting> meetings) {
+        meetings.forEach(MeetingCalendar::requireValidRange);
+        writeLock.lock();
+        try {
+            List<Node> leaves = new ArrayList<>(meetings.size());
+            for (Meeting meeting : meetings) {
+                if (meeting.getRecurrence() != null) {
+                    addSeries(new Series(meeting, meeting.startEpochMinute(), meeting.lastEndEpochMinute()));
+                } else {
+                    leaves.add(new Node(meeting, sequence++));
+                }
+            }
+            if (leaves.isEmpty()) {
+                return;
+            }
+            leaves.sort(null);
+            long[] intervals = new long[leaves.size() * 2];
+            int length = 0;
+            int unaligned = 0;
+            for (Node leaf : leaves) {
+                if (BusyBitmap.isMarkable(leaf.start, leaf.end)) {
+                    intervals[length++] = leaf.start;
+                    intervals[length++] = leaf.end;
+                } else {
+                    addUnmarked(leaf.start, leaf.end);
+                }
+                if (!isAligned(leaf.start, leaf.end)) {
+                    unaligned++;
+                }
+            }
+            // Bitmap first, so a reader that sees the new root also sees its bits
+            busyBitmap.markAll(length == intervals.length ? intervals : Arrays.copyOf(intervals, length));
+            unalignedCount += unaligned;
+            if (columns != null) {
+                columns.addAll(leaves.stream().map(node -> node.meeting).toList());
+                return;
+            }
+            Node current = root;
+            Node[] merged = new Node[size(current) + leaves.size()];
+            int next = 0;
+            int leaf = 0;
+            for (Iterator<Node> it = new NodeIterator(current); it.hasNext(); ) {
+                Node existing = it.next();
+                while (leaf < leaves.size() && leaves.get(leaf).compareTo(existing) < 0) {
+                    merged[next++] = leaves.get(leaf++);
+                }
+                merged[next++] = existing;
+            }
+            while (leaf < leaves.size()) {
+                merged[next++] = leaves.get(leaf++);
+            }
+            root = build(merged, 0, merged.length);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the meeting with the same ID as {@code meeting} (the same instance if it has none),
+     * found by its start time in O(log n) plus the meetings sharing that start. The tree path is
+     * copied and rebalanced as for an insert, and the bitmap quanta the meeting covered are
+     * rebuilt from the meetings still overlapping them.
+     *
+     * @return false if the calendar holds no such meeting
+     */
+    public boolean remove(Meeting meeting) {
+        writeLock.lock();
+        try {
+            if (meeting.getRecurrence() != null || !removeOneOff(meeting)) {
+                return removeSeries(meeting);
+            }
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private boolean removeOneOff(Meeting meeting) {
+        long start;
+        long end;
+        // Tree or columns first, so a reader that still sees the old bits finds no meeting behind them
+        if (columns != null) {
+            long[] removed = columns.remove(meeting);
+            if (removed == null) {
+                return false;
+            }
+            start = removed[0];
+            end = removed[1];
+        } else {
+            Node current = root;
+            Node found = find(current, meeting.startEpochMinute(), meeting);
+            if (found == null) {
+                return false;
+            }
+            root = remove(current, found);
+            start = found.start;
+            end = found.end;
+        }
+        if (BusyBitmap.isMarkable(start, end)) {
+            long from = BusyBitmap.firstQuantum(start);
+            long to = BusyBitmap.endQuantum(start, end);
+            // One minute wider, so empty meetings on the range's edges keep their quantum marked
+            busyBitmap.reset(from, to, markable(oneOffIntervals(from * BusyBitmap.QUANTUM_MINUTES - 1, to * BusyBitmap.QUANTUM_MINUTES + 1)));
+        } else if (--unmarkedCount == 0) {
+            unmarkedSpan = null;
+        }
+        if (!isAligned(start, end)) {
+            unalignedCount--;
+        }
+        return true;
+    }
+
+    /**
+     * The meeting with the given ID whose start (first start, for a recurring one) is the given
+     * epoch minute, found in O(log n) plus the meetings sharing that start; null if there is none.
+     */
+    public Meeting find(String id, long start) {
+        if (columns != null) {
+            Meeting found = columns.find(id, start);
+            if (found != null) {
+                return found;
+            }
+        } else {
+            // An ID-only probe, which matches() compares by ID
+            Meeting wanted = new Meeting();
+            wanted.setId(id);
+            Node node = find(root, start, wanted);
+            if (node != null) {
+                return node.meeting;
+            }
+        }
+        for (Series entry : series) {
+            if (entry.start == start && id.equals(entry.meeting.getId())) {
+                return entry.meeting;
+            }
+        }
+        return null;
+    }
+
+    private boolean removeSeries(Meeting meeting) {
+        Series[] current = series;
+        for (int i = 0; i < current.length; i++) {
+            if (matches(current[i].meeting, meeting)) {
+                Series[] shrunk = new Series[current.length - 1];
+                System.arraycopy(current, 0, shrunk, 0, i);
+                System.arraycopy(current, i + 1, shrunk, i, current.length - i - 1);
+                series = shrunk;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(Meeting stored, Meeting wanted) {
+        return stored == wanted || (wanted.getId() != null && wanted.getId().equals(stored.getId()));
+    }
+
+    // Node holding the wanted meeting among those starting at the given minute; both sides of a tie are searched
+    private static Node find(Node node, long start, Meeting wanted) {
+        while (node != null && node.start != start) {
+            node = start < node.start ? node.left : node.right;
+        }
+        if (node == null) {
+            return null;
+        }
+        if (matches(node.meeting, wanted)) {
+            return node;
+        }
+        Node left = find(node.left, start, wanted);
+        return left != null ? left : find(node.right, start, wanted);
+    }
+
+    // Balanced tree over sorted[from, to), reusing each node's meeting and times
+    private static Node build(Node[] sorted, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        return sorted[mid].with(build(sorted, from, mid), build(sorted, mid + 1, to));
+    }
+
+    public static void requireValidRange(Meeting meeting) {
+        if (meeting == null || meeting.getStart() == null || meeting.getEnd() == null) {
+            throw new IllegalArgumentException("Meeting start and end are required");
+        }
+        if (meeting.getEnd().isBefore(meeting.getStart())) {
+            throw new IllegalArgumentException("Meeting end must not be before its start");
+        }
+        if (meeting.getRecurrence() != null) {
+            meeting.getRecurrence().validate();
+        }
+    }
+
+    // Marks a one-off meeting in the bitmap, or records it as left out if it is too long
+    private void markBusy(long start, long end) {
+        if (BusyBitmap.isMarkable(start, end)) {
+            busyBitmap.mark(start, end);
+        } else {
+            addUnmarked(start, end);
+        }
+    }
+
+    // The span only grows while unmarked meetings remain, so it may be wider than they are, never narrower
+    private void addUnmarked(long start, long end) {
+        long[] span = unmarkedSpan;
+        unmarkedSpan = span == null ? new long[] {start, end} : new long[] {Math.min(span[0], start), Math.max(span[1], end)};
+        unmarkedCount++;
+    }
+
+    // The {start, end} pairs short enough to be in the bitmap, so a reset never marks a meeting left out of it
+    private static long[] markable(long[] packed) {
+        long[] kept = new long[packed.length];
+        int length = 0;
+        for (int i = 0; i < packed.length; i += 2) {
+            if (BusyBitmap.isMarkable(packed[i], packed[i + 1])) {
+                kept[length++] = packed[i];
+                kept[length++] = packed[i + 1];
+            }
+        }
+        return length == packed.length ? packed : Arrays.copyOf(kept, length);
+    }
+
+    // Keeps the array in first-start order; equal starts stay in insertion order
+    private void addSeries(Series added) {
+        Series[] current = series;
+        int at = current.length;
+        while (at > 0 && current[at - 1].start > added.start) {
+            at--;
+        }
+        Series[] grown = new Series[current.length + 1];
+        System.arraycopy(current, 0, grown, 0, at);
+        grown[at] = added;
+        System.arraycopy(current, at, grown, at + 1, current.length - at);
+        series = grown;
+    }
+
+    // Held while mutating; callers may take it to make a check-then-add atomic
+    public ReentrantLock getWriteLock() {
+        return writeLock;
+    }
+
+    public BusyBitmap getBusyBitmap() {
+        return busyBitmap;
+    }
+
+    // True when the bitmap describes this calendar's one-off meetings exactly
+    public boolean isQuantumAligned() {
+        return unalignedCount == 0;
+    }
+
+    // True when no meeting left out of the bitmap for its length may overlap [start, end)
+    public boolean isBitmapComplete(long start, long end) {
+        long[] span = unmarkedSpan;
+        return span == null || span[1] <= start || span[0] >= end;
+    }
+
+    // True if the calendar holds recurring meetings, which the bitmap does not cover
+    public boolean hasSeries() {
+        return series.length > 0;
+    }
+
+    // Meetings booked, counting each recurring series once
+    public int size() {
+        return oneOffCount() + series.length;
+    }
+
+    public boolean isEmpty() {
+        return oneOffCount() == 0 && series.length == 0;
+    }
+
+    private int oneOffCount() {
+        return columns != null ? columns.size() : size(root);
+    }
+
+    // Meeting at the given position in start-time order; a series sits at its first occurrence
+    public Meeting get(int index) {
+        if (columns != null) {
+            return getOffHeap(index, series);
+        }
+        Node node = root;
+        Series[] recurring = series;
+        if (index < 0 || index >= size(node) + recurring.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (size(node) + recurring.length));
+        }
+        for (int i = 0; i < recurring.length; i++) {
+            // A series follows every one-off meeting starting no later than it
+            long position = i + countStartingBy(node, recurring[i].start);
+            if (position == index) {
+                return recurring[i].meeting;
+            }
+            if (position > index) {
+                return get(node, index - i);
+            }
+        }
+        return get(node, index - recurring.length);
+    }
+
+    private Meeting getOffHeap(int index, Series[] recurring) {
+        int oneOff = columns.size();
+        if (index < 0 || index >= oneOff + recurring.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (oneOff + recurring.length));
+        }
+        for (int i = 0; i < recurring.length; i++) {
+            long position = i + columns.countStartingBy(recurring[i].start);
+            if (position == index) {
+                return recurring[i].meeting;
+            }
+            if (position > index) {
+                return columns.get(index - i);
+            }
+        }
+        return columns.get(index - recurring.length);
+    }
+
+    private static Meeting get(Node node, int index) {
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.meeting;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    // One-off meetings starting at or before the given minute
+    private static int countStartingBy(Node node, long minute) {
+        int count = 0;
+        while (node != null) {
+            if (node.start <= minute) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    // True if any meeting overlaps the half-open interval [start, end)
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return overlaps(EpochMinutes.floor(start), EpochMinutes.ceil(end));
+    }
+
+    public boolean overlaps(long start, long end) {
+        return overlapsOneOff(start, end) || overlapsSeries(start, end);
+    }
+
+    private boolean overlapsSeries(long start, long end) {
+        for (Series entry : series) {
+            if (entry.start >= end) {
+                break;
+            }
+            if (entry.lastEnd > start && entry.meeting.occurrences(start, end).length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean overlapsOneOff(long start, long end) {
+        if (start < end && isBitmapComplete(start, end)) {
+            if (!busyBitmap.anyBusy(start, end)) {
+                return false;
+            }
+            if (isQuantumAligned() && isAligned(start, end)) {
+                return true;
+            }
+        }
+        if (columns != null) {
+            return columns.overlaps(start, end);
+        }
+        Node node = root;
+        while (node != null) {
+            if (node.start < end && node.end > start) {
+                return true;
+            }
+            // If the left subtree reaches past start, any overlap must be on the left:
+            // otherwise its late-ending meeting starts at or after end, and so does the right subtree.
+            if (node.left != null && node.left.maxEnd > start) {
+                node = node.left;
+            } else if (node.start < end) {
+                node = node.right;
+            } else {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    // Meetings overlapping [start, end), in start-time order; recurring ones as one-off occurrences
+    public List<Meeting> findOverlapping(LocalDateTime start, LocalDateTime end) {
+        long from = EpochMinutes.floor(start);
+        long to = EpochMinutes.ceil(end);
+        List<Meeting> result = new ArrayList<>();
+        if (columns != null) {
+            columns.collectOverlapping(from, to, result);
+        } else {
+            collectOverlapping(root, from, to, result);
+        }
+        if (series.length > 0) {
+            for (Series entry : series) {
+                long[] occurrences = entry.meeting.occurrences(from, to);
+                for (int i = 0; i < occurrences.length; i += 2) {
+                    result.add(entry.meeting.occurrence(occurrences[i], occurrences[i + 1]));
+                }
+            }
+            result.sort((a, b) -> Long.compare(a.startEpochMinute(), b.startEpochMinute()));
+        }
+        return result;
+    }
+
+    /**
+     * Start/end minutes of the meetings (and occurrences of recurring ones) overlapping
+     * [start, end), in start-time order, packed as {start0, end0, start1, end1, ...}.
+     */
+    public long[] findOverlappingIntervals(long start, long end) {
+        long[] oneOff = oneOffIntervals(start, end);
+        return series.length == 0 ? oneOff : mergeByStart(oneOff, findSeriesIntervals(start, end));
+    }
+
+    private long[] oneOffIntervals(long start, long end) {
+        if (columns != null) {
+            return columns.findOverlappingIntervals(start, end);
+        }
+        IntervalBuffer out = new IntervalBuffer();
+        collectIntervals(root, start, end, out);
+        return out.toArray();
+    }
+
+    // Occurrences of the recurring meetings overlapping [start, end), packed and in start-time order
+    public long[] findSeriesIntervals(long start, long end) {
+        long[] merged = new long[0];
+        for (Series entry : series) {
+            if (entry.start >= end) {
+                break;
+            }
+            if (entry.lastEnd > start) {
+                merged = mergeByStart(merged, entry.meeting.occurrences(start, end));
+            }
+        }
+        return merged;
+    }
+
+    // Merges two start-ordered packed interval lists, keeping every interval
+    private static long[] mergeByStart(long[] a, long[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return a.length == 0 ? b : a;
+        }
+        long[] merged = new long[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length || j < b.length) {
+            if (j >= b.length || (i < a.length && a[i] <= b[j])) {
+                merged[k++] = a[i++];
+                merged[k++] = a[i++];
+            } else {
+                merged[k++] = b[j++];
+                merged[k++] = b[j++];
+            }
+        }
+        return merged;
+    }
+
+    public List<Meeting> toList() {
+        List<Meeting> result = new ArrayList<>(size());
+        for (Iterator<Meeting> it = iterator(); it.hasNext(); ) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<Meeting> iterator() {
+        return columns != null ? new InOrderIterator(columns.cursor(), series) : new InOrderIterator(root, series);
+    }
+
+    private static void collectOverlapping(Node node, long start, long end, List<Meeting> out) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collectOverlapping(node.left, start, end, out);
+        if (node.start >= end) {
+            return;
+        }
+        if (node.end > start) {
+            out.add(node.meeting);
+        }
+        collectOverlapping(node.right, start, end, out);
+    }
+
+    private static void collectIntervals(Node node, long start, long end, IntervalBuffer out) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collectIntervals(node.left, start, end, out);
+        if (node.start >= end) {
+            return;
+        }
+        if (node.end > start) {
+            out.add(node.start, node.end);
+        }
+        collectIntervals(node.right, start, end, out);
+    }
+
+    private static boolean isAligned(long start, long end) {
+        return start < end && BusyBitmap.isAligned(start) && BusyBitmap.isAligned(end);
+    }
+
+    private static Node insert(Node node, Node leaf) {
+        if (node == null) {
+            return leaf;
+        }
+        if (leaf.compareTo(node) < 0) {
+            return balance(node.with(insert(node.left, leaf), node.right));
+        }
+        return balance(node.with(node.left, insert(node.right, leaf)));
+    }
+
+    // Standard AVL delete by (start, seq), copying the path it walks
+    private static Node remove(Node node, Node target) {
+        int order = target.compareTo(node);
+        if (order < 0) {
+            return balance(node.with(remove(node.left, target), node.right));
+        }
+        if (order > 0) {
+            return balance(node.with(node.left, remove(node.right, target)));
+        }
+        if (node.left == null || node.right == null) {
+            return node.left != null ? node.left : node.right;
+        }
+        Node successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.with(node.left, removeMin(node.right)));
+    }
+
+    private static Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.with(removeMin(node.left), node.right));
+    }
+
+    private static Node balance(Node node) {
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            Node left = node.left;
+            if (height(left.left) < height(left.right)) {
+                left = rotateLeft(left);
+            }
+            return rotateRight(node.with(left, node.right));
+        }
+        if (factor < -1) {
+            Node right = node.right;
+            if (height(right.right) < height(right.left)) {
+                right = rotateRight(right);
+            }
+            return rotateLeft(node.with(node.left, right));
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        return left.with(left.left, node.with(left.right, node.right));
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        return right.with(node.with(node.left, right.left), right.right);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node implements Comparable<Node> {
+        final Meeting meeting;
+        // Copied at insert time so later setter calls on the meeting cannot corrupt the ordering
+        final long start;
+        final long end;
+        final long seq;
+        final Node left;
+        final Node right;
+        final int height;
+        final int size;
+        final long maxEnd;
+
+        Node(Meeting meeting, long seq) {
+            this(meeting, meeting.startEpochMinute(), meeting.endEpochMinute(), seq, null, null);
+        }
+
+        private Node(Meeting meeting, long start, long end, long seq, Node left, Node right) {
+            this.meeting = meeting;
+            this.start = start;
+            this.end = end;
+            this.seq = seq;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(MeetingCalendar.height(left), MeetingCalendar.height(right)) + 1;
+            this.size = MeetingCalendar.size(left) + MeetingCalendar.size(right) + 1;
+            long max = end;
+            if (left != null && left.maxEnd > max) {
+                max = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > max) {
+                max = right.maxEnd;
+            }
+            this.maxEnd = max;
+        }
+
+        Node with(Node left, Node right) {
+            return new Node(meeting, start, end, seq, left, right);
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            int byStart = Long.compare(start, other.start);
+            return byStart != 0 ? byStart : Long.compare(seq, other.seq);
+        }
+    }
+
+    // Nodes of a tree snapshot in order
+    private static final class NodeIterator implements Iterator<Node> {
+        private final Deque<Node> stack = new ArrayDeque<>();
+
+        NodeIterator(Node root) {
+            pushLeft(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public Node next() {
+            if (stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node node = stack.pop();
+            pushLeft(node.right);
+            return node;
+        }
+
+        // The node next() would return, or null at the end
+        Node peek() {
+            return stack.peek();
+        }
+
+        private void pushLeft(Node node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+        }
+    }
+
+    // Recurring meeting with the span its occurrences can fall in
+    private record Series(Meeting meeting, long start, long lastEnd) {
+    }
+
+    // Walks the tree (or the columns) in order, slotting each series in after the one-off meetings starting no later
+    private static final class InOrderIterator implements Iterator<Meeting> {
+        private final NodeIterator nodes;
+        private final ColumnarIndex.Cursor columns;
+        private final Series[] series;
+        private int nextSeries;
+
+        InOrderIterator(Node root, Series[] series) {
+            this.nodes = new NodeIterator(root);
+            this.columns = null;
+            this.series = series;
+        }
+
+        InOrderIterator(ColumnarIndex.Cursor columns, Series[] series) {
+            this.nodes = null;
+            this.columns = columns;
+            this.series = series;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return oneOffLeft() || nextSeries < series.length;
+        }
+
+        @Override
+        public Meeting next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (nextSeries < series.length && (!oneOffLeft() || series[nextSeries].start < nextOneOffStart())) {
+                return series[nextSeries++].meeting;
+            }
+            return nodes != null ? nodes.next().meeting : columns.next();
+        }
+
+        private boolean oneOffLeft() {
+            return nodes != null ? nodes.hasNext() : columns.hasNext();
+        }
+
+        private long nextOneOffStart() {
+            return nodes != null ? nodes.peek().start : columns.peekStart();
+        }
+    }
+
+    // Growable packed {start, end} pairs, avoiding a boxed object per interval
+    private static final class IntervalBuffer {
+        private long[] values = new long[16];
+        private int length;
+
+        void add(long start, long end) {
+            if (length + 2 > values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[length++] = start;
+            values[length++] = end;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, length);
+        }
+    }
+}
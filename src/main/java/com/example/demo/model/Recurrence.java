@@ -0,0 +1,259 @@
+package com.example.demo.model;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static com.example.demo.model.EpochMinutes.MINUTES_PER_DAY;
+
+/**
+ * How a meeting repeats: every {@code interval} days, weeks or months from its start, ending
+ * after {@code count} occurrences or at {@code until} (whichever comes first; neither means
+ * forever), minus the dates listed as exceptions. A monthly series on the 29th to 31st skips
+ * months without that day. Occurrences keep the meeting's wall-clock times in its zone.
+ *
+ * A calendar keeps one entry per series, and occurrences are only ever expanded for the range
+ * being queried. Besides JSON, a rule has a compact RRULE-like text form used in storage, e.g.
+ * {@code FREQ=WEEKLY;INTERVAL=2;COUNT=10;UNTIL=2024-06-30T23:59;EXDATE=2024-02-05,2024-03-04}.
+ */
+public class Recurrence {
+    public enum Frequency { DAILY, WEEKLY, MONTHLY }
+
+    private Frequency frequency;
+    private int interval = 1;
+    private Integer count;
+    // Last possible occurrence start, as a wall-clock time in the meeting's zone
+    private LocalDateTime until;
+    // Dates (in the meeting's zone) on which the occurrence is skipped
+    private List<LocalDate> exceptions = new ArrayList<>();
+
+    public Recurrence() {
+    }
+
+    public Recurrence(Frequency frequency, int interval) {
+        this.frequency = frequency;
+        this.interval = interval;
+    }
+
+    public static Recurrence parse(String rule) {
+        Recurrence recurrence = new Recurrence();
+        for (String part : rule.split(";")) {
+            String entry = part.trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            String[] pair = entry.split("=", 2);
+            if (pair.length < 2) {
+                throw new IllegalArgumentException("Invalid recurrence entry: " + entry);
+            }
+            String value = pair[1].trim();
+            try {
+                switch (pair[0].trim().toUpperCase(Locale.ROOT)) {
+                    case "FREQ" -> recurrence.frequency = Frequency.valueOf(value.toUpperCase(Locale.ROOT));
+                    case "INTERVAL" -> recurrence.interval = Integer.parseInt(value);
+                    case "COUNT" -> recurrence.count = Integer.parseInt(value);
+                    case "UNTIL" -> recurrence.until = LocalDateTime.parse(value);
+                    case "EXDATE" -> {
+                        for (String date : value.split(",")) {
+                            recurrence.exceptions.add(LocalDate.parse(date.trim()));
+                        }
+                    }
+                    default -> throw new IllegalArgumentException("Unknown recurrence entry: " + entry);
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid recurrence entry: " + entry, e);
+            }
+        }
+        recurrence.validate();
+        return recurrence;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the frequency is missing or the interval or count is not positive
+     */
+    public void validate() {
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence frequency is required");
+        }
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Recurrence interval must be positive");
+        }
+        if (count != null && count <= 0) {
+            throw new IllegalArgumentException("Recurrence count must be positive");
+        }
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(Frequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public void setInterval(int interval) {
+        this.interval = interval;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    public void setUntil(LocalDateTime until) {
+        this.until = until;
+    }
+
+    public List<LocalDate> getExceptions() {
+        return exceptions;
+    }
+
+    public void setExceptions(List<LocalDate> exceptions) {
+        this.exceptions = exceptions == null ? new ArrayList<>() : new ArrayList<>(exceptions);
+    }
+
+    /**
+     * Occurrences of {@code series} overlapping the epoch-minute range [from, to), as packed
+     * {start, end} pairs in time order. Only occurrences near the range are generated.
+     */
+    long[] expand(Meeting series, long from, long to) {
+        LocalDateTime start = series.getStart();
+        Duration duration = Duration.between(start, series.getEnd());
+        Set<LocalDate> skipped = exceptions.isEmpty() ? Set.of() : new HashSet<>(exceptions);
+        // With skipped months the candidate index no longer numbers occurrences, so count from the first
+        boolean ordinal = frequency != Frequency.MONTHLY || start.getDayOfMonth() <= 28;
+        long k = ordinal || count == null ? firstCandidate(series, from) : 0;
+        long generated = k;
+        long[] packed = new long[8];
+        int length = 0;
+        while (count == null || generated < count) {
+            LocalDateTime occurrence = shift(start, k++);
+            if (occurrence == null) {
+                continue;
+            }
+            generated++;
+            if (until != null && occurrence.isAfter(until)) {
+                break;
+            }
+            long occurrenceStart = EpochMinutes.floor(occurrence, series.getZone());
+            if (occurrenceStart >= to) {
+                break;
+            }
+            long occurrenceEnd = EpochMinutes.ceil(occurrence.plus(duration), series.getZone());
+            if (occurrenceEnd > from && !skipped.contains(occurrence.toLocalDate())) {
+                if (length == packed.length) {
+                    packed = Arrays.copyOf(packed, length * 2);
+                }
+                packed[length++] = occurrenceStart;
+                packed[length++] = occurrenceEnd;
+            }
+        }
+        return Arrays.copyOf(packed, length);
+    }
+
+    // Epoch minute no occurrence of the series ends after; Long.MAX_VALUE if it never ends
+    long lastEnd(Meeting series) {
+        if (count == null && until == null) {
+            return Long.MAX_VALUE;
+        }
+        LocalDateTime start = series.getStart();
+        long last = Long.MAX_VALUE;
+        if (count != null) {
+            last = count - 1L;
+            if (frequency == Frequency.MONTHLY && start.getDayOfMonth() > 28) {
+                // Skipped months push the last occurrence out; walk them once
+                long valid = 0;
+                for (last = 0; ; last++) {
+                    if (shift(start, last) != null && ++valid == count) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (until != null) {
+            long steps = switch (frequency) {
+                case DAILY -> ChronoUnit.DAYS.between(start, until);
+                case WEEKLY -> ChronoUnit.WEEKS.between(start, until);
+                case MONTHLY -> ChronoUnit.MONTHS.between(start, until);
+            };
+            last = Math.min(last, Math.max(0, steps / interval));
+        }
+        // Clamped to the month's last day if needed, which is never earlier than the real last occurrence
+        LocalDateTime lastStart = unclamped(start, last);
+        return EpochMinutes.ceil(lastStart.plus(Duration.between(start, series.getEnd())), series.getZone());
+    }
+
+    // The text form, e.g. "FREQ=WEEKLY;INTERVAL=1;COUNT=52"
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency).append(";INTERVAL=").append(interval);
+        if (count != null) {
+            rule.append(";COUNT=").append(count);
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(until);
+        }
+        if (!exceptions.isEmpty()) {
+            rule.append(";EXDATE=");
+            for (int i = 0; i < exceptions.size(); i++) {
+                rule.append(i == 0 ? "" : ",").append(exceptions.get(i));
+            }
+        }
+        return rule.toString();
+    }
+
+    // Start of candidate k, or null if a monthly series has no such day that month
+    private LocalDateTime shift(LocalDateTime start, long k) {
+        LocalDateTime shifted = unclamped(start, k);
+        if (frequency == Frequency.MONTHLY && shifted.getDayOfMonth() != start.getDayOfMonth()) {
+            return null;
+        }
+        return shifted;
+    }
+
+    private LocalDateTime unclamped(LocalDateTime start, long k) {
+        long steps = k * interval;
+        return switch (frequency) {
+            case DAILY -> start.plusDays(steps);
+            case WEEKLY -> start.plusWeeks(steps);
+            case MONTHLY -> start.plusMonths(steps);
+        };
+    }
+
+    /**
+     * A candidate index no later than the first occurrence ending after {@code from}. Zone
+     * offsets and month lengths move occurrences by less than the day or month of slack.
+     */
+    private long firstCandidate(Meeting series, long from) {
+        long end = series.endEpochMinute();
+        if (from <= end) {
+            return 0;
+        }
+        long steps = switch (frequency) {
+            case DAILY -> (from - end) / MINUTES_PER_DAY - 1;
+            case WEEKLY -> ((from - end) / MINUTES_PER_DAY - 1) / 7;
+            case MONTHLY -> ChronoUnit.MONTHS.between(series.getEnd().toLocalDate(),
+                    EpochMinutes.toLocalDateTime(from).toLocalDate()) - 1;
+        };
+        return Math.max(0, steps / interval);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A bookable meeting room or piece of equipment. It has a calendar of its own, indexed like an
+ * employee's, plus a capacity and a set of attributes such as "projector". Attributes match
+ * case-insensitively.
+ */
+public class Resource {
+    private final String name;
+    private final MeetingCalendar calendar = new MeetingCalendar();
+    private volatile int capacity;
+    // Lower-cased, in sorted order
+    private volatile Set<String> attributes = Set.of();
+
+    public Resource(String name, int capacity, Collection<String> attributes) {
+        this.name = name;
+        setCapacity(capacity);
+        setAttributes(attributes);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public Set<String> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(Collection<String> attributes) {
+        this.attributes = normalizeAttributes(attributes);
+    }
+
+    @JsonIgnore
+    public MeetingCalendar getCalendar() {
+        return calendar;
+    }
+
+    // True if it seats at least {@code people} and offers every required attribute
+    public boolean fits(int people, Set<String> required) {
+        return capacity >= people && attributes.containsAll(required);
+    }
+
+    public static Set<String> normalizeAttributes(Collection<String> attributes) {
+        Set<String> normalized = new TreeSet<>();
+        if (attributes != null) {
+            for (String attribute : attributes) {
+                if (attribute != null && !attribute.isBlank()) {
+                    normalized.add(attribute.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return Set.copyOf(normalized);
+    }
+}
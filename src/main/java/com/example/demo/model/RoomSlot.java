@@ -0,0 +1,28 @@
+package com.example.demo.model;
+
+/**
+ * A slot where every participant is free, together with a matching room that is free for all of
+ * it. The room is the smallest matching one, so larger rooms stay free for larger groups.
+ */
+public class RoomSlot {
+    private final Meeting slot;
+    private final String room;
+
+    public RoomSlot(Meeting slot, String room) {
+        this.slot = slot;
+        this.room = room;
+    }
+
+    public Meeting getSlot() {
+        return slot;
+    }
+
+    public String getRoom() {
+        return room;
+    }
+
+    @Override
+    public String toString() {
+        return "RoomSlot{" + slot + ", room=" + room + "}";
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.demo.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary encoding for strings that repeat across many meetings, such as titles and zone IDs:
+ * each distinct string is kept once and referred to by a small int code. Codes are never reused
+ * or removed, so a code read from any calendar snapshot stays valid. Encoding a new string
+ * locks; encoding a known one and decoding do not.
+ *
+ * Because nothing is ever removed, free text is only encoded once it repeats, and the dictionary
+ * stops growing at its maximum size; callers keep the strings it declines themselves.
+ */
+public final class StringDictionary {
+    public static final int NULL = -1;
+    // Returned by encodeRepeated for a string the caller must keep itself
+    public static final int NOT_ENCODED = -2;
+
+    private static final int DEFAULT_MAX_SIZE = 1 << 16;
+    // Recently seen strings not yet encoded, one per slot by hash; a collision just forgets one
+    private static final int SIGHTING_SLOTS = 1 << 12;
+
+    private final int maxSize;
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private final String[] sightings = new String[SIGHTING_SLOTS];
+    private volatile String[] strings = new String[64];
+    private int size;
+
+    public StringDictionary() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public StringDictionary(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    // Encodes any string, for small closed sets such as zone IDs; these may exceed the maximum size
+    public int encode(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer code = codes.get(value);
+        return code != null ? code : add(value);
+    }
+
+    /**
+     * Encodes free text such as a title once it has been seen before, while there is room;
+     * otherwise returns {@link #NOT_ENCODED}. Sightings are remembered in a small fixed table,
+     * so a string repeating only rarely among many others may stay unencoded.
+     */
+    public int encodeRepeated(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (size() >= maxSize) {
+            return NOT_ENCODED;
+        }
+        int slot = value.hashCode() & (SIGHTING_SLOTS - 1);
+        // Racy on purpose: a lost sighting only delays encoding
+        if (value.equals(sightings[slot])) {
+            sightings[slot] = null;
+            return add(value);
+        }
+        sightings[slot] = value;
+        return NOT_ENCODED;
+    }
+
+    private synchronized int add(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        String[] current = strings;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = value;
+        // Published before the code is handed out, so whoever reads the code can decode it
+        strings = current;
+        codes.put(value, size);
+        return size++;
+    }
+
+    public String decode(int code) {
+        return code == NULL ? null : strings[code];
+    }
+
+    public int size() {
+        return codes.size();
+    }
+}
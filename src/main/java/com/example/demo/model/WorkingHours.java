@@ -0,0 +1,183 @@
+package com.example.demo.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A working-hours policy: the shifts worked on each day of the week (several per day for
+ * split shifts), days off, and the spacing between offered slots. Days without shifts are
+ * not worked. {@link AvailabilityTemplate#compile} turns a policy into its query-time form.
+ *
+ * Besides JSON, a policy has a compact text form used in configuration and storage, e.g.
+ * {@code MON-FRI 09:00-12:00,13:00-18:00; SAT 10:00-14:00; step 30; holidays 2024-12-25,2024-12-26}.
+ */
+public class WorkingHours {
+    public static final int DEFAULT_SLOT_STEP_MINUTES = 30;
+
+    // Shifts as "HH:mm-HH:mm" ranges per day
+    private Map<DayOfWeek, List<String>> shifts = new EnumMap<>(DayOfWeek.class);
+    private List<LocalDate> holidays = new ArrayList<>();
+    private int slotStepMinutes = DEFAULT_SLOT_STEP_MINUTES;
+
+    public WorkingHours() {
+    }
+
+    // 9 AM to 6 PM, Monday to Friday, slots every 30 minutes
+    public static WorkingHours standard() {
+        return parse("MON-FRI 09:00-18:00");
+    }
+
+    public static WorkingHours parse(String spec) {
+        WorkingHours hours = new WorkingHours();
+        for (String part : spec.split(";")) {
+            String entry = part.trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            String[] words = entry.split("\\s+", 2);
+            if (words.length < 2) {
+                throw new IllegalArgumentException("Invalid working hours entry: " + entry);
+            }
+            String value = words[1].replace(" ", "");
+            switch (words[0].toLowerCase(Locale.ROOT)) {
+                case "step" -> hours.setSlotStepMinutes(parseInt(value, entry));
+                case "holidays" -> {
+                    for (String date : value.split(",")) {
+                        hours.holidays.add(parseDate(date));
+                    }
+                }
+                default -> {
+                    List<String> dayShifts = List.of(value.split(","));
+                    for (DayOfWeek day : parseDays(words[0])) {
+                        hours.shifts.computeIfAbsent(day, d -> new ArrayList<>()).addAll(dayShifts);
+                    }
+                }
+            }
+        }
+        return hours;
+    }
+
+    public Map<DayOfWeek, List<String>> getShifts() {
+        return shifts;
+    }
+
+    public void setShifts(Map<DayOfWeek, List<String>> shifts) {
+        this.shifts = shifts == null ? new EnumMap<>(DayOfWeek.class) : new EnumMap<>(shifts);
+    }
+
+    public List<LocalDate> getHolidays() {
+        return holidays;
+    }
+
+    public void setHolidays(List<LocalDate> holidays) {
+        this.holidays = holidays == null ? new ArrayList<>() : new ArrayList<>(holidays);
+    }
+
+    public int getSlotStepMinutes() {
+        return slotStepMinutes;
+    }
+
+    public void setSlotStepMinutes(int slotStepMinutes) {
+        this.slotStepMinutes = slotStepMinutes;
+    }
+
+    // Start and end minute of day of an "HH:mm-HH:mm" shift; "24:00" ends at midnight
+    static int[] parseShift(String shift) {
+        String[] bounds = shift.trim().split("-");
+        if (bounds.length != 2) {
+            throw new IllegalArgumentException("Invalid shift: " + shift);
+        }
+        int start = parseMinuteOfDay(bounds[0], shift);
+        int end = parseMinuteOfDay(bounds[1], shift);
+        if (end <= start) {
+            throw new IllegalArgumentException("Shift must end after it starts: " + shift);
+        }
+        return new int[] {start, end};
+    }
+
+    static String formatShift(int start, int end) {
+        return formatMinuteOfDay(start) + "-" + formatMinuteOfDay(end);
+    }
+
+    // The text form, one entry per worked day in week order
+    @Override
+    public String toString() {
+        StringBuilder spec = new StringBuilder();
+        for (Map.Entry<DayOfWeek, List<String>> day : new EnumMap<>(shifts).entrySet()) {
+            if (!day.getValue().isEmpty()) {
+                spec.append(day.getKey().name(), 0, 3).append(' ').append(String.join(",", day.getValue())).append("; ");
+            }
+        }
+        spec.append("step ").append(slotStepMinutes);
+        if (!holidays.isEmpty()) {
+            spec.append("; holidays ");
+            for (int i = 0; i < holidays.size(); i++) {
+                spec.append(i == 0 ? "" : ",").append(holidays.get(i));
+            }
+        }
+        return spec.toString();
+    }
+
+    private static List<DayOfWeek> parseDays(String days) {
+        String[] range = days.split("-");
+        DayOfWeek first = parseDay(range[0]);
+        DayOfWeek last = range.length > 1 ? parseDay(range[1]) : first;
+        if (range.length > 2 || last.compareTo(first) < 0) {
+            throw new IllegalArgumentException("Invalid day range: " + days);
+        }
+        List<DayOfWeek> result = new ArrayList<>();
+        for (int d = first.getValue(); d <= last.getValue(); d++) {
+            result.add(DayOfWeek.of(d));
+        }
+        return result;
+    }
+
+    private static DayOfWeek parseDay(String day) {
+        String name = day.trim().toUpperCase(Locale.ROOT);
+        for (DayOfWeek candidate : DayOfWeek.values()) {
+            if (name.length() >= 3 && candidate.name().startsWith(name)) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Unknown day of week: " + day);
+    }
+
+    private static int parseMinuteOfDay(String time, String shift) {
+        if (time.trim().equals("24:00")) {
+            return 24 * 60;
+        }
+        try {
+            LocalTime parsed = LocalTime.parse(time.trim());
+            return parsed.getHour() * 60 + parsed.getMinute();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid shift: " + shift, e);
+        }
+    }
+
+    private static String formatMinuteOfDay(int minute) {
+        return String.format("%02d:%02d", minute / 60, minute % 60);
+    }
+
+    private static int parseInt(String value, String entry) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid working hours entry: " + entry, e);
+        }
+    }
+
+    private static LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid holiday: " + date, e);
+        }
+    }
+}
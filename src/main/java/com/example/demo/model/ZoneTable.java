@@ -0,0 +1,90 @@
+package com.example.demo.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.example.demo.model.EpochMinutes.MINUTES_PER_DAY;
+
+/**
+ * Cached day-boundary table of one time zone, for turning local wall-clock minutes into epoch
+ * minutes without consulting {@link ZoneRules} per slot.
+ *
+ * For each local day the table holds the UTC offset in minutes, computed in blocks of 512
+ * days on first use. Days on which the offset changes (DST transitions) are marked and
+ * resolved through the zone rules, so only those days pay for a full lookup. Fixed-offset
+ * zones such as UTC need no table at all.
+ */
+public final class ZoneTable {
+    private static final ConcurrentMap<ZoneId, ZoneTable> TABLES = new ConcurrentHashMap<>();
+    private static final int BLOCK_SHIFT = 9;
+    private static final int BLOCK_DAYS = 1 << BLOCK_SHIFT;
+    // Offset entry of a day whose offset changes, or is not a whole number of minutes
+    private static final int IRREGULAR = Integer.MIN_VALUE;
+
+    public static final ZoneTable UTC = of(ZoneOffset.UTC);
+
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    private final int fixedOffset;
+    private final ConcurrentMap<Long, int[]> blocks = new ConcurrentHashMap<>();
+
+    private ZoneTable(ZoneId zone) {
+        this.zone = zone;
+        this.rules = zone.getRules();
+        this.fixedOffset = rules.isFixedOffset() ? offsetMinutes(rules.getOffset(LocalDateTime.MIN)) : IRREGULAR;
+    }
+
+    public static ZoneTable of(ZoneId zone) {
+        return TABLES.computeIfAbsent(zone.normalized(), ZoneTable::new);
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * Epoch minute of a wall-clock minute on a local day ({@code minuteOfDay} may be 1440 for
+     * the following midnight). Times skipped by a DST gap move forward by the gap; times that
+     * occur twice resolve to the earlier one.
+     */
+    public long toEpochMinute(long localEpochDay, int minuteOfDay) {
+        int offset = fixedOffset != IRREGULAR ? fixedOffset : dayOffset(localEpochDay);
+        if (offset != IRREGULAR) {
+            return localEpochDay * MINUTES_PER_DAY + minuteOfDay - offset;
+        }
+        LocalDateTime local = LocalDate.ofEpochDay(localEpochDay).atStartOfDay().plusMinutes(minuteOfDay);
+        return Math.floorDiv(local.atZone(zone).toEpochSecond(), 60);
+    }
+
+    private int dayOffset(long localEpochDay) {
+        int[] block = blocks.computeIfAbsent(localEpochDay >> BLOCK_SHIFT, this::buildBlock);
+        return block[(int) (localEpochDay & (BLOCK_DAYS - 1))];
+    }
+
+    private int[] buildBlock(long blockIndex) {
+        int[] offsets = new int[BLOCK_DAYS];
+        Arrays.fill(offsets, IRREGULAR);
+        long firstDay = blockIndex << BLOCK_SHIFT;
+        int previous = offsetMinutes(rules.getOffset(LocalDate.ofEpochDay(firstDay).atStartOfDay()));
+        for (int i = 0; i < BLOCK_DAYS; i++) {
+            int next = offsetMinutes(rules.getOffset(LocalDate.ofEpochDay(firstDay + i + 1).atStartOfDay()));
+            // A transition during the day shows up as different offsets at its two midnights
+            if (previous == next && previous != IRREGULAR) {
+                offsets[i] = previous;
+            }
+            previous = next;
+        }
+        return offsets;
+    }
+
+    private static int offsetMinutes(ZoneOffset offset) {
+        int seconds = offset.getTotalSeconds();
+        return seconds % 60 == 0 ? seconds / 60 : IRREGULAR;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "employee")
+public class EmployeeEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    // Case-folded name, the lookup key shared with the in-memory directory
+    @Column(name = "name_key", nullable = false, unique = true)
+    private String nameKey;
+
+    // The employee's own policy in WorkingHours text form; null if the organization's applies
+    @Column(name = "working_hours", length = 2000)
+    private String workingHours;
+
+    // Region ID of the employee's zone, e.g. "Europe/Berlin"; null if the organization's applies
+    @Column(name = "time_zone", length = 64)
+    private String timeZone;
+
+    protected EmployeeEntity() {
+    }
+
+    public EmployeeEntity(String name, String nameKey) {
+        this.name = name;
+        this.nameKey = nameKey;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getNameKey() {
+        return nameKey;
+    }
+
+    public String getWorkingHours() {
+        return workingHours;
+    }
+
+    public void setWorkingHours(String workingHours) {
+        this.workingHours = workingHours;
+    }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface EmployeeRepository extends JpaRepository<EmployeeEntity, Long> {
+    Optional<EmployeeEntity> findByNameKey(String nameKey);
+}
@@ -0,0 +1,404 @@
+package com.example.demo.persistence;
+
+import com.example.demo.model.Meeting;
+import com.example.demo.model.WorkingHours;
+import com.example.demo.service.CalendarStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Calendar store for when the in-memory model stays primary: every booking is appended to a
+ * binary journal, and nothing is ever read back except at startup.
+ *
+ * Appends are group-committed: a single writer thread drains all pending records, writes them
+ * in one go and issues one fsync for the whole batch before acknowledging any of them. The
+ * journal is split into numbered segments; a background task folds closed segments into a
+ * compacted snapshot (written through memory-mapped buffers) and deletes them. Startup loads
+ * the latest snapshot and replays only the segments after it.
+ */
+@Component
+@ConditionalOnProperty(name = "calendar.store", havingValue = "journal")
+public class JournalCalendarStore implements CalendarStore {
+    private static final Logger log = LoggerFactory.getLogger(JournalCalendarStore.class);
+    private static final Pattern SEGMENT = Pattern.compile("journal-(\\d{12})\\.log");
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d{12})\\.bin");
+    private static final int MAX_BATCH = 1024;
+    // Queued last by close(): the writer commits everything before it and stops
+    private static final PendingWrite STOP = new PendingWrite(ByteBuffer.allocate(0), new CompletableFuture<>());
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final BlockingQueue<PendingWrite> pending = new LinkedBlockingQueue<>();
+    // Guards closed and enqueueing, so nothing is queued after STOP
+    private final ReentrantLock queueLock = new ReentrantLock();
+    // Guards the active segment; held by the writer for each batch and by rotation
+    private final ReentrantLock segmentLock = new ReentrantLock();
+    private final Thread writer;
+    private final ScheduledExecutorService compactor;
+    private List<StoredCalendar> recovered;
+    private FileChannel active;
+    private long activeSegment;
+    private boolean closed;
+
+    public JournalCalendarStore(@Value("${calendar.journal.dir:./data/journal}") Path directory,
+                                @Value("${calendar.journal.segment-bytes:67108864}") long segmentBytes,
+                                @Value("${calendar.journal.compact-interval-seconds:300}") long compactIntervalSeconds)
+            throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+        long started = System.nanoTime();
+        JournalCodec.RecoveredState state = new JournalCodec.RecoveredState();
+        long lastSegment = recover(state);
+        this.recovered = state.toStoredCalendars();
+        log.info("Recovered {} calendars from {} in {} ms", recovered.size(), directory,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        // Never append after a possibly torn tail: each run starts a fresh segment
+        openSegment(lastSegment + 1);
+
+        this.writer = new Thread(this::writeLoop, "calendar-journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        this.compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "calendar-journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.compactor.scheduleWithFixedDelay(this::compactQuietly,
+                compactIntervalSeconds, compactIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    // Everything lives in memory once loaded, so all calendars are handed over at startup
+    @Override
+    public synchronized List<StoredCalendar> loadAll() {
+        List<StoredCalendar> result = recovered;
+        recovered = List.of();
+        return result;
+    }
+
+    // Unknown to the journal means unknown: every recovered calendar was already handed over by loadAll
+    @Override
+    public Optional<StoredCalendar> load(String employeeName, LocalDateTime warmFrom) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void saveEmployee(String employeeName) {
+        append(JournalCodec.employeeRecord(employeeName));
+    }
+
+    @Override
+    public void saveWorkingHours(String employeeName, WorkingHours workingHours) {
+        append(JournalCodec.workingHoursRecord(employeeName, workingHours));
+    }
+
+    @Override
+    public void saveTimeZone(String employeeName, ZoneId zone) {
+        append(JournalCodec.timeZoneRecord(employeeName, zone));
+    }
+
+    @Override
+    public void saveMeeting(Meeting meeting, List<String> employeeNames) {
+        append(JournalCodec.meetingRecord(meeting, employeeNames));
+    }
+
+    // Queues every record before waiting, so the writer commits them in as few batches as possible
+    @Override
+    public void saveMeetings(String employeeName, List<Meeting> meetings) {
+        List<ByteBuffer> records = new ArrayList<>(meetings.size());
+        for (Meeting meeting : meetings) {
+            records.add(JournalCodec.meetingRecord(meeting, List.of(employeeName)));
+        }
+        appendAll(records);
+    }
+
+    // The attendees are implied by the ID: replay takes it off whichever calendars it was booked on
+    @Override
+    public void deleteMeeting(Meeting meeting, List<String> employeeNames) {
+        append(JournalCodec.cancelledRecord(meeting.getId()));
+    }
+
+    @Override
+    public void updateMeeting(Meeting previous, Meeting updated, List<String> employeeNames) {
+        append(JournalCodec.rescheduledRecord(updated, employeeNames));
+    }
+
+    @Override
+    public void deleteAll() {
+        append(JournalCodec.clearRecord());
+    }
+
+    // Folds every closed segment into a new snapshot, then drops the segments it replaces
+    public synchronized void compact() throws IOException {
+        long covered = rotate();
+        if (covered < 1) {
+            return;
+        }
+        Optional<Path> previous = latest(SNAPSHOT);
+        if (previous.isPresent() && number(previous.get(), SNAPSHOT) >= covered) {
+            return;
+        }
+        JournalCodec.RecoveredState state = new JournalCodec.RecoveredState();
+        long from = 1;
+        if (previous.isPresent()) {
+            from = JournalCodec.readSnapshot(previous.get(), state) + 1;
+        }
+        for (Path segment : segments()) {
+            long number = number(segment, SEGMENT);
+            if (number >= from && number <= covered) {
+                JournalCodec.replay(segment, state);
+            }
+        }
+        Path target = directory.resolve(String.format("snapshot-%012d.bin", covered));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        JournalCodec.writeSnapshot(temp, covered, state);
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        if (previous.isPresent()) {
+            Files.deleteIfExists(previous.get());
+        }
+        for (Path segment : segments()) {
+            if (number(segment, SEGMENT) <= covered) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    /**
+     * Commits every append queued so far and closes the journal. The writer is stopped by a
+     * marker queued after them rather than interrupted, since an interrupt would close the
+     * channel under a write in progress; appends still waiting if it does not stop in time fail.
+     */
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        queueLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.add(STOP);
+        } finally {
+            queueLock.unlock();
+        }
+        compactor.shutdown();
+        compactor.awaitTermination(10, TimeUnit.SECONDS);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        IOException notWritten = new IOException("Journal closed before the record was written");
+        for (PendingWrite write; (write = pending.poll()) != null; ) {
+            write.done().completeExceptionally(notWritten);
+        }
+        segmentLock.lock();
+        try {
+            active.close();
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    // Blocks until the record is durable on disk
+    private void append(ByteBuffer record) {
+        appendAll(List.of(record));
+    }
+
+    // Blocks until every record is durable on disk
+    private void appendAll(List<ByteBuffer> records) {
+        List<CompletableFuture<Void>> done = new ArrayList<>(records.size());
+        queueLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Journal is closed");
+            }
+            for (ByteBuffer record : records) {
+                PendingWrite write = new PendingWrite(record, new CompletableFuture<>());
+                pending.add(write);
+                done.add(write.done());
+            }
+        } finally {
+            queueLock.unlock();
+        }
+        try {
+            CompletableFuture.allOf(done.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            throw new UncheckedIOException("Journal write failed", asIOException(e.getCause()));
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(MAX_BATCH);
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                batch.add(pending.take());
+            } catch (InterruptedException e) {
+                // Not how the writer is stopped; close() fails whatever is left in the queue
+                return;
+            }
+            pending.drainTo(batch, MAX_BATCH - batch.size());
+            // Nothing is queued after STOP, so it can only be the last of a batch
+            stopping = batch.get(batch.size() - 1) == STOP;
+            if (stopping) {
+                batch.remove(batch.size() - 1);
+                if (batch.isEmpty()) {
+                    break;
+                }
+            }
+            segmentLock.lock();
+            long committed = -1;
+            try {
+                committed = active.size();
+                for (PendingWrite write : batch) {
+                    write(active, write.record());
+                }
+                active.force(false);
+                batch.forEach(write -> write.done().complete(null));
+                if (active.size() >= segmentBytes) {
+                    openSegment(activeSegment + 1);
+                }
+            } catch (IOException | RuntimeException e) {
+                discardBatch(committed, e);
+                batch.forEach(write -> write.done().completeExceptionally(e));
+            } finally {
+                segmentLock.unlock();
+            }
+            batch.clear();
+        }
+    }
+
+    // Writes one record whole
+    void write(FileChannel channel, ByteBuffer record) throws IOException {
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+    }
+
+    /**
+     * Cuts the active segment back to its size before a failed batch, so records its callers
+     * were told failed are never replayed, then moves later appends to a fresh segment. If the
+     * cut fails too, the segment is left as it is and the failure says so.
+     */
+    private void discardBatch(long committed, Exception failure) {
+        try {
+            if (committed >= 0) {
+                active.truncate(committed);
+                active.force(false);
+            }
+        } catch (IOException | RuntimeException truncateFailure) {
+            log.error("Could not roll back a failed batch in journal segment {}; its records may be replayed",
+                    activeSegment, truncateFailure);
+            failure.addSuppressed(truncateFailure);
+        }
+        try {
+            openSegment(activeSegment + 1);
+        } catch (IOException rotateFailure) {
+            failure.addSuppressed(rotateFailure);
+        }
+    }
+
+    // Closes the active segment (if it has data) and returns the last closed segment number
+    private long rotate() throws IOException {
+        segmentLock.lock();
+        try {
+            if (active.size() > 0) {
+                openSegment(activeSegment + 1);
+            }
+            return activeSegment - 1;
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    private void openSegment(long number) throws IOException {
+        if (active != null) {
+            active.close();
+        }
+        active = FileChannel.open(directory.resolve(String.format("journal-%012d.log", number)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        activeSegment = number;
+    }
+
+    private long recover(JournalCodec.RecoveredState state) throws IOException {
+        long last = 0;
+        Optional<Path> snapshot = latest(SNAPSHOT);
+        if (snapshot.isPresent()) {
+            last = JournalCodec.readSnapshot(snapshot.get(), state);
+        }
+        for (Path segment : segments()) {
+            long number = number(segment, SEGMENT);
+            if (number > last) {
+                long end = JournalCodec.replay(segment, state);
+                if (end < Files.size(segment)) {
+                    log.warn("Ignoring torn tail of {} after offset {}", segment, end);
+                }
+            }
+            last = Math.max(last, number);
+        }
+        return last;
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Journal compaction failed", e);
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> SEGMENT.matcher(file.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Optional<Path> latest(Pattern pattern) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> pattern.matcher(file.getFileName().toString()).matches())
+                    .max(Path::compareTo);
+        }
+    }
+
+    private static long number(Path file, Pattern pattern) {
+        Matcher matcher = pattern.matcher(file.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Unexpected journal file " + file);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static IOException asIOException(Throwable cause) {
+        return cause instanceof IOException io ? io : new IOException(cause);
+    }
+
+    private record PendingWrite(ByteBuffer record, CompletableFuture<Void> done) {
+    }
+}
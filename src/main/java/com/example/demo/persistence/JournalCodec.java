@@ -0,0 +1,410 @@
+package com.example.demo.persistence;
+
+import com.example.demo.model.Meeting;
+import com.example.demo.model.Recurrence;
+import com.example.demo.model.WorkingHours;
+import com.example.demo.service.CalendarStore.StoredCalendar;
+import com.example.demo.service.MeetingService;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary formats of the booking journal and its snapshots.
+ *
+ * Journal record: {@code [int payloadLength][int crc32c(payload)][payload]}, where the payload
+ * starts with a one-byte record type. Replay stops at the first short or corrupt record, which
+ * is how a write torn by a crash is detected.
+ *
+ * Snapshot: {@code [long MAGIC][int VERSION][long lastSegment][int employeeCount]} followed by
+ * one {@code [int blockLength][block]} per employee, written and read through memory-mapped
+ * windows of the file. A block holds the employee's name, working hours and zone, then each
+ * meeting followed by its zone, recurrence rule and ID. Bookings are journaled as BOOKED
+ * records carrying the same meeting fields; CANCELLED and RESCHEDULED records refer to a
+ * meeting by its ID.
+ */
+final class JournalCodec {
+    static final byte EMPLOYEE = 1;
+    static final byte BOOKED = 2;
+    static final byte CLEAR = 3;
+    static final byte WORKING_HOURS = 4;
+    static final byte TIME_ZONE = 5;
+    static final byte CANCELLED = 6;
+    static final byte RESCHEDULED = 7;
+
+    private static final long SNAPSHOT_MAGIC = 0x43414c534e415031L; // "CALSNAP1"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    private static final long MAP_WINDOW_BYTES = 64L << 20;
+
+    private JournalCodec() {
+    }
+
+    static ByteBuffer employeeRecord(String name) {
+        return frame(new Payload(EMPLOYEE).putString(name));
+    }
+
+    static ByteBuffer meetingRecord(Meeting meeting, List<String> employeeNames) {
+        return booking(BOOKED, meeting, employeeNames);
+    }
+
+    // Replay moves the meeting with updated's ID off every calendar, then books updated
+    static ByteBuffer rescheduledRecord(Meeting updated, List<String> employeeNames) {
+        return booking(RESCHEDULED, updated, employeeNames);
+    }
+
+    static ByteBuffer cancelledRecord(String meetingId) {
+        return frame(new Payload(CANCELLED).putString(meetingId));
+    }
+
+    private static ByteBuffer booking(byte type, Meeting meeting, List<String> employeeNames) {
+        Payload payload = new Payload(type);
+        payload.putInt(employeeNames.size());
+        for (String name : employeeNames) {
+            payload.putString(name);
+        }
+        return frame(payload.putBooking(meeting));
+    }
+
+    static ByteBuffer workingHoursRecord(String name, WorkingHours hours) {
+        return frame(new Payload(WORKING_HOURS).putString(name).putString(hours == null ? null : hours.toString()));
+    }
+
+    static ByteBuffer timeZoneRecord(String name, ZoneId zone) {
+        return frame(new Payload(TIME_ZONE).putString(name).putString(zone == null ? null : zone.getId()));
+    }
+
+    static ByteBuffer clearRecord() {
+        return frame(new Payload(CLEAR));
+    }
+
+    /**
+     * Applies every intact record of a journal segment to {@code state}.
+     *
+     * @return the file offset just past the last intact record
+     */
+    static long replay(Path segment, RecoveredState state) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            while (buffer.remaining() >= HEADER_BYTES) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                int crc = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    return start;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+                if (crc(payload) != crc) {
+                    return start;
+                }
+                state.apply(ByteBuffer.wrap(payload));
+            }
+            return buffer.position();
+        }
+    }
+
+    static void writeSnapshot(Path file, long lastSegment, RecoveredState state) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedWindow out = new MappedWindow(channel, FileChannel.MapMode.READ_WRITE);
+            ByteBuffer header = out.window(0, 24);
+            header.putLong(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putLong(lastSegment).putInt(state.calendars.size());
+            long position = 24;
+            for (RecoveredState.Calendar calendar : state.calendars.values()) {
+                Payload block = new Payload().putString(calendar.name).putString(calendar.workingHours)
+                        .putString(calendar.timeZone).putInt(calendar.meetings.size());
+                for (Meeting meeting : calendar.meetings.values()) {
+                    block.putBooking(meeting);
+                }
+                ByteBuffer bytes = block.toBuffer();
+                out.window(position, 4 + bytes.remaining()).putInt(bytes.remaining()).put(bytes);
+                position += 4 + bytes.limit();
+            }
+            out.force();
+            channel.truncate(position);
+            channel.force(true);
+        }
+    }
+
+    // Loads a snapshot into {@code state} and returns the last journal segment it covers
+    static long readSnapshot(Path file, RecoveredState state) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedWindow in = new MappedWindow(channel, FileChannel.MapMode.READ_ONLY);
+            ByteBuffer header = in.window(0, 24);
+            if (header.getLong() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a calendar snapshot: " + file);
+            }
+            int version = header.getInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + file);
+            }
+            long lastSegment = header.getLong();
+            int employees = header.getInt();
+            long position = 24;
+            for (int i = 0; i < employees; i++) {
+                int length = in.window(position, 4).getInt();
+                ByteBuffer block = in.window(position + 4, length);
+                String name = getString(block);
+                String workingHours = getString(block);
+                String timeZone = getString(block);
+                int count = block.getInt();
+                List<Meeting> meetings = new ArrayList<>(count);
+                for (int m = 0; m < count; m++) {
+                    meetings.add(getBooking(block));
+                }
+                state.restore(name, workingHours, timeZone, meetings);
+                position += 4 + length;
+            }
+            return lastSegment;
+        }
+    }
+
+    private static ByteBuffer frame(Payload payload) {
+        ByteBuffer body = payload.toBuffer();
+        byte[] bytes = new byte[body.remaining()];
+        body.get(bytes);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + bytes.length);
+        record.putInt(bytes.length).putInt(crc(bytes)).put(bytes).flip();
+        return record;
+    }
+
+    private static int crc(byte[] bytes) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static LocalDateTime getTime(ByteBuffer buffer) {
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private static Meeting getMeeting(ByteBuffer buffer) {
+        Meeting meeting = new Meeting(getTime(buffer), getTime(buffer), getString(buffer));
+        meeting.setDescription(getString(buffer));
+        return meeting;
+    }
+
+    // Reads a meeting written by putBooking
+    private static Meeting getBooking(ByteBuffer buffer) {
+        Meeting meeting = getMeeting(buffer);
+        String zone = getString(buffer);
+        String recurrence = getString(buffer);
+        if (zone != null) {
+            meeting.setZone(ZoneId.of(zone));
+        }
+        if (recurrence != null) {
+            meeting.setRecurrence(Recurrence.parse(recurrence));
+        }
+        meeting.setId(getString(buffer));
+        return meeting;
+    }
+
+    // Growable little encoder for record payloads and snapshot blocks
+    private static final class Payload {
+        private ByteBuffer buffer = ByteBuffer.allocate(128);
+
+        Payload() {
+        }
+
+        Payload(byte type) {
+            buffer.put(type);
+        }
+
+        Payload putInt(int value) {
+            ensure(4).putInt(value);
+            return this;
+        }
+
+        Payload putString(String value) {
+            if (value == null) {
+                return putInt(-1);
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensure(4 + bytes.length).putInt(bytes.length).put(bytes);
+            return this;
+        }
+
+        // Times, title and description, then zone and recurrence rule (both null for a one-off
+        // meeting stored in UTC) and ID
+        Payload putBooking(Meeting meeting) {
+            putTime(meeting.getStart());
+            putTime(meeting.getEnd());
+            putString(meeting.getTitle());
+            putString(meeting.getDescription());
+            putString(meeting.getZone() == null ? null : meeting.getZone().getId());
+            putString(meeting.getRecurrence() == null ? null : meeting.getRecurrence().toString());
+            return putString(meeting.getId());
+        }
+
+        private void putTime(LocalDateTime time) {
+            ensure(12).putLong(time.toEpochSecond(ZoneOffset.UTC)).putInt(time.getNano());
+        }
+
+        private ByteBuffer ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+            return buffer;
+        }
+
+        ByteBuffer toBuffer() {
+            return buffer.duplicate().flip();
+        }
+    }
+
+    // Maps the file in windows so snapshots are not limited to a single 2 GB mapping
+    private static final class MappedWindow {
+        private final FileChannel channel;
+        private final FileChannel.MapMode mode;
+        private MappedByteBuffer mapped;
+        private long mappedStart;
+
+        MappedWindow(FileChannel channel, FileChannel.MapMode mode) {
+            this.channel = channel;
+            this.mode = mode;
+        }
+
+        // A buffer positioned at {@code position} with at least {@code bytes} remaining
+        ByteBuffer window(long position, int bytes) throws IOException {
+            if (mapped == null || position < mappedStart || position + bytes > mappedStart + mapped.capacity()) {
+                force();
+                long size = mode == FileChannel.MapMode.READ_ONLY
+                        ? Math.min(Math.max(MAP_WINDOW_BYTES, bytes), channel.size() - position)
+                        : Math.max(MAP_WINDOW_BYTES, bytes);
+                if (size < bytes) {
+                    throw new IOException("Snapshot truncated at offset " + position);
+                }
+                mapped = channel.map(mode, position, size);
+                mappedStart = position;
+            }
+            return mapped.duplicate().position((int) (position - mappedStart));
+        }
+
+        void force() {
+            if (mapped != null && mode == FileChannel.MapMode.READ_WRITE) {
+                mapped.force();
+            }
+        }
+    }
+
+    /**
+     * Calendars rebuilt from a snapshot and journal replay, keyed by case-folded employee name
+     * in first-seen order, with the calendars each meeting ID is booked on.
+     */
+    static final class RecoveredState {
+        private final Map<String, Calendar> calendars = new LinkedHashMap<>();
+        private final Map<String, List<Calendar>> attendees = new HashMap<>();
+
+        void apply(ByteBuffer payload) {
+            byte type = payload.get();
+            switch (type) {
+                case EMPLOYEE -> calendar(getString(payload));
+                case BOOKED, RESCHEDULED -> {
+                    int count = payload.getInt();
+                    List<String> names = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        names.add(getString(payload));
+                    }
+                    Meeting meeting = getBooking(payload);
+                    if (type == RESCHEDULED) {
+                        cancel(meeting.getId());
+                    }
+                    for (String name : names) {
+                        add(calendar(name), meeting);
+                    }
+                }
+                case CANCELLED -> cancel(getString(payload));
+                case WORKING_HOURS -> calendar(getString(payload)).workingHours = getString(payload);
+                case TIME_ZONE -> calendar(getString(payload)).timeZone = getString(payload);
+                case CLEAR -> {
+                    calendars.clear();
+                    attendees.clear();
+                }
+                default -> throw new IllegalStateException("Unknown journal record type " + type);
+            }
+        }
+
+        void restore(String name, String workingHours, String timeZone, List<Meeting> meetings) {
+            Calendar calendar = calendar(name);
+            calendar.workingHours = workingHours;
+            calendar.timeZone = timeZone;
+            meetings.forEach(meeting -> add(calendar, meeting));
+        }
+
+        private void add(Calendar calendar, Meeting meeting) {
+            // A meeting saved without an ID cannot be cancelled, so it is its own key
+            calendar.meetings.put(meeting.getId() != null ? meeting.getId() : meeting, meeting);
+            attendees.computeIfAbsent(meeting.getId(), id -> new ArrayList<>(1)).add(calendar);
+        }
+
+        // Takes the meeting with the ID off each calendar it is booked on, as the service does in memory
+        private void cancel(String meetingId) {
+            List<Calendar> booked = attendees.remove(meetingId);
+            if (booked == null) {
+                return;
+            }
+            for (Calendar calendar : booked) {
+                calendar.meetings.remove(meetingId);
+            }
+        }
+
+        List<StoredCalendar> toStoredCalendars() {
+            List<StoredCalendar> result = new ArrayList<>(calendars.size());
+            for (Calendar calendar : calendars.values()) {
+                result.add(new StoredCalendar(calendar.name, new ArrayList<>(calendar.meetings.values()),
+                        calendar.workingHours == null ? null : WorkingHours.parse(calendar.workingHours),
+                        calendar.timeZone == null ? null : ZoneId.of(calendar.timeZone)));
+            }
+            return result;
+        }
+
+        private Calendar calendar(String name) {
+            return calendars.computeIfAbsent(MeetingService.normalizeName(name), key -> new Calendar(name));
+        }
+
+        private static final class Calendar {
+            final String name;
+            // By ID in booking order, so a cancel or reschedule replays in constant time
+            final Map<Object, Meeting> meetings = new LinkedHashMap<>();
+            // WorkingHours text form, or null for the organization's
+            String workingHours;
+            // Zone region ID, or null for the organization's
+            String timeZone;
+
+            Calendar(String name) {
+                this.name = name;
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.demo.persistence;
+
+import com.example.demo.model.EpochMinutes;
+import com.example.demo.model.Meeting;
+import com.example.demo.model.WorkingHours;
+import com.example.demo.service.MeetingService;
+import com.example.demo.service.RangeQueryStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "calendar.store", havingValue = "jpa")
+public class JpaCalendarStore implements RangeQueryStore {
+    private final EmployeeRepository employeeRepository;
+    private final MeetingRepository meetingRepository;
+
+    public JpaCalendarStore(EmployeeRepository employeeRepository, MeetingRepository meetingRepository) {
+        this.employeeRepository = employeeRepository;
+        this.meetingRepository = meetingRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StoredCalendar> load(String employeeName, LocalDateTime warmFrom) {
+        return employeeRepository.findByNameKey(MeetingService.normalizeName(employeeName))
+                .map(employee -> new StoredCalendar(employee.getName(),
+                        meetingRepository.findEndingAfter(employee.getId(), warmFrom).stream()
+                                .map(MeetingEntity::toMeeting)
+                                .toList(),
+                        employee.getWorkingHours() == null ? null : WorkingHours.parse(employee.getWorkingHours()),
+                        employee.getTimeZone() == null ? null : ZoneId.of(employee.getTimeZone())));
+    }
+
+    @Override
+    @Transactional
+    public void saveEmployee(String employeeName) {
+        findOrCreate(employeeName);
+    }
+
+    @Override
+    @Transactional
+    public void saveWorkingHours(String employeeName, WorkingHours workingHours) {
+        findOrCreate(employeeName).setWorkingHours(workingHours == null ? null : workingHours.toString());
+    }
+
+    @Override
+    @Transactional
+    public void saveTimeZone(String employeeName, ZoneId zone) {
+        findOrCreate(employeeName).setTimeZone(zone == null ? null : zone.getId());
+    }
+
+    @Override
+    @Transactional
+    public void saveMeeting(Meeting meeting, List<String> employeeNames) {
+        for (String name : employeeNames) {
+            meetingRepository.save(new MeetingEntity(findOrCreate(name), meeting));
+        }
+    }
+
+    // One employee lookup and one batch of inserts in a single transaction
+    @Override
+    @Transactional
+    public void saveMeetings(String employeeName, List<Meeting> meetings) {
+        EmployeeEntity employee = findOrCreate(employeeName);
+        meetingRepository.saveAll(meetings.stream().map(meeting -> new MeetingEntity(employee, meeting)).toList());
+    }
+
+    @Override
+    @Transactional
+    public void deleteMeeting(Meeting meeting, List<String> employeeNames) {
+        delete(meeting, employeeNames);
+    }
+
+    // Deletes and inserts in one transaction, so a failed update leaves the old rows in place
+    @Override
+    @Transactional
+    public void updateMeeting(Meeting previous, Meeting updated, List<String> employeeNames) {
+        delete(previous, employeeNames);
+        saveMeeting(updated, employeeNames);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StoredMeeting> findMeeting(String meetingId) {
+        List<MeetingEntity> rows = meetingRepository.findByMeetingId(meetingId);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new StoredMeeting(rows.get(0).toMeeting(),
+                rows.stream().map(row -> row.getEmployee().getName()).toList()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean hasOverlap(String employeeName, LocalDateTime start, LocalDateTime end) {
+        return employeeRepository.findByNameKey(MeetingService.normalizeName(employeeName))
+                .map(employee -> meetingRepository.existsOverlap(employee.getId(), start, end)
+                        || seriesOverlap(employee.getId(), start, end))
+                .orElse(false);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Meeting> findMeetings(String employeeName, LocalDateTime start, LocalDateTime end) {
+        return employeeRepository.findByNameKey(MeetingService.normalizeName(employeeName))
+                .map(employee -> meetingRepository.findOverlapping(employee.getId(), start, end).stream()
+                        .map(MeetingEntity::toMeeting)
+                        .toList())
+                .orElse(List.of());
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll() {
+        meetingRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+    }
+
+    // One row per calendar
+    private void delete(Meeting meeting, List<String> employeeNames) {
+        for (String name : employeeNames) {
+            employeeRepository.findByNameKey(MeetingService.normalizeName(name)).ifPresent(employee ->
+                    meetingRepository.deleteAll(meetingRepository.findByEmployeeAndMeetingId(employee.getId(), meeting.getId())
+                            .stream()
+                            .limit(1)
+                            .toList()));
+        }
+    }
+
+    // Recurring meetings whose series spans the range, checked occurrence by occurrence
+    private boolean seriesOverlap(Long employeeId, LocalDateTime start, LocalDateTime end) {
+        long from = EpochMinutes.floor(start);
+        long to = EpochMinutes.ceil(end);
+        return meetingRepository.findSeriesOverlapping(employeeId, start, end).stream()
+                .anyMatch(entity -> entity.toMeeting().occurrences(from, to).length > 0);
+    }
+
+    private EmployeeEntity findOrCreate(String employeeName) {
+        String key = MeetingService.normalizeName(employeeName);
+        return employeeRepository.findByNameKey(key)
+                .orElseGet(() -> employeeRepository.save(new EmployeeEntity(employeeName, key)));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.demo.persistence;
+
+import com.example.demo.model.EpochMinutes;
+import com.example.demo.model.Meeting;
+import com.example.demo.model.Recurrence;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * One row per meeting per attendee, so range queries never need a join. A recurring meeting is
+ * one row holding its rule: start and end are its first occurrence in UTC, and series_end is
+ * when its last occurrence ends (far in the future for a series without an end). The rows of
+ * one meeting share its meeting_id.
+ */
+@Entity
+@Table(name = "meeting", indexes = {
+        @Index(name = "idx_meeting_employee_time", columnList = "employee_id, start_ts, end_ts"),
+        @Index(name = "idx_meeting_meeting_id", columnList = "meeting_id")})
+public class MeetingEntity {
+    // Stored as the series end of recurring meetings that never end; beyond any queried range
+    static final LocalDateTime OPEN_ENDED = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "meeting_id", length = 36, nullable = false)
+    private String meetingId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "employee_id", nullable = false)
+    private EmployeeEntity employee;
+
+    @Column(name = "start_ts", nullable = false)
+    private LocalDateTime start;
+
+    @Column(name = "end_ts", nullable = false)
+    private LocalDateTime end;
+
+    private String title;
+
+    @Column(length = 2000)
+    private String description;
+
+    // Recurrence text form; null for a one-off meeting
+    @Column(length = 2000)
+    private String recurrence;
+
+    // Zone a recurring meeting's occurrences follow; null for UTC
+    @Column(name = "time_zone", length = 64)
+    private String timeZone;
+
+    @Column(name = "series_end_ts")
+    private LocalDateTime seriesEnd;
+
+    protected MeetingEntity() {
+    }
+
+    public MeetingEntity(EmployeeEntity employee, Meeting meeting) {
+        this.employee = employee;
+        this.meetingId = meeting.getId();
+        this.start = meeting.getStart();
+        this.end = meeting.getEnd();
+        this.title = meeting.getTitle();
+        this.description = meeting.getDescription();
+        if (meeting.getRecurrence() != null) {
+            Meeting utc = meeting.withZone(null);
+            this.start = utc.getStart();
+            this.end = utc.getEnd();
+            this.recurrence = meeting.getRecurrence().toString();
+            this.timeZone = meeting.getZone() == null ? null : meeting.getZone().getId();
+            long lastEnd = meeting.lastEndEpochMinute();
+            this.seriesEnd = lastEnd == Long.MAX_VALUE ? OPEN_ENDED : EpochMinutes.toLocalDateTime(lastEnd);
+        }
+    }
+
+    public Meeting toMeeting() {
+        Meeting meeting = new Meeting(start, end, title);
+        if (recurrence != null) {
+            meeting = meeting.withZone(timeZone == null ? null : ZoneId.of(timeZone));
+            meeting.setRecurrence(Recurrence.parse(recurrence));
+        }
+        meeting.setDescription(description);
+        meeting.setId(meetingId);
+        return meeting;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getMeetingId() {
+        return meetingId;
+    }
+
+    public EmployeeEntity getEmployee() {
+        return employee;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+}
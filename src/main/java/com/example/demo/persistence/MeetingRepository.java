@@ -0,0 +1,45 @@
+package com.example.demo.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Range predicates below are served by the (employee_id, start_ts, end_ts) index. Recurring
+ * meetings match on the span of their whole series; callers expand their occurrences.
+ */
+public interface MeetingRepository extends JpaRepository<MeetingEntity, Long> {
+
+    @Query("select count(m) > 0 from MeetingEntity m "
+            + "where m.employee.id = :employeeId and m.recurrence is null and m.start < :end and m.end > :start")
+    boolean existsOverlap(@Param("employeeId") Long employeeId,
+                          @Param("start") LocalDateTime start,
+                          @Param("end") LocalDateTime end);
+
+    @Query("select m from MeetingEntity m where m.employee.id = :employeeId and m.recurrence is not null "
+            + "and m.start < :end and m.seriesEnd > :start")
+    List<MeetingEntity> findSeriesOverlapping(@Param("employeeId") Long employeeId,
+                                              @Param("start") LocalDateTime start,
+                                              @Param("end") LocalDateTime end);
+
+    @Query("select m from MeetingEntity m where m.employee.id = :employeeId "
+            + "and m.start < :end and coalesce(m.seriesEnd, m.end) > :start order by m.start")
+    List<MeetingEntity> findOverlapping(@Param("employeeId") Long employeeId,
+                                        @Param("start") LocalDateTime start,
+                                        @Param("end") LocalDateTime end);
+
+    @Query("select m from MeetingEntity m where m.employee.id = :employeeId "
+            + "and coalesce(m.seriesEnd, m.end) > :after order by m.start")
+    List<MeetingEntity> findEndingAfter(@Param("employeeId") Long employeeId,
+                                        @Param("after") LocalDateTime after);
+
+    @Query("select m from MeetingEntity m join fetch m.employee where m.meetingId = :meetingId")
+    List<MeetingEntity> findByMeetingId(@Param("meetingId") String meetingId);
+
+    @Query("select m from MeetingEntity m where m.employee.id = :employeeId and m.meetingId = :meetingId")
+    List<MeetingEntity> findByEmployeeAndMeetingId(@Param("employeeId") Long employeeId,
+                                                   @Param("meetingId") String meetingId);
+}
@@ -0,0 +1,162 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Meters published by {@link MeetingService}: a latency timer per operation, calendar size
+ * gauges, and counts of detected conflicts, returned slots, free-slot cache lookups,
+ * coalesced queries and bulk-imported records.
+ *
+ * Per-employee calendar sizes are tagged by employee name, so only the first
+ * {@code maxEmployeeGauges} employees get one to keep the series count bounded.
+ */
+class CalendarMetrics {
+    static final String OPERATION_TIMER = "calendar.operation";
+    static final String EMPLOYEE_MEETINGS_GAUGE = "calendar.employee.meetings";
+
+    private final MeterRegistry registry;
+    private volatile int maxEmployeeGauges;
+    private final AtomicInteger employeeGauges = new AtomicInteger();
+
+    final Timer bookTimer;
+    final Timer bookIfFreeTimer;
+    final Timer conflictsTimer;
+    final Timer conflictMatrixTimer;
+    final Timer freeSlotsTimer;
+    final Timer freeSlotsWithRoomTimer;
+    final Timer importTimer;
+    final Timer cancelTimer;
+    final Timer rescheduleTimer;
+    final Counter recordsImported;
+    final Counter recordsRejected;
+    final Counter bookIfFreeConflicts;
+    final Counter conflictsDetected;
+    final Counter rescheduleConflicts;
+    final DistributionSummary slotsReturned;
+    final Counter slotCacheHits;
+    final Counter slotCacheMisses;
+    final Counter busyTimeCoalesced;
+    final Counter conflictsCoalesced;
+
+    CalendarMetrics(MeterRegistry registry, Collection<Employee> employees, int maxEmployeeGauges) {
+        this.registry = registry;
+        this.maxEmployeeGauges = maxEmployeeGauges;
+        this.bookTimer = operationTimer("book");
+        this.bookIfFreeTimer = operationTimer("book_if_free");
+        this.conflictsTimer = operationTimer("conflicts");
+        this.conflictMatrixTimer = operationTimer("conflict_matrix");
+        this.freeSlotsTimer = operationTimer("free_slots");
+        this.freeSlotsWithRoomTimer = operationTimer("free_slots_with_room");
+        this.importTimer = operationTimer("import");
+        this.cancelTimer = operationTimer("cancel");
+        this.rescheduleTimer = operationTimer("reschedule");
+        this.recordsImported = importCounter("imported");
+        this.recordsRejected = importCounter("rejected");
+        this.bookIfFreeConflicts = conflictCounter("book_if_free");
+        this.conflictsDetected = conflictCounter("conflicts");
+        this.rescheduleConflicts = conflictCounter("reschedule");
+        this.slotsReturned = DistributionSummary.builder("calendar.free.slots.returned")
+                .description("Number of free slots returned per search")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.slotCacheHits = slotCacheCounter("hit");
+        this.slotCacheMisses = slotCacheCounter("miss");
+        this.busyTimeCoalesced = coalescedCounter("busy_time");
+        this.conflictsCoalesced = coalescedCounter("conflicts");
+        Gauge.builder("calendar.employees", employees, Collection::size)
+                .description("Employees with a calendar in memory")
+                .register(registry);
+        Gauge.builder("calendar.meetings", employees, CalendarMetrics::totalMeetings)
+                .description("Meetings across all in-memory calendars")
+                .register(registry);
+        Gauge.builder("calendar.offheap.bytes", employees, CalendarMetrics::offHeapBytes)
+                .description("Bytes of meetings held outside the heap by off-heap calendars")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    void setMaxEmployeeGauges(int maxEmployeeGauges) {
+        this.maxEmployeeGauges = maxEmployeeGauges;
+    }
+
+    // Registers the per-employee size gauge while under the cap
+    void employeeAdded(Employee employee) {
+        if (employeeGauges.incrementAndGet() > maxEmployeeGauges) {
+            employeeGauges.decrementAndGet();
+            return;
+        }
+        Gauge.builder(EMPLOYEE_MEETINGS_GAUGE, employee, e -> e.getCalendar().size())
+                .description("Meetings in one employee's calendar")
+                .tag("employee", employee.getName())
+                .register(registry);
+    }
+
+    void employeesCleared() {
+        for (Meter meter : registry.find(EMPLOYEE_MEETINGS_GAUGE).meters()) {
+            registry.remove(meter);
+        }
+        employeeGauges.set(0);
+    }
+
+    private Timer operationTimer(String operation) {
+        return Timer.builder(OPERATION_TIMER)
+                .description("Latency of calendar operations")
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Counter importCounter(String outcome) {
+        return Counter.builder("calendar.import.records")
+                .description("Bulk import records by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private Counter slotCacheCounter(String result) {
+        return Counter.builder("calendar.free.slots.cache")
+                .description("Free-slot searches served from the cache or recomputed")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private Counter coalescedCounter(String operation) {
+        return Counter.builder("calendar.coalesced")
+                .description("Queries that shared an identical in-flight computation instead of running their own")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    private Counter conflictCounter(String operation) {
+        return Counter.builder("calendar.conflicts.detected")
+                .description("Participants found busy by a conflict check")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    private static double totalMeetings(Collection<Employee> employees) {
+        long total = 0;
+        for (Employee e : employees) {
+            total += e.getCalendar().size();
+        }
+        return total;
+    }
+
+    private static double offHeapBytes(Collection<Employee> employees) {
+        long total = 0;
+        for (Employee e : employees) {
+            total += e.getCalendar().offHeapBytes();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Meeting;
+import com.example.demo.model.WorkingHours;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Durable backing store for calendars. {@link MeetingService} writes every booking through to
+ * it and keeps calendars warm in memory; a store that is also a {@link RangeQueryStore} answers
+ * ranges older than the warm horizon of a lazily loaded calendar directly. Employee names are
+ * matched case-insensitively.
+ */
+public interface CalendarStore {
+
+    /**
+     * Calendars to load into memory in full at startup. Range query stores return nothing here
+     * and are loaded lazily through {@link #load}.
+     */
+    default List<StoredCalendar> loadAll() {
+        return List.of();
+    }
+
+    /**
+     * Loads an employee's calendar, keeping only meetings that end after {@code warmFrom}.
+     *
+     * @return empty if the store has never seen the employee
+     */
+    Optional<StoredCalendar> load(String employeeName, LocalDateTime warmFrom);
+
+    void saveEmployee(String employeeName);
+
+    // Records the employee's own working hours; null reverts them to the organization's
+    void saveWorkingHours(String employeeName, WorkingHours workingHours);
+
+    // Records the zone the employee's working hours are read in; null reverts to the organization's
+    void saveTimeZone(String employeeName, ZoneId zone);
+
+    // Records one meeting on each of the given employees' calendars, all or nothing
+    void saveMeeting(Meeting meeting, List<String> employeeNames);
+
+    // Records many meetings on one employee's calendar, as a bulk import does
+    default void saveMeetings(String employeeName, List<Meeting> meetings) {
+        for (Meeting meeting : meetings) {
+            saveMeeting(meeting, List.of(employeeName));
+        }
+    }
+
+    // Removes the meeting with the given meeting's ID from each of the given employees' calendars
+    void deleteMeeting(Meeting meeting, List<String> employeeNames);
+
+    // Replaces the meeting with updated's ID on each of the given employees' calendars by updated
+    void updateMeeting(Meeting previous, Meeting updated, List<String> employeeNames);
+
+    /**
+     * The meeting with the given ID and everyone it is booked for, for stores that load calendars
+     * lazily; stores whose calendars are all in memory return empty.
+     */
+    default Optional<StoredMeeting> findMeeting(String meetingId) {
+        return Optional.empty();
+    }
+
+    void deleteAll();
+
+    record StoredMeeting(Meeting meeting, List<String> employeeNames) {
+    }
+
+    // workingHours and zone are null for employees who follow the organization's
+    record StoredCalendar(String employeeName, List<Meeting> meetings, WorkingHours workingHours, ZoneId zone) {
+        public StoredCalendar(String employeeName, List<Meeting> meetings) {
+            this(employeeName, meetings, null, null);
+        }
+
+        public StoredCalendar(String employeeName, List<Meeting> meetings, WorkingHours workingHours) {
+            this(employeeName, meetings, workingHours, null);
+        }
+    }
+}
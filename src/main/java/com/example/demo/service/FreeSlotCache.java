@@ -0,0 +1,108 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded, least-recently-used cache of free-slot searches, keyed on the participants, window
+ * and duration. An entry remembers every participant's calendar version from when its search
+ * began and is only served while all of them are unchanged, so a booking invalidates exactly
+ * the entries of the people it touches. Entries also expire after a fixed time to live.
+ *
+ * An entry holds slot starts as far as any caller has consumed them; a caller that needs more
+ * computes the rest from after the last cached slot, extending the entry as it goes.
+ */
+class FreeSlotCache {
+    // Returned by Entry.startAt for a position past the last slot of a complete search
+    static final long END = Long.MIN_VALUE;
+    // Returned by Entry.startAt for a position nobody has computed yet
+    static final long UNKNOWN = Long.MAX_VALUE;
+
+    private final long ttlNanos;
+    private final Counter hits;
+    private final Counter misses;
+    private final Map<Key, Entry> entries;
+
+    FreeSlotCache(int maxEntries, long ttlNanos, Counter hits, Counter misses) {
+        this.ttlNanos = ttlNanos;
+        this.hits = hits;
+        this.misses = misses;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * The entry to read the search from: the cached one if it is still fresh and was computed
+     * at exactly these versions, otherwise a new empty one that replaces it.
+     */
+    synchronized Entry entryFor(Key key, long[] versions) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.expiresAt < 0 && Arrays.equals(entry.versions, versions)) {
+            hits.increment();
+            return entry;
+        }
+        misses.increment();
+        entry = new Entry(versions, now + ttlNanos);
+        entries.put(key, entry);
+        return entry;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    // Participants as sorted, case-folded names, so the same group hits in any order
+    record Key(List<String> participants, long windowStart, long windowEnd, int durationMinutes) {
+    }
+
+    static final class Entry {
+        private final long[] versions;
+        private final long expiresAt;
+        private long[] starts = new long[16];
+        private int size;
+        private boolean complete;
+
+        private Entry(long[] versions, long expiresAt) {
+            this.versions = versions;
+            this.expiresAt = expiresAt;
+        }
+
+        synchronized long startAt(int position) {
+            if (position < size) {
+                return starts[position];
+            }
+            return complete ? END : UNKNOWN;
+        }
+
+        // Appends the slot found at position, unless another search has already extended the entry
+        synchronized void extend(int position, long start) {
+            if (position != size || complete) {
+                return;
+            }
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+            }
+            starts[size++] = start;
+        }
+
+        // Marks the search as exhausted at position, if that is where the entry ends
+        synchronized void complete(int position) {
+            if (position == size) {
+                complete = true;
+            }
+        }
+    }
+}
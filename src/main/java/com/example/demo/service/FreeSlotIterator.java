@@ -0,0 +1,165 @@
+package com.example.demo.service;
+
+import com.example.demo.model.EpochMinutes;
+import com.example.demo.model.Meeting;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.example.demo.model.EpochMinutes.MINUTES_PER_DAY;
+
+/**
+ * Lazily walks the shared working time of a search window and yields every slot that avoids
+ * the busy intervals, one at a time, so a caller that stops early never pays for the rest.
+ *
+ * Working shifts and busy intervals are fetched in chunks that double in length as the walk
+ * goes on (starting at a day for early-terminating queries), so a query satisfied by the first
+ * free morning only looks at the first day's calendars. Shifts are absolute epoch-minute
+ * ranges, already resolved from each participant's zone and policy; slots sit on a grid
+ * anchored at the start of each free gap.
+ */
+class FreeSlotIterator implements Iterator<Meeting> {
+    // Pass as the first chunk length to fetch the whole window at once
+    static final long WHOLE_WINDOW = Long.MAX_VALUE;
+    private static final long MAX_CHUNK_DAYS = 1 << 20;
+    private static final long[] NONE = new long[0];
+
+    private final IntervalSource workingTime;
+    private final IntervalSource busyTime;
+    private final int durationMinutes;
+    private final int stepMinutes;
+    private final long windowStart;
+    private final long windowEnd;
+
+    private long chunkStart;
+    private long chunkDays;
+    // Shifts owned by the current chunk and the next one to walk
+    private long[] shifts = NONE;
+    private int shift;
+    private long shiftEnd = Long.MIN_VALUE;
+    private long[] busy = NONE;
+    // Current free gap ends at gapEnd; slot is the next candidate start within it
+    private long gapEnd = Long.MIN_VALUE;
+    private long slot;
+    // First busy interval still relevant to the current shift, and the next one to cut a gap
+    private int shiftIndex;
+    private int index;
+
+    FreeSlotIterator(IntervalSource workingTime, IntervalSource busyTime, long firstChunkDays,
+                     int durationMinutes, int stepMinutes, long windowStart, long windowEnd) {
+        this.workingTime = workingTime;
+        this.busyTime = busyTime;
+        this.chunkDays = Math.min(firstChunkDays, MAX_CHUNK_DAYS);
+        this.durationMinutes = durationMinutes;
+        this.stepMinutes = stepMinutes;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.chunkStart = windowStart;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (slot + durationMinutes > gapEnd) {
+            if (!nextGap()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Meeting next() {
+        long start = nextStart();
+        return new Meeting(EpochMinutes.toLocalDateTime(start),
+                EpochMinutes.toLocalDateTime(start + durationMinutes), "Free Slot");
+    }
+
+    // Start of the next slot as an epoch minute, without allocating a Meeting
+    long nextStart() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        long start = slot;
+        slot += stepMinutes;
+        return start;
+    }
+
+    private boolean nextGap() {
+        // The busy interval that closed the current gap opens the next one, unless it runs past the shift
+        if (gapEnd < shiftEnd) {
+            long gapStart = busy[index + 1];
+            index += 2;
+            if (gapStart < shiftEnd) {
+                openGap(gapStart);
+                return true;
+            }
+        }
+        while (shift >= shifts.length) {
+            if (chunkStart >= windowEnd) {
+                gapEnd = Long.MIN_VALUE;
+                shiftEnd = Long.MIN_VALUE;
+                return false;
+            }
+            loadChunk();
+        }
+        long gapStart = shifts[shift];
+        shiftEnd = Math.min(shifts[shift + 1], windowEnd);
+        shift += 2;
+        // Meetings that ended before this shift can never matter again
+        while (shiftIndex < busy.length && busy[shiftIndex + 1] <= gapStart) {
+            shiftIndex += 2;
+        }
+        index = shiftIndex;
+        openGap(gapStart);
+        return true;
+    }
+
+    /**
+     * Takes the shifts starting in the next chunk (the first chunk also takes a shift already
+     * under way at the window start) and the busy intervals they span, then doubles the chunk.
+     * Busy time is fetched from the first shift's start even if the window starts later: the
+     * meeting that opened a gap already under way anchors that gap's slot grid, so a search
+     * resuming mid-gap finds the same slots as one that started earlier.
+     */
+    private void loadChunk() {
+        long to = Math.min(windowEnd, chunkStart + chunkDays * MINUTES_PER_DAY);
+        long[] overlapping = chunkStart < to ? workingTime.between(chunkStart, to) : NONE;
+        int first = 0;
+        if (chunkStart > windowStart) {
+            // Shifts under way at the chunk start were owned by the previous chunk
+            while (first < overlapping.length && overlapping[first] < chunkStart) {
+                first += 2;
+            }
+        }
+        shifts = first == 0 ? overlapping : Arrays.copyOfRange(overlapping, first, overlapping.length);
+        shift = 0;
+        busy = NONE;
+        if (shifts.length > 0) {
+            long from = shifts[0];
+            long until = Math.min(windowEnd, shifts[shifts.length - 1]);
+            busy = from < until ? busyTime.between(from, until) : NONE;
+        }
+        shiftIndex = 0;
+        chunkStart = to;
+        chunkDays = Math.min(chunkDays * 2, MAX_CHUNK_DAYS);
+    }
+
+    private void openGap(long gapStart) {
+        gapEnd = shiftEnd;
+        if (index < busy.length && busy[index] < shiftEnd) {
+            gapEnd = Math.max(gapStart, busy[index]);
+        }
+        slot = gapStart;
+        if (slot < windowStart) {
+            long steps = (windowStart - slot + stepMinutes - 1) / stepMinutes;
+            slot += steps * stepMinutes;
+        }
+    }
+
+    @FunctionalInterface
+    interface IntervalSource {
+        // Sorted, non-overlapping intervals overlapping [start, end), packed as {start, end} pairs
+        long[] between(long start, long end);
+    }
+}
@@ -1,133 +1,1548 @@
 package com.example.demo.service;
 
+import com.example.demo.model.AvailabilityTemplate;
+import com.example.demo.model.ConflictMatrix;
 import com.example.demo.model.Employee;
+import com.example.demo.model.ImportRecord;
+import com.example.demo.model.ImportReport;
+import com.example.demo.model.EpochMinutes;
 import com.example.demo.model.Meeting;
+import com.example.demo.model.MeetingCalendar;
+import com.example.demo.model.Resource;
+import com.example.demo.model.RoomSlot;
+import com.example.demo.model.StringDictionary;
+import com.example.demo.model.WorkingHours;
+import com.example.demo.model.ZoneTable;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import static com.example.demo.model.BusyBitmap.QUANTUM_MINUTES;
+
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
 public class MeetingService {
-    private List<Employee> employees = new ArrayList<>();
+    // How far ahead a recurring request without an end is checked for conflicts
+    static final long RECURRENCE_CHECK_DAYS = 366;
+
+    // Employees keyed by their case-folded name, so lookups are O(1) instead of a list scan
+    private final ConcurrentMap<String, Employee> employees = new ConcurrentHashMap<>();
+    private final Collection<Employee> employeesView = Collections.unmodifiableCollection(employees.values());
+    // Meetings in memory by ID, with everyone they are booked for
+    private final ConcurrentMap<String, BookingRef> bookings = new ConcurrentHashMap<>();
+    // Meeting rooms by case-folded name; in memory only, like their calendars
+    private final ConcurrentMap<String, Resource> resources = new ConcurrentHashMap<>();
+
+    // Optional durable store; without one the service is purely in-memory
+    private CalendarStore calendarStore;
+    // The same store when it can answer ranges older than the warm horizon; null otherwise
+    private RangeQueryStore rangeQueryStore;
+    private int warmDays = 30;
+    // Titles and zones of off-heap calendars; null while calendars are kept on the heap
+    private volatile StringDictionary offHeapDictionary;
+    // Working hours of employees without a policy of their own
+    private AvailabilityTemplate organizationHours = AvailabilityTemplate.STANDARD;
+    // Zone working hours are read in for employees without a zone of their own
+    private ZoneId organizationZone = ZoneOffset.UTC;
+    private int maxEmployeeGauges = 1000;
+    // Evaluates participants in parallel for large participant lists; null keeps everything on the caller's thread
+    // Replaced under the setter's lock and read once per request
+    private volatile ForkJoinPool participantPool;
+    private int parallelMinParticipants = 32;
+    private int slotCacheEntries = 10_000;
+    private long slotCacheTtlSeconds = 60;
+    private CalendarMetrics metrics = new CalendarMetrics(new SimpleMeterRegistry(), employeesView, maxEmployeeGauges);
+    // Free-slot results by participants, window and duration; null when caching is disabled
+    private FreeSlotCache slotCache = newSlotCache();
+    // Identical concurrent busy-time merges and conflict checks share one computation
+    private final SingleFlight<BusyQuery, long[]> busyFlights = new SingleFlight<>(() -> metrics.busyTimeCoalesced.increment());
+    private final SingleFlight<ConflictQuery, List<String>> conflictFlights =
+            new SingleFlight<>(() -> metrics.conflictsCoalesced.increment());
+    // Concurrent first uses of the same employee name share one store load or creation
+    private final SingleFlight<String, Employee> employeeLoads = new SingleFlight<>(() -> { });
+
+    @Autowired(required = false)
+    public void setCalendarStore(CalendarStore calendarStore) {
+        this.calendarStore = calendarStore;
+        this.rangeQueryStore = calendarStore instanceof RangeQueryStore store ? store : null;
+    }
+
+    // How many days of history to keep in memory when loading a calendar from the store
+    @Value("${calendar.warm-days:30}")
+    public void setWarmDays(int warmDays) {
+        this.warmDays = warmDays;
+    }
+
+    /**
+     * Where calendars keep their one-off meetings: {@code heap} (the default) or {@code off-heap},
+     * in sorted off-heap columns for tenants with millions of meetings. Applies to calendars
+     * created after it is set.
+     */
+    @Value("${calendar.engine:heap}")
+    public void setCalendarEngine(String engine) {
+        switch (engine) {
+            case "heap" -> offHeapDictionary = null;
+            case "off-heap" -> offHeapDictionary = offHeapDictionary != null ? offHeapDictionary : new StringDictionary();
+            default -> throw new IllegalArgumentException("calendar.engine must be heap or off-heap, not " + engine);
+        }
+    }
+
+    // Organization-wide working hours in the WorkingHours text form, e.g. "MON-FRI 09:00-18:00; step 30"
+    @Value("${calendar.working-hours:MON-FRI 09:00-18:00}")
+    public void setOrganizationWorkingHours(String spec) {
+        this.organizationHours = AvailabilityTemplate.compile(WorkingHours.parse(spec));
+        clearSlotCache();
+    }
 
+    @Value("${calendar.time-zone:UTC}")
+    public void setOrganizationTimeZone(String zone) {
+        this.organizationZone = ZoneId.of(zone);
+        clearSlotCache();
+    }
+
+    // Free-slot searches to keep results of; 0 disables the cache
+    @Value("${calendar.free-slot-cache.max-entries:10000}")
+    public void setSlotCacheEntries(int slotCacheEntries) {
+        this.slotCacheEntries = slotCacheEntries;
+        slotCache = newSlotCache();
+    }
+
+    @Value("${calendar.free-slot-cache.ttl-seconds:60}")
+    public void setSlotCacheTtlSeconds(long slotCacheTtlSeconds) {
+        this.slotCacheTtlSeconds = slotCacheTtlSeconds;
+        slotCache = newSlotCache();
+    }
+
+    private FreeSlotCache newSlotCache() {
+        return slotCacheEntries <= 0 ? null : new FreeSlotCache(slotCacheEntries,
+                TimeUnit.SECONDS.toNanos(slotCacheTtlSeconds), metrics.slotCacheHits, metrics.slotCacheMisses);
+    }
+
+    private void clearSlotCache() {
+        FreeSlotCache cache = slotCache;
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    // Cap on per-employee calendar size gauges, which are tagged by employee name
+    @Value("${calendar.metrics.max-employee-gauges:1000}")
+    public void setMaxEmployeeGauges(int maxEmployeeGauges) {
+        this.maxEmployeeGauges = maxEmployeeGauges;
+        metrics.setMaxEmployeeGauges(maxEmployeeGauges);
+    }
+
+    /**
+     * Threads to spread per-participant work over once a request has at least
+     * {@code calendar.parallel.min-participants} participants; 0 (the default) disables it.
+     * A dedicated pool rather than the common one, since cold calendars block on the store.
+     */
+    @Value("${calendar.parallel.threads:0}")
+    public synchronized void setParallelThreads(int threads) {
+        if (threads < 0) {
+            throw new IllegalArgumentException("calendar.parallel.threads must not be negative");
+        }
+        ForkJoinPool previous = participantPool;
+        participantPool = threads == 0 ? null : new ForkJoinPool(threads);
+        if (previous != null) {
+            previous.shutdown();
+        }
+    }
+
+    @Value("${calendar.parallel.min-participants:32}")
+    public void setParallelMinParticipants(int parallelMinParticipants) {
+        this.parallelMinParticipants = parallelMinParticipants;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        setParallelThreads(0);
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.metrics = new CalendarMetrics(meterRegistry, employeesView, maxEmployeeGauges);
+        this.slotCache = newSlotCache();
+    }
+
+    // Takes over calendars that the store hands back in full at startup
+    @PostConstruct
+    public void loadStoredCalendars() {
+        if (calendarStore == null) {
+            return;
+        }
+        for (CalendarStore.StoredCalendar stored : calendarStore.loadAll()) {
+            Employee e = employees.computeIfAbsent(normalizeName(stored.employeeName()),
+                    key -> tracked(newEmployee(stored.employeeName())));
+            applyWorkingHours(e, stored.workingHours());
+            e.setZone(stored.zone());
+            e.addMeetings(stored.meetings());
+            index(e.getName(), stored.meetings());
+        }
+    }
+
+    /**
+     * The employee with this name, warmed from the store or created there on first use. The
+     * store is read outside the map, since a mapping function blocks every key of its bin; calls
+     * for the same new name share one load, so a name is created in the store only once.
+     */
     public Employee getOrCreateEmployee(String name) {
-        for (Employee e : employees) {
-            if (e.getName().equalsIgnoreCase(name)) {
-                return e;
+        String key = normalizeName(name);
+        Employee e = employees.get(key);
+        if (e != null) {
+            return e;
+        }
+        return employeeLoads.run(key, () -> {
+            Employee current = employees.get(key);
+            return current != null ? current : register(key, loadEmployee(name).orElseGet(() -> createEmployee(name)));
+        });
+    }
+
+    // Lookup-only variant: never registers a new employee
+    public Optional<Employee> findEmployee(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        String key = normalizeName(name);
+        Employee e = employees.get(key);
+        if (e != null || calendarStore == null) {
+            return Optional.ofNullable(e);
+        }
+        return loadEmployee(name).map(loaded -> register(key, loaded));
+    }
+
+    // Keeps whichever instance reached the map first; one loaded concurrently is dropped
+    private Employee register(String key, Employee e) {
+        Employee existing = employees.putIfAbsent(key, e);
+        return existing != null ? existing : tracked(e);
+    }
+
+    private Employee tracked(Employee e) {
+        metrics.employeeAdded(e);
+        return e;
+    }
+
+    // Warms a stored calendar into memory, leaving meetings older than the warm horizon in a store that can answer for them
+    private Optional<Employee> loadEmployee(String name) {
+        if (calendarStore == null) {
+            return Optional.empty();
+        }
+        LocalDateTime warmFrom = rangeQueryStore == null
+                ? LocalDateTime.MIN : LocalDate.now(ZoneOffset.UTC).minusDays(warmDays).atStartOfDay();
+        return calendarStore.load(name, warmFrom).map(stored -> {
+            Employee e = newEmployee(stored.employeeName());
+            if (rangeQueryStore != null) {
+                e.setWarmFrom(EpochMinutes.floor(warmFrom));
+            }
+            applyWorkingHours(e, stored.workingHours());
+            e.setZone(stored.zone());
+            e.addMeetings(stored.meetings());
+            index(e.getName(), stored.meetings());
+            return e;
+        });
+    }
+
+    // Adds a loaded calendar's meetings to the ID index, merging attendees of meetings already seen on other calendars
+    private void index(String employeeName, List<Meeting> meetings) {
+        for (Meeting meeting : meetings) {
+            if (meeting.getId() != null) {
+                bookings.merge(meeting.getId(), new BookingRef(meeting.startEpochMinute(), List.of(employeeName), null),
+                        BookingRef::withAttendeesOf);
+            }
+        }
+    }
+
+    private Employee createEmployee(String name) {
+        if (calendarStore != null) {
+            calendarStore.saveEmployee(name);
+        }
+        return newEmployee(name);
+    }
+
+    private Employee newEmployee(String name) {
+        StringDictionary dictionary = offHeapDictionary;
+        return dictionary == null ? new Employee(name) : new Employee(name, MeetingCalendar.offHeap(dictionary));
+    }
+
+    // The employee's own working hours, or the organization's if they have none
+    public WorkingHours getWorkingHours(String employeeName) {
+        AvailabilityTemplate own = getOrCreateEmployee(employeeName).getAvailability();
+        return (own != null ? own : organizationHours).toWorkingHours();
+    }
+
+    /**
+     * Gives the employee a working-hours policy of their own; {@code null} reverts them to the
+     * organization's. The policy is compiled (and validated) once, here.
+     */
+    public void setWorkingHours(String employeeName, WorkingHours hours) {
+        AvailabilityTemplate compiled = hours == null ? null : AvailabilityTemplate.compile(hours);
+        Employee e = getOrCreateEmployee(employeeName);
+        if (calendarStore != null) {
+            calendarStore.saveWorkingHours(e.getName(), compiled == null ? null : compiled.toWorkingHours());
+        }
+        e.setAvailability(compiled);
+    }
+
+    // The employee's own zone, or the organization's if they have none
+    public ZoneId getTimeZone(String employeeName) {
+        ZoneId own = getOrCreateEmployee(employeeName).getZone();
+        return own != null ? own : organizationZone;
+    }
+
+    // Reads the employee's working hours in the given zone; null reverts them to the organization's
+    public void setTimeZone(String employeeName, ZoneId zone) {
+        Employee e = getOrCreateEmployee(employeeName);
+        if (calendarStore != null) {
+            calendarStore.saveTimeZone(e.getName(), zone);
+        }
+        e.setZone(zone);
+    }
+
+    private static void applyWorkingHours(Employee e, WorkingHours hours) {
+        if (hours != null) {
+            e.setAvailability(AvailabilityTemplate.compile(hours));
+        }
+    }
+
+    // Folds both cases so the key matches String.equalsIgnoreCase semantics
+    public static String normalizeName(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Employee name must not be null");
+        }
+        return name.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
+    // The booking gets a new ID, set on the request unless it already has one
+    public String bookMeeting(String empName, Meeting request) {
+        Timer.Sample sample = Timer.start();
+        try {
+            Employee e = getOrCreateEmployee(empName);
+            MeetingCalendar.requireValidRange(request);
+            Meeting meeting = booked(request);
+            save(request, meeting, List.of(e.getName()));
+            e.addMeeting(meeting);
+            bookings.put(meeting.getId(), new BookingRef(meeting.startEpochMinute(), List.of(e.getName()), null));
+            return "Meeting booked for " + empName;
+        } finally {
+            sample.stop(metrics.bookTimer);
+        }
+    }
+
+    /**
+     * Books the meeting for every participant, or for none if any of them has a conflict.
+     * Participants' calendar locks are taken in name order so concurrent multi-person bookings
+     * cannot deadlock, and no other booking can slip in between the check and the commit. A
+     * booked meeting gets a new ID, set on {@code meeting} unless it already has one; a rejected
+     * meeting is left without one.
+     *
+     * @return the participants with a conflict; empty if the meeting was booked
+     */
+    public List<String> bookMeetingIfFree(Meeting meeting, List<String> participantNames) {
+        return bookMeetingIfFree(meeting, participantNames, null);
+    }
+
+    /**
+     * Like {@link #bookMeetingIfFree(Meeting, List)}, but also books the named room, which must be
+     * free too. Its calendar lock is taken after the participants'. A busy room is reported by
+     * its name among the conflicts.
+     *
+     * @param roomName the room to book, or null for none
+     * @throws IllegalArgumentException if no room has the name
+     */
+    public List<String> bookMeetingIfFree(Meeting meeting, List<String> participantNames, String roomName) {
+        Timer.Sample sample = Timer.start();
+        try {
+            List<String> conflicts = bookIfFree(meeting, participantNames, roomName);
+            metrics.bookIfFreeConflicts.increment(conflicts.size());
+            return conflicts;
+        } finally {
+            sample.stop(metrics.bookIfFreeTimer);
+        }
+    }
+
+    private List<String> bookIfFree(Meeting request, List<String> participantNames, String roomName) {
+        MeetingCalendar.requireValidRange(request);
+        Resource room = roomName == null ? null : requireResource(roomName);
+        // Checked before it gets an ID, so a rejected request is left without one
+        Meeting checked = normalized(request);
+        TreeMap<String, Employee> participants = byName(participantNames);
+        List<MeetingCalendar> locked = lock(participants.values(), room);
+        try {
+            List<String> conflicts = new ArrayList<>();
+            for (Employee e : participants.values()) {
+                if (overlaps(e, checked)) {
+                    conflicts.add(e.getName());
+                }
+            }
+            if (room != null && overlaps(room.getCalendar(), checked, null)) {
+                conflicts.add(room.getName());
+            }
+            if (conflicts.isEmpty()) {
+                List<String> names = participants.values().stream().map(Employee::getName).toList();
+                Meeting meeting = booked(request);
+                save(request, meeting, names);
+                for (Employee e : participants.values()) {
+                    e.addMeeting(meeting);
+                }
+                if (room != null) {
+                    room.getCalendar().add(meeting);
+                }
+                bookings.put(meeting.getId(), new BookingRef(meeting.startEpochMinute(), names, room == null ? null : room.getName()));
+            }
+            return conflicts;
+        } finally {
+            unlock(locked);
+        }
+    }
+
+    // Writes a new booking through to the store; if it refuses, the request gets no ID
+    private void save(Meeting request, Meeting meeting, List<String> names) {
+        if (calendarStore == null) {
+            return;
+        }
+        try {
+            calendarStore.saveMeeting(meeting, names);
+        } catch (RuntimeException e) {
+            unbooked(request, meeting);
+            throw e;
+        }
+    }
+
+    // Employees by case-folded name, the order their calendar locks are taken in
+    private TreeMap<String, Employee> byName(Collection<String> names) {
+        TreeMap<String, Employee> employees = new TreeMap<>();
+        for (String name : names) {
+            employees.put(normalizeName(name), getOrCreateEmployee(name));
+        }
+        return employees;
+    }
+
+    // Takes the calendars' write locks in the given order, then the room's if any; returns them for unlock
+    private static List<MeetingCalendar> lock(Collection<Employee> ordered, Resource room) {
+        List<MeetingCalendar> locked = new ArrayList<>(ordered.size() + 1);
+        try {
+            for (Employee e : ordered) {
+                e.getCalendar().getWriteLock().lock();
+                locked.add(e.getCalendar());
+            }
+            if (room != null) {
+                room.getCalendar().getWriteLock().lock();
+                locked.add(room.getCalendar());
+            }
+            return locked;
+        } catch (RuntimeException e) {
+            unlock(locked);
+            throw e;
+        }
+    }
+
+    private static void unlock(List<MeetingCalendar> locked) {
+        for (int i = locked.size() - 1; i >= 0; i--) {
+            locked.get(i).getWriteLock().unlock();
+        }
+    }
+
+    // The meeting booked under the given ID, if it is in memory or the store knows it
+    public Optional<Meeting> findMeeting(String meetingId) {
+        return lookup(meetingId).map(Booking::meeting);
+    }
+
+    /**
+     * Cancels the meeting for everyone it is booked for. Attendees' calendar locks are taken in
+     * name order, as for {@link #bookMeetingIfFree}, and each calendar drops the meeting in
+     * O(log n).
+     *
+     * @return false if no meeting has the ID
+     */
+    public boolean cancelMeeting(String meetingId) {
+        Timer.Sample sample = Timer.start();
+        try {
+            Optional<Booking> found = lookup(meetingId);
+            if (found.isEmpty()) {
+                return false;
+            }
+            TreeMap<String, Employee> attendees = byName(found.get().attendees());
+            Resource room = roomOf(found.get());
+            List<MeetingCalendar> locked = lock(attendees.values(), room);
+            try {
+                // Looked up again under the locks, in case a concurrent cancel got there first
+                Optional<Booking> booking = lookup(meetingId);
+                if (booking.isEmpty()) {
+                    return false;
+                }
+                if (calendarStore != null) {
+                    calendarStore.deleteMeeting(booking.get().meeting(), booking.get().attendees());
+                }
+                for (Employee e : attendees.values()) {
+                    e.removeMeeting(booking.get().meeting());
+                }
+                if (room != null) {
+                    room.getCalendar().remove(booking.get().meeting());
+                }
+                bookings.remove(meetingId);
+                return true;
+            } finally {
+                unlock(locked);
+            }
+        } finally {
+            sample.stop(metrics.cancelTimer);
+        }
+    }
+
+    /**
+     * Applies {@code changes} to the meeting for everyone it is booked for: its non-null fields
+     * replace the meeting's, with times read in the zone it gives (the meeting's own if none).
+     * A change of time is checked against every attendee's other meetings first, under their
+     * calendar locks, and nothing changes if any of them has a conflict.
+     *
+     * @return the attendees with a conflict; empty if the meeting was changed
+     * @throws NoSuchElementException if no meeting has the ID
+     */
+    public List<String> rescheduleMeeting(String meetingId, Meeting changes) {
+        Timer.Sample sample = Timer.start();
+        try {
+            Booking found = lookup(meetingId).orElseThrow(() -> new NoSuchElementException("Unknown meeting " + meetingId));
+            TreeMap<String, Employee> attendees = byName(found.attendees());
+            Resource room = roomOf(found);
+            List<MeetingCalendar> locked = lock(attendees.values(), room);
+            try {
+                Booking booking = lookup(meetingId).orElseThrow(() -> new NoSuchElementException("Unknown meeting " + meetingId));
+                Meeting updated = patched(booking.meeting(), changes);
+                List<String> conflicts = new ArrayList<>();
+                if (!sameSchedule(booking.meeting(), updated)) {
+                    for (Employee e : attendees.values()) {
+                        if (overlapsOthers(e, updated)) {
+                            conflicts.add(e.getName());
+                        }
+                    }
+                    if (room != null && overlaps(room.getCalendar(), updated, meetingId)) {
+                        conflicts.add(room.getName());
+                    }
+                }
+                if (conflicts.isEmpty()) {
+                    if (calendarStore != null) {
+                        calendarStore.updateMeeting(booking.meeting(), updated, booking.attendees());
+                    }
+                    for (Employee e : attendees.values()) {
+                        e.removeMeeting(booking.meeting());
+                        e.addMeeting(updated);
+                    }
+                    if (room != null) {
+                        room.getCalendar().remove(booking.meeting());
+                        room.getCalendar().add(updated);
+                    }
+                    bookings.put(meetingId, new BookingRef(updated.startEpochMinute(), booking.attendees(), booking.room()));
+                }
+                metrics.rescheduleConflicts.increment(conflicts.size());
+                return conflicts;
+            } finally {
+                unlock(locked);
+            }
+        } finally {
+            sample.stop(metrics.rescheduleTimer);
+        }
+    }
+
+    /**
+     * The index entry, completed with the attendees a lazily loading store knows of: their
+     * calendars may not be in memory yet, or the meeting may be older than the warm horizon.
+     */
+    private Optional<Booking> lookup(String meetingId) {
+        Booking booking = resolve(meetingId, bookings.get(meetingId));
+        Optional<CalendarStore.StoredMeeting> stored = calendarStore == null
+                ? Optional.empty() : calendarStore.findMeeting(meetingId);
+        if (stored.isEmpty()) {
+            return Optional.ofNullable(booking);
+        }
+        Booking fromStore = new Booking(stored.get().meeting(), stored.get().employeeNames(), null);
+        return Optional.of(booking == null ? fromStore : booking.withAttendeesOf(fromStore));
+    }
+
+    // Reads an index entry's meeting back from the calendar of an attendee (or the room) holding it
+    private Booking resolve(String meetingId, BookingRef ref) {
+        if (ref == null) {
+            return null;
+        }
+        List<MeetingCalendar> calendars = new ArrayList<>(ref.attendees().size() + 1);
+        for (String name : ref.attendees()) {
+            Employee e = employees.get(normalizeName(name));
+            if (e != null) {
+                calendars.add(e.getCalendar());
+            }
+        }
+        Resource room = ref.room() == null ? null : resources.get(normalizeName(ref.room()));
+        if (room != null) {
+            calendars.add(room.getCalendar());
+        }
+        for (MeetingCalendar calendar : calendars) {
+            Meeting meeting = calendar.find(meetingId, ref.start());
+            if (meeting != null) {
+                return new Booking(meeting, ref.attendees(), ref.room());
+            }
+        }
+        return null;
+    }
+
+    private static Meeting patched(Meeting current, Meeting changes) {
+        ZoneId zone = changes.getZone() != null ? changes.getZone() : current.getZone();
+        Meeting base = current.withZone(zone);
+        Meeting updated = new Meeting();
+        updated.setZone(zone);
+        updated.setStart(changes.getStart() != null ? changes.getStart() : base.getStart());
+        updated.setEnd(changes.getEnd() != null ? changes.getEnd() : base.getEnd());
+        updated.setTitle(changes.getTitle() != null ? changes.getTitle() : base.getTitle());
+        updated.setDescription(changes.getDescription() != null ? changes.getDescription() : base.getDescription());
+        updated.setRecurrence(changes.getRecurrence() != null ? changes.getRecurrence() : base.getRecurrence());
+        updated.setId(current.getId());
+        MeetingCalendar.requireValidRange(updated);
+        return normalized(updated);
+    }
+
+    // True if both take up the same time, so a change between them needs no conflict check
+    private static boolean sameSchedule(Meeting a, Meeting b) {
+        return a.startEpochMinute() == b.startEpochMinute() && a.endEpochMinute() == b.endEpochMinute()
+                && Objects.equals(Objects.toString(a.getRecurrence(), null), Objects.toString(b.getRecurrence(), null))
+                && (a.getRecurrence() == null || Objects.equals(a.getZone(), b.getZone()));
+    }
+
+    // Like overlaps(e, request), but the meeting being rescheduled (same ID) does not count
+    private boolean overlapsOthers(Employee e, Meeting request) {
+        long[] intervals = checkedIntervals(request);
+        for (int i = 0; i < intervals.length; i += 2) {
+            long start = intervals[i];
+            long end = intervals[i + 1];
+            if (!overlaps(e, start, end)) {
+                continue;
+            }
+            List<Meeting> found = isCold(e, start)
+                    ? rangeQueryStore.findMeetings(e.getName(), EpochMinutes.toLocalDateTime(start), EpochMinutes.toLocalDateTime(end))
+                    : e.getCalendar().findOverlapping(EpochMinutes.toLocalDateTime(start), EpochMinutes.toLocalDateTime(end));
+            for (Meeting meeting : found) {
+                if (!request.getId().equals(meeting.getId()) && meeting.occurrences(start, end).length > 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // The room a booking holds, if it still exists
+    private Resource roomOf(Booking booking) {
+        return booking.room() == null ? null : resources.get(normalizeName(booking.room()));
+    }
+
+    // True if any occurrence of request overlaps a meeting in the calendar other than the one with ignoredId
+    private static boolean overlaps(MeetingCalendar calendar, Meeting request, String ignoredId) {
+        long[] intervals = checkedIntervals(request);
+        for (int i = 0; i < intervals.length; i += 2) {
+            long start = intervals[i];
+            long end = intervals[i + 1];
+            if (!calendar.overlaps(start, end)) {
+                continue;
+            }
+            if (ignoredId == null) {
+                return true;
+            }
+            for (Meeting meeting : calendar.findOverlapping(EpochMinutes.toLocalDateTime(start), EpochMinutes.toLocalDateTime(end))) {
+                if (!ignoredId.equals(meeting.getId()) && meeting.occurrences(start, end).length > 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a meeting room, or updates the capacity and attributes of the one with the name.
+     * Rooms and their bookings are kept in memory only.
+     */
+    public Resource putResource(String name, int capacity, Collection<String> attributes) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Room name must not be blank");
+        }
+        Resource fresh = new Resource(name.trim(), capacity, attributes);
+        Resource existing = resources.putIfAbsent(normalizeName(fresh.getName()), fresh);
+        if (existing == null) {
+            return fresh;
+        }
+        existing.setCapacity(capacity);
+        existing.setAttributes(attributes);
+        return existing;
+    }
+
+    public Optional<Resource> findResource(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(resources.get(normalizeName(name)));
+    }
+
+    private Resource requireResource(String name) {
+        return findResource(name).orElseThrow(() -> new IllegalArgumentException("Unknown room " + name));
+    }
+
+    // All rooms, by name
+    public List<Resource> getAllResources() {
+        return resources.values().stream()
+                .sorted(Comparator.comparing(r -> normalizeName(r.getName())))
+                .toList();
+    }
+
+    // First maxResults slots of the coming week that have a matching room
+    public List<RoomSlot> findFreeSlotsWithRoom(List<Employee> participants, int durationMinutes, int minCapacity,
+                                                Collection<String> attributes, int maxResults) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        return findFreeSlotsWithRoom(participants, durationMinutes, minCapacity, attributes, now, now.plusDays(7), maxResults);
+    }
+
+    /**
+     * The first {@code maxResults} slots where every participant is free and some room seating at
+     * least {@code minCapacity} (and never fewer than the participants) with all the given
+     * attributes is free too. Matching rooms are picked out once and ordered smallest first; each
+     * slot of the participants' lazy search is then probed against the rooms' own calendars,
+     * which answer from their busy bitmap or interval tree without scanning, and the first free
+     * room wins. Slots no room is free for are skipped.
+     */
+    public List<RoomSlot> findFreeSlotsWithRoom(List<Employee> participants, int durationMinutes, int minCapacity,
+                                                Collection<String> attributes, LocalDateTime searchStart,
+                                                LocalDateTime searchEnd, int maxResults) {
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("maxResults must be positive");
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            int seats = Math.max(minCapacity, participants.size());
+            Set<String> required = Resource.normalizeAttributes(attributes);
+            List<Resource> rooms = resources.values().stream()
+                    .filter(r -> r.fits(seats, required))
+                    .sorted(Comparator.comparingInt(Resource::getCapacity).thenComparing(r -> normalizeName(r.getName())))
+                    .toList();
+            List<RoomSlot> found = new ArrayList<>(Math.min(maxResults, 16));
+            if (rooms.isEmpty()) {
+                return found;
+            }
+            Iterator<Meeting> slots = freeSlots(participants, durationMinutes, searchStart, searchEnd, 1);
+            while (found.size() < maxResults && slots.hasNext()) {
+                Meeting slot = slots.next();
+                long start = slot.startEpochMinute();
+                long end = slot.endEpochMinute();
+                for (Resource room : rooms) {
+                    if (!room.getCalendar().overlaps(start, end)) {
+                        found.add(new RoomSlot(slot, room.getName()));
+                        break;
+                    }
+                }
+            }
+            metrics.slotsReturned.record(found.size());
+            return found;
+        } finally {
+            sample.stop(metrics.freeSlotsWithRoomTimer);
+        }
+    }
+
+    /**
+     * Imports (employee, meeting) records in bulk. Records are validated and grouped by
+     * employee as they are read; then each employee's meetings are written to the store in one
+     * batch and merged into the calendar index in one pass. Like {@link #bookMeeting}, imports
+     * do not check for conflicts. Invalid records, and the records of an employee whose batch
+     * the store rejects, are reported by index; everything else is imported.
+     */
+    public ImportReport importMeetings(Iterator<ImportRecord> records) {
+        Timer.Sample sample = Timer.start();
+        try {
+            ImportReport report = new ImportReport();
+            Map<String, ImportBatch> batches = new LinkedHashMap<>();
+            while (records.hasNext()) {
+                ImportRecord record = records.next();
+                try {
+                    if (record.getError() != null) {
+                        throw new IllegalArgumentException(record.getError());
+                    }
+                    MeetingCalendar.requireValidRange(record.getMeeting());
+                    batches.computeIfAbsent(normalizeName(record.getEmpName()), key -> new ImportBatch(record.getEmpName()))
+                            .add(record.getIndex(), booked(record.getMeeting()));
+                } catch (IllegalArgumentException e) {
+                    report.recordFailed(record.getIndex(), record.getEmpName(), e.getMessage());
+                }
+            }
+            for (ImportBatch batch : batches.values()) {
+                try {
+                    Employee e = getOrCreateEmployee(batch.empName);
+                    if (calendarStore != null) {
+                        calendarStore.saveMeetings(e.getName(), batch.meetings);
+                    }
+                    e.addMeetings(batch.meetings);
+                    index(e.getName(), batch.meetings);
+                    report.recordImported(batch.meetings.size());
+                } catch (RuntimeException e) {
+                    for (int i = 0; i < batch.meetings.size(); i++) {
+                        report.recordFailed(batch.indexes[i], batch.empName, e.getMessage());
+                    }
+                }
+            }
+            report.getFailures().sort(Comparator.comparingLong(ImportReport.Failure::index));
+            metrics.recordsImported.increment(report.getImported());
+            metrics.recordsRejected.increment(report.getFailed());
+            return report;
+        } finally {
+            sample.stop(metrics.importTimer);
+        }
+    }
+
+    // One employee's share of an import, with the input index of each meeting
+    private static final class ImportBatch {
+        final String empName;
+        final List<Meeting> meetings = new ArrayList<>();
+        long[] indexes = new long[16];
+
+        ImportBatch(String empName) {
+            this.empName = empName;
+        }
+
+        void add(long index, Meeting meeting) {
+            if (meetings.size() == indexes.length) {
+                indexes = Arrays.copyOf(indexes, indexes.length * 2);
             }
+            indexes[meetings.size()] = index;
+            meetings.add(meeting);
         }
-        Employee newEmp = new Employee(name);
-        employees.add(newEmp);
-        return newEmp;
     }
 
-    public String bookMeeting(String empName, Meeting meeting) {
-        Employee e = getOrCreateEmployee(empName);
-        e.addMeeting(meeting);
-        return "Meeting booked for " + empName;
+    /**
+     * One-off meetings are stored as UTC wall-clock times, so they compare by instant; recurring
+     * ones keep their zone, whose wall-clock times their occurrences follow.
+     */
+    private static Meeting normalized(Meeting request) {
+        return request.getRecurrence() == null ? request.withZone(null) : request;
+    }
+
+    /**
+     * The request under a new ID, normalized. The ID is set on the request itself so the caller
+     * can refer to the booking, unless the request was already booked under one: then a copy is.
+     * Called only once nothing but the store write can stop the booking.
+     */
+    private static Meeting booked(Meeting request) {
+        String id = UUID.randomUUID().toString();
+        if (request.getId() != null) {
+            return normalized(request.withId(id));
+        }
+        request.setId(id);
+        return normalized(request);
+    }
+
+    // Takes back the ID booked() gave the request, when the store refused the booking
+    private static void unbooked(Meeting request, Meeting booked) {
+        if (booked.getId().equals(request.getId())) {
+            request.setId(null);
+        }
     }
 
     public List<Meeting> findFreeSlots(Employee e1, Employee e2, int durationMinutes) {
-        return findFreeSlots(e1, e2, durationMinutes, LocalDateTime.now(), LocalDateTime.now().plusDays(7));
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        return findFreeSlots(e1, e2, durationMinutes, now, now.plusDays(7));
     }
 
     public List<Meeting> findFreeSlots(Employee e1, Employee e2, int durationMinutes, 
                                        LocalDateTime searchStart, LocalDateTime searchEnd) {
+        return findCommonFreeSlots(List.of(e1, e2), durationMinutes, searchStart, searchEnd);
+    }
+
+    public List<Meeting> findCommonFreeSlots(List<Employee> participants, int durationMinutes) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        return findCommonFreeSlots(participants, durationMinutes, now, now.plusDays(7));
+    }
+
+    // Slots where every participant is free, computed in one pass over all their calendars
+    public List<Meeting> findCommonFreeSlots(List<Employee> participants, int durationMinutes,
+                                             LocalDateTime searchStart, LocalDateTime searchEnd) {
+        Timer.Sample sample = Timer.start();
+        try {
+            List<Meeting> slots = commonFreeSlots(participants, durationMinutes, searchStart, searchEnd);
+            metrics.slotsReturned.record(slots.size());
+            return slots;
+        } finally {
+            sample.stop(metrics.freeSlotsTimer);
+        }
+    }
+
+    private List<Meeting> commonFreeSlots(List<Employee> participants, int durationMinutes,
+                                          LocalDateTime searchStart, LocalDateTime searchEnd) {
         List<Meeting> freeSlots = new ArrayList<>();
-        
-        // Get all meetings for both employees in the search period
-        List<Meeting> allMeetings = new ArrayList<>();
-        allMeetings.addAll(e1.getMeetings().stream()
-                .filter(m -> m.getStart().isBefore(searchEnd) && m.getEnd().isAfter(searchStart))
-                .collect(Collectors.toList()));
-        allMeetings.addAll(e2.getMeetings().stream()
-                .filter(m -> m.getStart().isBefore(searchEnd) && m.getEnd().isAfter(searchStart))
-                .collect(Collectors.toList()));
-        
-        // Sort meetings by start time
-        allMeetings.sort((m1, m2) -> m1.getStart().compareTo(m2.getStart()));
-        
-        // Define working hours (9 AM to 6 PM)
-        LocalTime workStart = LocalTime.of(9, 0);
-        LocalTime workEnd = LocalTime.of(18, 0);
-        
-        // Check each day in the search period
-        LocalDateTime currentDay = searchStart.toLocalDate().atTime(workStart);
-        while (currentDay.isBefore(searchEnd)) {
-            LocalDateTime dayEnd = currentDay.toLocalDate().atTime(workEnd);
-            
-            // Skip weekends (optional - can be removed if weekend meetings are allowed)
-            if (currentDay.getDayOfWeek().getValue() >= 6) {
-                currentDay = currentDay.plusDays(1).toLocalDate().atTime(workStart);
-                continue;
+        freeSlots(participants, durationMinutes, searchStart, searchEnd, FreeSlotIterator.WHOLE_WINDOW)
+                .forEachRemaining(freeSlots::add);
+        return freeSlots;
+    }
+
+    // First maxResults slots of the coming week
+    public List<Meeting> findCommonFreeSlots(List<Employee> participants, int durationMinutes, int maxResults) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        return findCommonFreeSlots(participants, durationMinutes, now, now.plusDays(7), maxResults);
+    }
+
+    public Optional<Meeting> findEarliestFreeSlot(List<Employee> participants, int durationMinutes) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        return findEarliestFreeSlot(participants, durationMinutes, now, now.plusDays(7));
+    }
+
+    /**
+     * The first {@code maxResults} slots of the window. Calendars are scanned a day at a time,
+     * then in doubling chunks, and the scan stops as soon as enough slots are found.
+     */
+    public List<Meeting> findCommonFreeSlots(List<Employee> participants, int durationMinutes,
+                                             LocalDateTime searchStart, LocalDateTime searchEnd, int maxResults) {
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("maxResults must be positive");
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            Iterator<Meeting> slots = freeSlots(participants, durationMinutes, searchStart, searchEnd, 1);
+            List<Meeting> freeSlots = new ArrayList<>(Math.min(maxResults, 16));
+            while (freeSlots.size() < maxResults && slots.hasNext()) {
+                freeSlots.add(slots.next());
             }
-            
-            // Get meetings for this day
-            final LocalDateTime finalCurrentDay = currentDay;
-            List<Meeting> dayMeetings = allMeetings.stream()
-                    .filter(m -> m.getStart().toLocalDate().equals(finalCurrentDay.toLocalDate()))
-                    .collect(Collectors.toList());
-            
-            // Find free slots in this day
-            LocalDateTime slotStart = currentDay;
-            
-            for (Meeting meeting : dayMeetings) {
-                // Check if there's a free slot before this meeting
-                if (slotStart.plusMinutes(durationMinutes).isBefore(meeting.getStart()) ||
-                    slotStart.plusMinutes(durationMinutes).isEqual(meeting.getStart())) {
-                    
-                    LocalDateTime slotEnd = meeting.getStart();
-                    while (slotStart.plusMinutes(durationMinutes).isBefore(slotEnd) ||
-                           slotStart.plusMinutes(durationMinutes).isEqual(slotEnd)) {
-                        freeSlots.add(new Meeting(slotStart, slotStart.plusMinutes(durationMinutes), "Free Slot"));
-                        slotStart = slotStart.plusMinutes(30); // 30-minute increments
-                    }
+            metrics.slotsReturned.record(freeSlots.size());
+            return freeSlots;
+        } finally {
+            sample.stop(metrics.freeSlotsTimer);
+        }
+    }
+
+    // Earliest slot where everyone is free, looking no further into the window than needed
+    public Optional<Meeting> findEarliestFreeSlot(List<Employee> participants, int durationMinutes,
+                                                  LocalDateTime searchStart, LocalDateTime searchEnd) {
+        return findCommonFreeSlots(participants, durationMinutes, searchStart, searchEnd, 1).stream().findFirst();
+    }
+
+    // Free slots of the coming week that start strictly after {@code after} (from now if null)
+    public Stream<Meeting> streamFreeSlots(Employee e1, Employee e2, int durationMinutes, LocalDateTime after) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        LocalDateTime searchStart = now;
+        if (after != null) {
+            LocalDateTime next = after.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+            searchStart = next.isAfter(now) ? next : now;
+        }
+        return streamCommonFreeSlots(List.of(e1, e2), durationMinutes, searchStart, now.plusDays(7));
+    }
+
+    /**
+     * Same slots as {@link #findCommonFreeSlots(List, int, LocalDateTime, LocalDateTime)}, but
+     * generated one at a time as the stream is consumed, with calendars scanned in growing
+     * chunks. Arguments are validated before this returns.
+     */
+    public Stream<Meeting> streamCommonFreeSlots(List<Employee> participants, int durationMinutes,
+                                                 LocalDateTime searchStart, LocalDateTime searchEnd) {
+        Iterator<Meeting> slots = freeSlots(participants, durationMinutes, searchStart, searchEnd, 1);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(slots,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Slots of the search, read from the cache as far as it has them and computed from there on.
+     * The participants' versions are read before anything is computed, so whatever this search
+     * adds to the cache is never served after one of their calendars changes.
+     */
+    private Iterator<Meeting> freeSlots(List<Employee> participants, int durationMinutes,
+                                        LocalDateTime searchStart, LocalDateTime searchEnd, long firstChunkDays) {
+        FreeSlotCache cache = slotCache;
+        if (cache == null) {
+            return freeSlotIterator(participants, durationMinutes, searchStart, searchEnd, firstChunkDays);
+        }
+        if (durationMinutes <= 0) {
+            throw new IllegalArgumentException("durationMinutes must be positive");
+        }
+        TreeMap<String, Employee> byName = new TreeMap<>();
+        for (Employee e : participants) {
+            byName.put(normalizeName(e.getName()), e);
+        }
+        long[] versions = new long[byName.size()];
+        int i = 0;
+        for (Employee e : byName.values()) {
+            versions[i++] = e.getVersion();
+        }
+        FreeSlotCache.Key key = new FreeSlotCache.Key(List.copyOf(byName.keySet()),
+                EpochMinutes.ceil(searchStart), EpochMinutes.floor(searchEnd), durationMinutes);
+        FreeSlotCache.Entry entry = cache.entryFor(key, versions);
+        return new CachedSlots(entry, durationMinutes, from -> freeSlotIterator(participants, durationMinutes,
+                from, searchEnd, firstChunkDays), searchStart);
+    }
+
+    // Walks a cache entry, then continues the search after its last slot and extends the entry with what it finds
+    private static final class CachedSlots implements Iterator<Meeting> {
+        private final FreeSlotCache.Entry entry;
+        private final int durationMinutes;
+        private final Function<LocalDateTime, FreeSlotIterator> searchFrom;
+        private final LocalDateTime searchStart;
+        private FreeSlotIterator search;
+        private int position;
+        private long next = FreeSlotCache.UNKNOWN;
+        private long last = Long.MIN_VALUE;
+
+        CachedSlots(FreeSlotCache.Entry entry, int durationMinutes,
+                    Function<LocalDateTime, FreeSlotIterator> searchFrom, LocalDateTime searchStart) {
+            this.entry = entry;
+            this.durationMinutes = durationMinutes;
+            this.searchFrom = searchFrom;
+            this.searchStart = searchStart;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != FreeSlotCache.UNKNOWN) {
+                return next != FreeSlotCache.END;
+            }
+            if (search == null) {
+                next = entry.startAt(position);
+                if (next != FreeSlotCache.UNKNOWN) {
+                    return next != FreeSlotCache.END;
                 }
-                slotStart = meeting.getEnd();
+                // Slots sit on a grid anchored where each free gap opens, and the search looks back to the
+                // shift start for that anchor, so resuming after the last slot finds the same ones
+                search = searchFrom.apply(last == Long.MIN_VALUE ? searchStart : EpochMinutes.toLocalDateTime(last + 1));
+            }
+            if (search.hasNext()) {
+                next = search.nextStart();
+                entry.extend(position, next);
+            } else {
+                next = FreeSlotCache.END;
+                entry.complete(position);
+            }
+            return next != FreeSlotCache.END;
+        }
+
+        @Override
+        public Meeting next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = FreeSlotCache.UNKNOWN;
+            position++;
+            return new Meeting(EpochMinutes.toLocalDateTime(last),
+                    EpochMinutes.toLocalDateTime(last + durationMinutes), "Free Slot");
+        }
+    }
+
+    private FreeSlotIterator freeSlotIterator(List<Employee> participants, int durationMinutes,
+                                              LocalDateTime searchStart, LocalDateTime searchEnd, long firstChunkDays) {
+        if (durationMinutes <= 0) {
+            throw new IllegalArgumentException("durationMinutes must be positive");
+        }
+        // Slots must start at or after searchStart and end at or before searchEnd
+        long windowStart = EpochMinutes.ceil(searchStart);
+        long windowEnd = EpochMinutes.floor(searchEnd);
+        // Participants sharing a zone share local days, so their templates are intersected up front
+        Map<ZoneId, AvailabilityTemplate> byZone = new LinkedHashMap<>();
+        for (Employee e : participants) {
+            byZone.merge(e.getZone() != null ? e.getZone() : organizationZone,
+                    e.getAvailability() != null ? e.getAvailability() : organizationHours,
+                    AvailabilityTemplate::intersect);
+        }
+        if (byZone.isEmpty()) {
+            byZone.put(organizationZone, organizationHours);
+        }
+        List<ZoneTable> zones = new ArrayList<>(byZone.size());
+        List<AvailabilityTemplate> templates = new ArrayList<>(byZone.size());
+        int stepMinutes = 0;
+        for (Map.Entry<ZoneId, AvailabilityTemplate> entry : byZone.entrySet()) {
+            zones.add(ZoneTable.of(entry.getKey()));
+            templates.add(entry.getValue());
+            stepMinutes = Math.max(stepMinutes, entry.getValue().getSlotStepMinutes());
+        }
+        return new FreeSlotIterator((start, end) -> sharedWorkingTime(zones, templates, start, end),
+                (start, end) -> busyIntervals(participants, start, end), firstChunkDays,
+                durationMinutes, stepMinutes, windowStart, windowEnd);
+    }
+
+    // Absolute time when every zone group works, overlapping [start, end), packed as {start, end} pairs
+    private static long[] sharedWorkingTime(List<ZoneTable> zones, List<AvailabilityTemplate> templates,
+                                            long start, long end) {
+        long[] shared = templates.get(0).workingIntervals(zones.get(0), start, end);
+        for (int i = 1; i < zones.size() && shared.length > 0; i++) {
+            shared = intersectIntervals(shared, templates.get(i).workingIntervals(zones.get(i), start, end));
+        }
+        return shared;
+    }
+
+    // Two-pointer intersection of sorted, non-overlapping packed intervals
+    private static long[] intersectIntervals(long[] a, long[] b) {
+        long[] packed = new long[a.length + b.length];
+        int length = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            long start = Math.max(a[i], b[j]);
+            long end = Math.min(a[i + 1], b[j + 1]);
+            if (start < end) {
+                packed[length++] = start;
+                packed[length++] = end;
+            }
+            if (a[i + 1] < b[j + 1]) {
+                i += 2;
+            } else {
+                j += 2;
             }
-            
-            // Check for free slot after the last meeting of the day
-            if (slotStart.plusMinutes(durationMinutes).isBefore(dayEnd) ||
-                slotStart.plusMinutes(durationMinutes).isEqual(dayEnd)) {
-                
-                while (slotStart.plusMinutes(durationMinutes).isBefore(dayEnd) ||
-                       slotStart.plusMinutes(durationMinutes).isEqual(dayEnd)) {
-                    freeSlots.add(new Meeting(slotStart, slotStart.plusMinutes(durationMinutes), "Free Slot"));
-                    slotStart = slotStart.plusMinutes(30); // 30-minute increments
+        }
+        return Arrays.copyOf(packed, length);
+    }
+
+    /**
+     * Sorted, coalesced busy intervals of all participants overlapping the window, packed as
+     * {start, end} pairs. Concurrent identical searches (same participants, range and calendar
+     * versions) share the merge; the result is read-only.
+     */
+    private long[] busyIntervals(List<Employee> participants, long windowStart, long windowEnd) {
+        TreeMap<String, Employee> byName = new TreeMap<>();
+        for (Employee e : participants) {
+            byName.put(normalizeName(e.getName()), e);
+        }
+        BusyQuery query = new BusyQuery(List.copyOf(byName.keySet()), versions(byName.values()), windowStart, windowEnd);
+        return busyFlights.run(query, () -> mergedBusyIntervals(participants, windowStart, windowEnd));
+    }
+
+    // Calendar versions in the given order, read before anything is computed from the calendars
+    private static List<Long> versions(Collection<Employee> participants) {
+        List<Long> versions = new ArrayList<>(participants.size());
+        for (Employee e : participants) {
+            versions.add(e.getVersion());
+        }
+        return versions;
+    }
+
+    private long[] mergedBusyIntervals(List<Employee> participants, long windowStart, long windowEnd) {
+        boolean aligned = true;
+        for (Employee e : participants) {
+            aligned &= e.getCalendar().isQuantumAligned() && e.getCalendar().isBitmapComplete(windowStart, windowEnd)
+                    && !isCold(e, windowStart);
+        }
+        if (aligned) {
+            long[] busy = busyFromBitmaps(participants, windowStart, windowEnd);
+            // Recurring meetings are not in the bitmaps; their occurrences are merged in
+            List<long[]> recurring = new ArrayList<>();
+            for (Employee e : participants) {
+                if (e.getCalendar().hasSeries()) {
+                    recurring.add(e.getCalendar().findSeriesIntervals(windowStart, windowEnd));
                 }
             }
-            
-            currentDay = currentDay.plusDays(1).toLocalDate().atTime(workStart);
+            if (recurring.isEmpty()) {
+                return busy;
+            }
+            recurring.add(busy);
+            return mergeBusy(recurring);
+        }
+        ForkJoinPool pool = parallelPool(participants.size());
+        if (pool != null) {
+            // Each slice fetches and merges its own participants; the slices are merged last
+            return mergeBusy(inSlices(pool, participants, slice -> {
+                List<long[]> calendars = new ArrayList<>(slice.size());
+                for (Employee e : slice) {
+                    calendars.add(busyIntervals(e, windowStart, windowEnd));
+                }
+                return mergeBusy(calendars);
+            }));
+        }
+        List<long[]> calendars = new ArrayList<>(participants.size());
+        for (Employee e : participants) {
+            calendars.add(busyIntervals(e, windowStart, windowEnd));
+        }
+        return mergeBusy(calendars);
+    }
+
+    // The pool to spread this many participants over, or null to stay on the caller's thread
+    private ForkJoinPool parallelPool(int participants) {
+        ForkJoinPool pool = participantPool;
+        return pool != null && participants >= parallelMinParticipants ? pool : null;
+    }
+
+    // Applies task to one contiguous slice of the list per pool thread, in parallel; results in slice order
+    private static <T, R> List<R> inSlices(ForkJoinPool pool, List<T> items, Function<List<T>, R> task) {
+        int slices = Math.min(items.size(), pool.getParallelism());
+        IntFunction<R> slice = i -> task.apply(items.subList(i * items.size() / slices, (i + 1) * items.size() / slices));
+        try {
+            return pool.submit(() -> IntStream.range(0, slices).parallel().mapToObj(slice).toList()).join();
+        } catch (RejectedExecutionException e) {
+            // The pool was shut down or replaced after this request picked it; the caller does the work
+            return IntStream.range(0, slices).mapToObj(slice).toList();
+        }
+    }
+
+    // True if [start, ...) reaches back past what is warm in memory, so the store must answer
+    private boolean isCold(Employee e, long start) {
+        return rangeQueryStore != null && start < e.getWarmFrom();
+    }
+
+    private boolean overlaps(Employee e, Meeting request) {
+        long[] intervals = checkedIntervals(request);
+        for (int i = 0; i < intervals.length; i += 2) {
+            if (overlaps(e, intervals[i], intervals[i + 1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Intervals a request is checked over: every occurrence of a recurring one, up to a year out for one without an end
+    private static long[] checkedIntervals(Meeting request) {
+        if (request.getRecurrence() == null) {
+            return new long[] {request.startEpochMinute(), request.endEpochMinute()};
+        }
+        long first = request.startEpochMinute();
+        return request.occurrences(first, Math.min(request.lastEndEpochMinute(),
+                first + RECURRENCE_CHECK_DAYS * EpochMinutes.MINUTES_PER_DAY));
+    }
+
+    private boolean overlaps(Employee e, long start, long end) {
+        if (isCold(e, start)) {
+            return rangeQueryStore.hasOverlap(e.getName(),
+                    EpochMinutes.toLocalDateTime(start), EpochMinutes.toLocalDateTime(end));
+        }
+        return e.getCalendar().overlaps(start, end);
+    }
+
+    private long[] busyIntervals(Employee e, long start, long end) {
+        if (!isCold(e, start)) {
+            return e.getCalendar().findOverlappingIntervals(start, end);
+        }
+        List<Meeting> meetings = rangeQueryStore.findMeetings(e.getName(),
+                EpochMinutes.toLocalDateTime(start), EpochMinutes.toLocalDateTime(end));
+        List<long[]> occurrences = new ArrayList<>();
+        long[] intervals = new long[meetings.size() * 2];
+        int length = 0;
+        for (Meeting meeting : meetings) {
+            if (meeting.getRecurrence() != null) {
+                occurrences.add(meeting.occurrences(start, end));
+            } else {
+                intervals[length++] = meeting.startEpochMinute();
+                intervals[length++] = meeting.endEpochMinute();
+            }
+        }
+        if (occurrences.isEmpty()) {
+            return intervals;
+        }
+        occurrences.add(Arrays.copyOf(intervals, length));
+        return mergeBusy(occurrences);
+    }
+
+    // Word-wise OR of the participants' busy bitmaps, read back as runs of busy quanta
+    private long[] busyFromBitmaps(List<Employee> participants, long windowStart, long windowEnd) {
+        long firstQuantum = Math.floorDiv(Math.floorDiv(windowStart, QUANTUM_MINUTES), Long.SIZE) * Long.SIZE;
+        long endQuantum = -Math.floorDiv(-windowEnd, QUANTUM_MINUTES);
+        int wordCount = Math.toIntExact((endQuantum - firstQuantum + Long.SIZE - 1) / Long.SIZE);
+        long[] words = new long[wordCount];
+        ForkJoinPool pool = parallelPool(participants.size());
+        if (pool != null) {
+            // Each slice ORs into words of its own, which are then ORed together
+            for (long[] slice : inSlices(pool, participants, slice -> {
+                long[] sliceWords = new long[wordCount];
+                for (Employee e : slice) {
+                    e.getCalendar().getBusyBitmap().orInto(sliceWords, firstQuantum);
+                }
+                return sliceWords;
+            })) {
+                for (int i = 0; i < wordCount; i++) {
+                    words[i] |= slice[i];
+                }
+            }
+        } else {
+            for (Employee e : participants) {
+                e.getCalendar().getBusyBitmap().orInto(words, firstQuantum);
+            }
+        }
+        BitSet bits = BitSet.valueOf(words);
+        long[] busy = new long[16];
+        int length = 0;
+        for (int from = bits.nextSetBit(0); from >= 0; ) {
+            int to = bits.nextClearBit(from);
+            if (length == busy.length) {
+                busy = Arrays.copyOf(busy, length * 2);
+            }
+            busy[length++] = (firstQuantum + from) * QUANTUM_MINUTES;
+            busy[length++] = (firstQuantum + to) * QUANTUM_MINUTES;
+            from = bits.nextSetBit(to);
+        }
+        return Arrays.copyOf(busy, length);
+    }
+
+    // k-way heap merge of start-ordered calendars into sorted, non-overlapping busy intervals
+    private static long[] mergeBusy(List<long[]> calendars) {
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(Math.max(1, calendars.size()));
+        int total = 0;
+        for (long[] calendar : calendars) {
+            total += calendar.length;
+            if (calendar.length > 0) {
+                heap.add(new Cursor(calendar));
+            }
+        }
+        long[] busy = new long[total];
+        int length = 0;
+        while (!heap.isEmpty()) {
+            Cursor cursor = heap.poll();
+            long start = cursor.start();
+            long end = cursor.end();
+            if (length > 0 && start <= busy[length - 1]) {
+                busy[length - 1] = Math.max(busy[length - 1], end);
+            } else {
+                busy[length++] = start;
+                busy[length++] = end;
+            }
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return Arrays.copyOf(busy, length);
+    }
+
+    // Position within one participant's packed {start, end} intervals, ordered by the current start
+    private static final class Cursor implements Comparable<Cursor> {
+        private final long[] intervals;
+        private int index;
+
+        Cursor(long[] intervals) {
+            this.intervals = intervals;
+        }
+
+        long start() {
+            return intervals[index];
+        }
+
+        long end() {
+            return intervals[index + 1];
+        }
+
+        boolean advance() {
+            index += 2;
+            return index < intervals.length;
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            return Long.compare(start(), other.start());
         }
-        
-        return freeSlots;
     }
 
     public List<String> findConflicts(Meeting request, List<String> participantNames) {
+        Timer.Sample sample = Timer.start();
+        try {
+            MeetingCalendar.requireValidRange(request);
+            List<Employee> participants = participantNames.stream().map(this::getOrCreateEmployee).toList();
+            ConflictQuery query = new ConflictQuery(List.copyOf(participantNames), versions(participants),
+                    request.startEpochMinute(), request.endEpochMinute(),
+                    Objects.toString(request.getRecurrence(), null), request.getZone());
+            List<String> conflicts = new ArrayList<>(conflictFlights.run(query, () -> conflictsOf(request, participantNames)));
+            metrics.conflictsDetected.increment(conflicts.size());
+            return conflicts;
+        } finally {
+            sample.stop(metrics.conflictsTimer);
+        }
+    }
+
+    private List<String> conflictsOf(Meeting request, List<String> participantNames) {
+        ForkJoinPool pool = parallelPool(participantNames.size());
+        if (pool == null) {
+            return conflictsAmong(request, participantNames);
+        }
+        List<String> conflicts = new ArrayList<>();
+        for (List<String> busy : inSlices(pool, participantNames, slice -> conflictsAmong(request, slice))) {
+            conflicts.addAll(busy);
+        }
+        return conflicts;
+    }
+
+    private List<String> conflictsAmong(Meeting request, List<String> participantNames) {
         List<String> conflicts = new ArrayList<>();
         for (String name : participantNames) {
-            Employee e = getOrCreateEmployee(name);
-            for (Meeting m : e.getMeetings()) {
-                if (request.overlapsWith(m)) {
-                    conflicts.add(name);
-                    break;
-                }
+            if (overlaps(getOrCreateEmployee(name), request)) {
+                conflicts.add(name);
             }
         }
         return conflicts;
     }
 
+    /**
+     * Checks every candidate meeting against every participant in one pass. Each participant's
+     * busy time over the span of all candidates is fetched once, and the candidates, sorted by
+     * start, are swept against it with a single forward cursor. Recurring candidates are checked
+     * occurrence by occurrence, as {@link #findConflicts} does.
+     */
+    public ConflictMatrix findConflictMatrix(List<Meeting> candidates, List<String> participantNames) {
+        Timer.Sample sample = Timer.start();
+        try {
+            ConflictMatrix matrix = new ConflictMatrix(participantNames, candidates.size());
+            long[] probes = conflictProbes(candidates);
+            if (probes.length == 0) {
+                return matrix;
+            }
+            long windowStart = probes[0];
+            long windowEnd = latestEnd(probes);
+            List<Integer> columns = IntStream.range(0, participantNames.size()).boxed().toList();
+            long detected = 0;
+            ForkJoinPool pool = parallelPool(columns.size());
+            if (pool != null) {
+                // Participants are separate columns, so slices never mark the same cell
+                for (long count : inSlices(pool, columns, slice -> sweep(matrix, probes, slice, windowStart, windowEnd))) {
+                    detected += count;
+                }
+            } else {
+                detected = sweep(matrix, probes, columns, windowStart, windowEnd);
+            }
+            metrics.conflictsDetected.increment(detected);
+            return matrix;
+        } finally {
+            sample.stop(metrics.conflictMatrixTimer);
+        }
+    }
+
+    // Marks the given participants' conflicts with the sorted probes; returns how many were marked
+    private long sweep(ConflictMatrix matrix, long[] probes, List<Integer> columns, long windowStart, long windowEnd) {
+        long detected = 0;
+        for (int p : columns) {
+            Employee e = getOrCreateEmployee(matrix.getParticipants().get(p));
+            // Coalesced, so ends ascend with starts and the cursor never moves back
+            long[] busy = mergeBusy(List.of(busyIntervals(e, windowStart, windowEnd)));
+            int cursor = 0;
+            for (int i = 0; i < probes.length; i += 3) {
+                while (cursor < busy.length && busy[cursor + 1] <= probes[i]) {
+                    cursor += 2;
+                }
+                int candidate = (int) probes[i + 2];
+                if (cursor < busy.length && busy[cursor] < probes[i + 1] && !matrix.isConflict(candidate, p)) {
+                    matrix.markConflict(candidate, p);
+                    detected++;
+                }
+            }
+        }
+        return detected;
+    }
+
+    private static long latestEnd(long[] probes) {
+        long end = probes[1];
+        for (int i = 4; i < probes.length; i += 3) {
+            end = Math.max(end, probes[i]);
+        }
+        return end;
+    }
+
+    // Every candidate interval (each occurrence of a recurring one) as {start, end, candidate} triples sorted by start
+    private static long[] conflictProbes(List<Meeting> candidates) {
+        long[] probes = new long[candidates.size() * 3];
+        int length = 0;
+        for (int c = 0; c < candidates.size(); c++) {
+            Meeting candidate = candidates.get(c);
+            MeetingCalendar.requireValidRange(candidate);
+            long[] intervals = checkedIntervals(candidate);
+            for (int i = 0; i < intervals.length; i += 2) {
+                if (length == probes.length) {
+                    probes = Arrays.copyOf(probes, length * 2);
+                }
+                probes[length++] = intervals[i];
+                probes[length++] = intervals[i + 1];
+                probes[length++] = c;
+            }
+        }
+        Integer[] order = new Integer[length / 3];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i * 3;
+        }
+        long[] unsorted = probes;
+        Arrays.sort(order, Comparator.comparingLong(i -> unsorted[i]));
+        long[] sorted = new long[length];
+        for (int i = 0; i < order.length; i++) {
+            System.arraycopy(unsorted, order[i], sorted, i * 3, 3);
+        }
+        return sorted;
+    }
+
+    // A booked meeting with the names of everyone it is booked for, and the room it holds if any
+    private record Booking(Meeting meeting, List<String> attendees, String room) {
+        Booking withAttendeesOf(Booking other) {
+            List<String> names = unionOfNames(attendees, other.attendees);
+            return names == attendees ? this : new Booking(meeting, names, room);
+        }
+    }
+
+    /**
+     * An index entry: where to find a booked meeting rather than a copy of it, so the index adds
+     * no Meeting objects to the heap. The meeting is read back from its attendees' calendars by
+     * ID at its start minute.
+     */
+    private record BookingRef(long start, List<String> attendees, String room) {
+        BookingRef withAttendeesOf(BookingRef other) {
+            List<String> names = unionOfNames(attendees, other.attendees);
+            return names == attendees ? this : new BookingRef(start, names, room);
+        }
+    }
+
+    // Both lists' names without case-insensitive duplicates; the first list itself if the second adds none
+    private static List<String> unionOfNames(List<String> first, List<String> second) {
+        TreeMap<String, String> names = new TreeMap<>();
+        for (String name : first) {
+            names.put(normalizeName(name), name);
+        }
+        for (String name : second) {
+            names.putIfAbsent(normalizeName(name), name);
+        }
+        return names.size() == first.size() ? first : List.copyOf(names.values());
+    }
+
+    // Busy time of a participant group (sorted, case-folded names) over [start, end) at the given versions
+    private record BusyQuery(List<String> participants, List<Long> versions, long start, long end) {
+    }
+
+    // A conflict check as asked, participants in the caller's order, at their calendar versions
+    private record ConflictQuery(List<String> participants, List<Long> versions, long start, long end,
+                                 String recurrence, ZoneId zone) {
+    }
+
     // Helper method to get all employees (useful for testing)
     public List<Employee> getAllEmployees() {
-        return new ArrayList<>(employees);
+        return new ArrayList<>(employees.values());
     }
 
     // Helper method to clear all data (useful for testing)
     public void clearAllData() {
         employees.clear();
+        bookings.clear();
+        resources.clear();
+        clearSlotCache();
+        metrics.employeesCleared();
+        if (calendarStore != null) {
+            calendarStore.deleteAll();
+        }
     }
 }
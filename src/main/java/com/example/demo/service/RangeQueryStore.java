@@ -0,0 +1,19 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Meeting;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A {@link CalendarStore} that can answer range queries itself. Only calendars of such a store
+ * are warmed lazily with their recent meetings; conflict checks and free-slot searches reaching
+ * back past the warm horizon are pushed down to it.
+ */
+public interface RangeQueryStore extends CalendarStore {
+
+    boolean hasOverlap(String employeeName, LocalDateTime start, LocalDateTime end);
+
+    // Meetings overlapping [start, end), in start-time order
+    List<Meeting> findMeetings(String employeeName, LocalDateTime start, LocalDateTime end);
+}
@@ -0,0 +1,54 @@
+package com.example.demo.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent callers asking the same question share one computation: the first caller
+ * for a key computes the answer, and callers arriving while it is in flight wait for it
+ * instead of computing it again. Nothing is kept once the computation finishes.
+ *
+ * Keys must capture everything the answer depends on, including the calendar versions read
+ * before computing, so a shared answer is never older than one the caller would have computed.
+ * Answers are handed to every waiting caller as is and must not be modified.
+ */
+class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    // Called for every caller that joins a computation instead of starting one
+    private final Runnable onJoin;
+
+    SingleFlight(Runnable onJoin) {
+        this.onJoin = onJoin;
+    }
+
+    V run(K key, Supplier<V> computation) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            onJoin.run();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            V value = computation.get();
+            own.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    // Computations currently running
+    int inFlight() {
+        return inFlight.size();
+    }
+}
@@ -1,11 +1,29 @@
 package com.example.demo.controller;
 
+import com.example.demo.model.ConflictMatrix;
+import com.example.demo.model.Employee;
+import com.example.demo.model.ImportReport;
 import com.example.demo.model.Meeting;
+import com.example.demo.model.Resource;
+import com.example.demo.model.RoomSlot;
+import com.example.demo.model.WorkingHours;
 import com.example.demo.service.MeetingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/meetings")
@@ -14,9 +32,114 @@ public class MeetingController {
     @Autowired
     private MeetingService meetingService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping("/book")
-    public String bookMeeting(@RequestParam String empName, @RequestBody Meeting meeting) {
-        return meetingService.bookMeeting(empName, meeting);
+    public ResponseEntity<String> bookMeeting(@RequestParam String empName, @RequestBody Meeting meeting) {
+        String result = meetingService.bookMeeting(empName, meeting);
+        return located(ResponseEntity.ok(), meeting).body(result);
+    }
+
+    // With a room, the room must be free too; a busy room is listed by name among the conflicts
+    @PostMapping("/book-if-free")
+    public ResponseEntity<List<String>> bookMeetingIfFree(@RequestBody Meeting meeting,
+            @RequestParam List<String> participants,
+            @RequestParam(required = false) String room) {
+        List<String> conflicts = room == null
+                ? meetingService.bookMeetingIfFree(meeting, participants)
+                : meetingService.bookMeetingIfFree(meeting, participants, room);
+        if (!conflicts.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(conflicts);
+        }
+        return located(ResponseEntity.ok(), meeting).body(conflicts);
+    }
+
+    // Cancels the meeting for every attendee
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelMeeting(@PathVariable String id) {
+        return meetingService.cancelMeeting(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Moves or edits the meeting for every attendee; fields left out keep their values. Returns
+     * the updated meeting, or 409 with the attendees the new time conflicts for.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> rescheduleMeeting(@PathVariable String id, @RequestBody Meeting changes) {
+        List<String> conflicts = meetingService.rescheduleMeeting(id, changes);
+        if (!conflicts.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(conflicts);
+        }
+        return ResponseEntity.of(meetingService.findMeeting(id));
+    }
+
+    // Points at the booked meeting, whose ID the service set on the request
+    private static ResponseEntity.BodyBuilder located(ResponseEntity.BodyBuilder response, Meeting meeting) {
+        return meeting.getId() == null ? response : response.location(URI.create("/meetings/" + meeting.getId()));
+    }
+
+    /**
+     * Bulk import of {"empName": ..., "meeting": {...}} records, streamed as a JSON array or as
+     * NDJSON. Returns how many were imported and, per rejected record, its index and the reason.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ImportReport importMeetings(InputStream body) throws IOException {
+        return meetingService.importMeetings(ImportRecordReader.jsonArray(objectMapper, body));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ImportReport importMeetingsNdjson(InputStream body) {
+        return meetingService.importMeetings(ImportRecordReader.ndjson(objectMapper, body));
+    }
+
+    @GetMapping("/working-hours")
+    public WorkingHours getWorkingHours(@RequestParam String empName) {
+        return meetingService.getWorkingHours(empName);
+    }
+
+    @PutMapping("/working-hours")
+    public WorkingHours setWorkingHours(@RequestParam String empName, @RequestBody WorkingHours workingHours) {
+        meetingService.setWorkingHours(empName, workingHours);
+        return meetingService.getWorkingHours(empName);
+    }
+
+    // Reverts the employee to the organization's working hours
+    @DeleteMapping("/working-hours")
+    public WorkingHours resetWorkingHours(@RequestParam String empName) {
+        meetingService.setWorkingHours(empName, null);
+        return meetingService.getWorkingHours(empName);
+    }
+
+    @GetMapping("/time-zone")
+    public ZoneId getTimeZone(@RequestParam String empName) {
+        return meetingService.getTimeZone(empName);
+    }
+
+    // The zone the employee's working hours are read in, as a region ID such as Europe/Berlin
+    @PutMapping("/time-zone")
+    public ZoneId setTimeZone(@RequestParam String empName, @RequestParam ZoneId zone) {
+        meetingService.setTimeZone(empName, zone);
+        return meetingService.getTimeZone(empName);
+    }
+
+    // Reverts the employee to the organization's zone
+    @DeleteMapping("/time-zone")
+    public ZoneId resetTimeZone(@RequestParam String empName) {
+        meetingService.setTimeZone(empName, null);
+        return meetingService.getTimeZone(empName);
+    }
+
+    // Adds a meeting room, or updates an existing one's capacity and attributes
+    @PutMapping("/rooms")
+    public Resource putRoom(@RequestParam String name, @RequestParam int capacity,
+            @RequestParam(required = false) List<String> attributes) {
+        return meetingService.putResource(name, capacity, attributes);
+    }
+
+    @GetMapping("/rooms")
+    public List<Resource> getRooms() {
+        return meetingService.getAllResources();
     }
 
     @PostMapping("/conflicts")
@@ -25,14 +148,79 @@ public class MeetingController {
         return meetingService.findConflicts(request, participants);
     }
 
+    // Many candidate times against the same participants; conflicts[candidate][participant]
+    @PostMapping("/conflicts/batch")
+    public ConflictMatrix checkConflictMatrix(@RequestBody List<Meeting> candidates,
+            @RequestParam List<String> participants) {
+        return meetingService.findConflictMatrix(candidates, participants);
+    }
+
+    /**
+     * Slots are generated lazily and written out as they are serialized; page with limit and after.
+     * With a zone, slots and the after cursor are wall-clock times in that zone instead of UTC.
+     */
     @GetMapping("/free-slots")
-    public List<Meeting> getFreeSlots(
+    public Stream<Meeting> getFreeSlots(
             @RequestParam String emp1,
             @RequestParam String emp2,
-            @RequestParam int durationMinutes) {
-        return meetingService.findFreeSlots(
+            @RequestParam int durationMinutes,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime after,
+            @RequestParam(required = false) ZoneId zone) {
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        if (after != null && zone != null) {
+            after = after.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+        }
+        Stream<Meeting> slots = meetingService.streamFreeSlots(
                 meetingService.getOrCreateEmployee(emp1),
                 meetingService.getOrCreateEmployee(emp2),
-                durationMinutes);
+                durationMinutes, after);
+        slots = zone == null ? slots : slots.map(slot -> slot.withZone(zone));
+        return limit == null ? slots : slots.limit(limit);
+    }
+
+    // maxResults stops the search as soon as that many slots are found
+    @GetMapping("/free-slots/common")
+    public List<Meeting> getCommonFreeSlots(
+            @RequestParam List<String> participants,
+            @RequestParam int durationMinutes,
+            @RequestParam(required = false) Integer maxResults,
+            @RequestParam(required = false) ZoneId zone) {
+        List<Employee> employees = participants.stream().map(meetingService::getOrCreateEmployee).toList();
+        List<Meeting> slots = maxResults != null
+                ? meetingService.findCommonFreeSlots(employees, durationMinutes, maxResults.intValue())
+                : meetingService.findCommonFreeSlots(employees, durationMinutes);
+        return zone == null ? slots : slots.stream().map(slot -> slot.withZone(zone)).toList();
+    }
+
+    @GetMapping("/free-slots/earliest")
+    public ResponseEntity<Meeting> getEarliestFreeSlot(
+            @RequestParam List<String> participants,
+            @RequestParam int durationMinutes,
+            @RequestParam(required = false) ZoneId zone) {
+        return ResponseEntity.of(meetingService.findEarliestFreeSlot(
+                participants.stream().map(meetingService::getOrCreateEmployee).toList(),
+                durationMinutes).map(slot -> slot.withZone(zone)));
+    }
+
+    /**
+     * Slots of the coming week where every participant and a matching room are free. Rooms must
+     * seat at least capacity (by default, the participants) and have every listed attribute.
+     */
+    @GetMapping("/free-slots/with-room")
+    public List<RoomSlot> getFreeSlotsWithRoom(
+            @RequestParam List<String> participants,
+            @RequestParam int durationMinutes,
+            @RequestParam(required = false) Integer capacity,
+            @RequestParam(required = false) List<String> attributes,
+            @RequestParam(defaultValue = "10") int maxResults,
+            @RequestParam(required = false) ZoneId zone) {
+        List<Employee> employees = participants.stream().map(meetingService::getOrCreateEmployee).toList();
+        List<RoomSlot> slots = meetingService.findFreeSlotsWithRoom(employees, durationMinutes,
+                capacity == null ? employees.size() : capacity, attributes, maxResults);
+        return zone == null ? slots
+                : slots.stream().map(slot -> new RoomSlot(slot.getSlot().withZone(zone), slot.getRoom())).toList();
     }
 }
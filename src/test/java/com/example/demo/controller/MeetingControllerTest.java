@@ -1,6 +1,12 @@
 package com.example.demo.controller;
 
+import com.example.demo.model.ConflictMatrix;
+import com.example.demo.model.ImportRecord;
+import com.example.demo.model.ImportReport;
 import com.example.demo.model.Meeting;
+import com.example.demo.model.Resource;
+import com.example.demo.model.RoomSlot;
+import com.example.demo.model.WorkingHours;
 import com.example.demo.service.MeetingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,12 +16,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -64,6 +74,25 @@ class MeetingControllerTest {
         verify(meetingService, times(1)).bookMeeting(eq(empName), any(Meeting.class));
     }
 
+    @Test
+    @DisplayName("Should accept a recurrence rule in the booking body")
+    void testBookMeeting_Recurring() throws Exception {
+        // Arrange
+        when(meetingService.bookMeeting(anyString(), any(Meeting.class))).thenReturn("Meeting booked for John Doe");
+
+        // Act & Assert
+        mockMvc.perform(post("/meetings/book")
+                .param("empName", "John Doe")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"start\":\"2024-01-15T09:00:00\",\"end\":\"2024-01-15T09:15:00\",\"title\":\"Standup\","
+                        + "\"recurrence\":{\"frequency\":\"WEEKLY\",\"count\":52,\"exceptions\":[\"2024-12-23\"]}}"))
+                .andExpect(status().isOk());
+
+        verify(meetingService, times(1)).bookMeeting(eq("John Doe"), argThat(m ->
+                m.getRecurrence() != null
+                        && m.getRecurrence().toString().equals("FREQ=WEEKLY;INTERVAL=1;COUNT=52;EXDATE=2024-12-23")));
+    }
+
     @Test
     @DisplayName("Should handle book meeting with missing employee name")
     void testBookMeeting_MissingEmpName() throws Exception {
@@ -91,6 +120,118 @@ class MeetingControllerTest {
         verify(meetingService, never()).bookMeeting(anyString(), any(Meeting.class));
     }
 
+    @Test
+    @DisplayName("Should book meeting for all participants when free")
+    void testBookMeetingIfFree_Success() throws Exception {
+        // Arrange
+        List<String> participants = Arrays.asList("John Doe", "Jane Smith");
+        when(meetingService.bookMeetingIfFree(any(Meeting.class), eq(participants))).thenReturn(Collections.emptyList());
+
+        // Act & Assert
+        mockMvc.perform(post("/meetings/book-if-free")
+                .param("participants", "John Doe", "Jane Smith")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testMeeting)))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+
+        verify(meetingService, times(1)).bookMeetingIfFree(any(Meeting.class), eq(participants));
+    }
+
+    @Test
+    @DisplayName("Should return 409 with conflicting participants when not free")
+    void testBookMeetingIfFree_Conflict() throws Exception {
+        // Arrange
+        List<String> participants = Arrays.asList("John Doe", "Jane Smith");
+        List<String> conflicts = Arrays.asList("Jane Smith");
+        when(meetingService.bookMeetingIfFree(any(Meeting.class), eq(participants))).thenReturn(conflicts);
+
+        // Act & Assert
+        mockMvc.perform(post("/meetings/book-if-free")
+                .param("participants", "John Doe", "Jane Smith")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testMeeting)))
+                .andExpect(status().isConflict())
+                .andExpect(content().json(objectMapper.writeValueAsString(conflicts)));
+    }
+
+    @Test
+    @DisplayName("Should point at the booked meeting by its ID")
+    void testBookMeeting_Location() throws Exception {
+        // Arrange - the service sets the new ID on the request
+        when(meetingService.bookMeeting(eq("John Doe"), any(Meeting.class))).thenAnswer(invocation -> {
+            invocation.<Meeting>getArgument(1).setId("m-42");
+            return "Meeting booked for John Doe";
+        });
+
+        // Act & Assert
+        mockMvc.perform(post("/meetings/book")
+                .param("empName", "John Doe")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\": \"client-chosen\", \"start\": \"2024-01-15T09:00:00\", \"end\": \"2024-01-15T10:00:00\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Location", "/meetings/m-42"))
+                .andExpect(content().string("Meeting booked for John Doe"));
+
+        // A client-supplied ID is ignored
+        verify(meetingService).bookMeeting(eq("John Doe"), argThat(m -> "m-42".equals(m.getId())));
+    }
+
+    @Test
+    @DisplayName("Should cancel a meeting by ID and return 404 for unknown IDs")
+    void testCancelMeeting() throws Exception {
+        // Arrange
+        when(meetingService.cancelMeeting("m-1")).thenReturn(true);
+        when(meetingService.cancelMeeting("m-2")).thenReturn(false);
+
+        // Act & Assert
+        mockMvc.perform(delete("/meetings/m-1"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/meetings/m-2"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should reschedule a meeting and return the updated meeting")
+    void testRescheduleMeeting() throws Exception {
+        // Arrange
+        Meeting updated = new Meeting(baseTime.plusHours(2), baseTime.plusHours(3), "Test Meeting");
+        updated.setId("m-1");
+        when(meetingService.rescheduleMeeting(eq("m-1"), any(Meeting.class))).thenReturn(Collections.emptyList());
+        when(meetingService.findMeeting("m-1")).thenReturn(Optional.of(updated));
+
+        // Act & Assert
+        mockMvc.perform(patch("/meetings/m-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"start\": \"2024-01-15T11:00:00\", \"end\": \"2024-01-15T12:00:00\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("m-1"))
+                .andExpect(jsonPath("$.start").value("2024-01-15T11:00:00"));
+
+        verify(meetingService).rescheduleMeeting(eq("m-1"), argThat(m ->
+                baseTime.plusHours(2).equals(m.getStart()) && m.getTitle() == null));
+    }
+
+    @Test
+    @DisplayName("Should return 409 with conflicting attendees or 404 for an unknown meeting on reschedule")
+    void testRescheduleMeeting_ConflictAndNotFound() throws Exception {
+        // Arrange
+        when(meetingService.rescheduleMeeting(eq("m-1"), any(Meeting.class))).thenReturn(List.of("Jane Smith"));
+        when(meetingService.rescheduleMeeting(eq("m-2"), any(Meeting.class)))
+                .thenThrow(new java.util.NoSuchElementException("Unknown meeting m-2"));
+
+        // Act & Assert
+        mockMvc.perform(patch("/meetings/m-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Moved\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(content().json("[\"Jane Smith\"]"));
+        mockMvc.perform(patch("/meetings/m-2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Moved\"}"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Should find conflicts successfully")
     void testCheckConflicts_Success() throws Exception {
@@ -131,6 +272,26 @@ class MeetingControllerTest {
         verify(meetingService, times(1)).findConflicts(any(Meeting.class), eq(participants));
     }
 
+    @Test
+    @DisplayName("Should check many candidates at once and return a conflict matrix")
+    void testCheckConflictMatrix() throws Exception {
+        // Arrange
+        List<String> participants = Arrays.asList("John Doe", "Jane Smith");
+        ConflictMatrix matrix = new ConflictMatrix(participants, 2);
+        matrix.markConflict(1, 0);
+        when(meetingService.findConflictMatrix(anyList(), eq(participants))).thenReturn(matrix);
+
+        // Act & Assert
+        mockMvc.perform(post("/meetings/conflicts/batch")
+                .param("participants", "John Doe", "Jane Smith")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testMeeting, testMeeting))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.participants[0]").value("John Doe"))
+                .andExpect(jsonPath("$.conflicts[0][0]").value(false))
+                .andExpect(jsonPath("$.conflicts[1][0]").value(true));
+    }
+
     @Test
     @DisplayName("Should handle conflicts check with missing participants")
     void testCheckConflicts_MissingParticipants() throws Exception {
@@ -159,7 +320,7 @@ class MeetingControllerTest {
         
         when(meetingService.getOrCreateEmployee(emp1)).thenReturn(mock(com.example.demo.model.Employee.class));
         when(meetingService.getOrCreateEmployee(emp2)).thenReturn(mock(com.example.demo.model.Employee.class));
-        when(meetingService.findFreeSlots(any(), any(), eq(durationMinutes))).thenReturn(freeSlots);
+        when(meetingService.streamFreeSlots(any(), any(), eq(durationMinutes), isNull())).thenAnswer(invocation -> freeSlots.stream());
 
         // Act & Assert
         mockMvc.perform(get("/meetings/free-slots")
@@ -172,7 +333,7 @@ class MeetingControllerTest {
         // Verify service methods were called
         verify(meetingService, times(1)).getOrCreateEmployee(emp1);
         verify(meetingService, times(1)).getOrCreateEmployee(emp2);
-        verify(meetingService, times(1)).findFreeSlots(any(), any(), eq(durationMinutes));
+        verify(meetingService, times(1)).streamFreeSlots(any(), any(), eq(durationMinutes), isNull());
     }
 
     @Test
@@ -187,7 +348,7 @@ class MeetingControllerTest {
         
         when(meetingService.getOrCreateEmployee(emp1)).thenReturn(mock(com.example.demo.model.Employee.class));
         when(meetingService.getOrCreateEmployee(emp2)).thenReturn(mock(com.example.demo.model.Employee.class));
-        when(meetingService.findFreeSlots(any(), any(), eq(durationMinutes))).thenReturn(freeSlots);
+        when(meetingService.streamFreeSlots(any(), any(), eq(durationMinutes), isNull())).thenAnswer(invocation -> freeSlots.stream());
 
         // Act & Assert
         mockMvc.perform(get("/meetings/free-slots")
@@ -200,7 +361,333 @@ class MeetingControllerTest {
         // Verify service methods were called
         verify(meetingService, times(1)).getOrCreateEmployee(emp1);
         verify(meetingService, times(1)).getOrCreateEmployee(emp2);
-        verify(meetingService, times(1)).findFreeSlots(any(), any(), eq(durationMinutes));
+        verify(meetingService, times(1)).streamFreeSlots(any(), any(), eq(durationMinutes), isNull());
+    }
+
+    @Test
+    @DisplayName("Should page free slots with limit and after cursor")
+    void testGetFreeSlots_Paginated() throws Exception {
+        // Arrange
+        List<Meeting> freeSlots = Arrays.asList(
+            new Meeting(baseTime.plusHours(1), baseTime.plusHours(1).plusMinutes(30), "Free Slot"),
+            new Meeting(baseTime.plusHours(2), baseTime.plusHours(2).plusMinutes(30), "Free Slot"),
+            new Meeting(baseTime.plusHours(3), baseTime.plusHours(3).plusMinutes(30), "Free Slot")
+        );
+
+        when(meetingService.getOrCreateEmployee(anyString())).thenReturn(mock(com.example.demo.model.Employee.class));
+        when(meetingService.streamFreeSlots(any(), any(), eq(30), eq(baseTime))).thenAnswer(invocation -> freeSlots.stream());
+
+        // Act & Assert - only the first page is written
+        mockMvc.perform(get("/meetings/free-slots")
+                .param("emp1", "John Doe")
+                .param("emp2", "Jane Smith")
+                .param("durationMinutes", "30")
+                .param("limit", "2")
+                .param("after", baseTime.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(freeSlots.subList(0, 2)), JsonCompareMode.STRICT));
+
+        verify(meetingService, times(1)).streamFreeSlots(any(), any(), eq(30), eq(baseTime));
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive page limit")
+    void testGetFreeSlots_InvalidLimit() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/meetings/free-slots")
+                .param("emp1", "John Doe")
+                .param("emp2", "Jane Smith")
+                .param("durationMinutes", "30")
+                .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(meetingService, never()).streamFreeSlots(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should get common free slots for many participants")
+    void testGetCommonFreeSlots_Success() throws Exception {
+        // Arrange
+        int durationMinutes = 60;
+        List<Meeting> freeSlots = Arrays.asList(
+            new Meeting(baseTime, baseTime.plusHours(1), "Free Slot")
+        );
+
+        when(meetingService.getOrCreateEmployee(anyString())).thenReturn(mock(com.example.demo.model.Employee.class));
+        when(meetingService.findCommonFreeSlots(anyList(), eq(durationMinutes))).thenReturn(freeSlots);
+
+        // Act & Assert
+        mockMvc.perform(get("/meetings/free-slots/common")
+                .param("participants", "John Doe", "Jane Smith", "Bob Wilson")
+                .param("durationMinutes", String.valueOf(durationMinutes)))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(freeSlots)));
+
+        // Verify every participant was resolved and the search ran once
+        verify(meetingService, times(3)).getOrCreateEmployee(anyString());
+        verify(meetingService, times(1)).findCommonFreeSlots(argThat(list -> list.size() == 3), eq(durationMinutes));
+    }
+
+    @Test
+    @DisplayName("Should stop the common free-slot search at maxResults")
+    void testGetCommonFreeSlots_MaxResults() throws Exception {
+        // Arrange
+        List<Meeting> freeSlots = Arrays.asList(
+            new Meeting(baseTime, baseTime.plusMinutes(30), "Free Slot")
+        );
+
+        when(meetingService.getOrCreateEmployee(anyString())).thenReturn(mock(com.example.demo.model.Employee.class));
+        when(meetingService.findCommonFreeSlots(anyList(), eq(30), eq(1))).thenReturn(freeSlots);
+
+        // Act & Assert
+        mockMvc.perform(get("/meetings/free-slots/common")
+                .param("participants", "John Doe", "Jane Smith")
+                .param("durationMinutes", "30")
+                .param("maxResults", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(freeSlots)));
+
+        verify(meetingService, times(1)).findCommonFreeSlots(anyList(), eq(30), eq(1));
+        verify(meetingService, never()).findCommonFreeSlots(anyList(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should add a room and list rooms")
+    void testPutRoom() throws Exception {
+        // Arrange
+        Resource room = new Resource("Boardroom", 12, List.of("Projector"));
+        when(meetingService.putResource(eq("Boardroom"), eq(12), eq(List.of("Projector")))).thenReturn(room);
+        when(meetingService.getAllResources()).thenReturn(List.of(room));
+
+        // Act & Assert
+        mockMvc.perform(put("/meetings/rooms")
+                .param("name", "Boardroom")
+                .param("capacity", "12")
+                .param("attributes", "Projector"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Boardroom"))
+                .andExpect(jsonPath("$.attributes[0]").value("projector"))
+                .andExpect(jsonPath("$.calendar").doesNotExist());
+        mockMvc.perform(get("/meetings/rooms"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].capacity").value(12));
+    }
+
+    @Test
+    @DisplayName("Should find free slots with a room, seating the participants by default")
+    void testGetFreeSlotsWithRoom() throws Exception {
+        // Arrange
+        List<RoomSlot> slots = List.of(new RoomSlot(new Meeting(baseTime, baseTime.plusHours(1)), "Boardroom"));
+        when(meetingService.getOrCreateEmployee(anyString())).thenReturn(mock(com.example.demo.model.Employee.class));
+        when(meetingService.findFreeSlotsWithRoom(anyList(), eq(60), eq(2), eq(List.of("projector")), eq(10)))
+                .thenReturn(slots);
+
+        // Act & Assert
+        mockMvc.perform(get("/meetings/free-slots/with-room")
+                .param("participants", "John Doe", "Jane Smith")
+                .param("durationMinutes", "60")
+                .param("attributes", "projector"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].room").value("Boardroom"))
+                .andExpect(jsonPath("$[0].slot.start").value("2024-01-15T09:00:00"));
+
+        verify(meetingService, times(1)).findFreeSlotsWithRoom(anyList(), eq(60), eq(2), eq(List.of("projector")), eq(10));
+    }
+
+    @Test
+    @DisplayName("Should return 409 when the requested room is busy")
+    void testBookMeetingIfFree_RoomBusy() throws Exception {
+        // Arrange
+        when(meetingService.bookMeetingIfFree(any(Meeting.class), eq(List.of("John Doe")), eq("Boardroom")))
+                .thenReturn(List.of("Boardroom"));
+
+        // Act & Assert
+        mockMvc.perform(post("/meetings/book-if-free")
+                .param("participants", "John Doe")
+                .param("room", "Boardroom")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testMeeting)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$[0]").value("Boardroom"));
+    }
+
+    @Test
+    @DisplayName("Should get the earliest common free slot")
+    void testGetEarliestFreeSlot() throws Exception {
+        // Arrange
+        Meeting slot = new Meeting(baseTime, baseTime.plusMinutes(30), "Free Slot");
+        when(meetingService.getOrCreateEmployee(anyString())).thenReturn(mock(com.example.demo.model.Employee.class));
+        when(meetingService.findEarliestFreeSlot(anyList(), eq(30))).thenReturn(Optional.of(slot));
+
+        // Act & Assert
+        mockMvc.perform(get("/meetings/free-slots/earliest")
+                .param("participants", "John Doe", "Jane Smith")
+                .param("durationMinutes", "30"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(slot)));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when there is no earliest free slot")
+    void testGetEarliestFreeSlot_None() throws Exception {
+        // Arrange
+        when(meetingService.getOrCreateEmployee(anyString())).thenReturn(mock(com.example.demo.model.Employee.class));
+        when(meetingService.findEarliestFreeSlot(anyList(), eq(30))).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/meetings/free-slots/earliest")
+                .param("participants", "John Doe")
+                .param("durationMinutes", "30"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should render free slots in the requested zone")
+    void testGetEarliestFreeSlot_InZone() throws Exception {
+        // Arrange - 09:00Z is 10:00 in Berlin in January
+        Meeting slot = new Meeting(baseTime, baseTime.plusMinutes(30), "Free Slot");
+        when(meetingService.getOrCreateEmployee(anyString())).thenReturn(mock(com.example.demo.model.Employee.class));
+        when(meetingService.findEarliestFreeSlot(anyList(), eq(30))).thenReturn(Optional.of(slot));
+
+        // Act & Assert
+        mockMvc.perform(get("/meetings/free-slots/earliest")
+                .param("participants", "John Doe")
+                .param("durationMinutes", "30")
+                .param("zone", "Europe/Berlin"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.start").value(baseTime.plusHours(1).toString() + ":00"))
+                .andExpect(jsonPath("$.zone").value("Europe/Berlin"));
+    }
+
+    @Test
+    @DisplayName("Should set an employee's time zone and reject unknown zones")
+    void testSetTimeZone() throws Exception {
+        // Arrange
+        when(meetingService.getTimeZone("John Doe")).thenReturn(ZoneId.of("Asia/Tokyo"));
+
+        // Act & Assert
+        mockMvc.perform(put("/meetings/time-zone")
+                .param("empName", "John Doe")
+                .param("zone", "Asia/Tokyo"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("\"Asia/Tokyo\""));
+        mockMvc.perform(put("/meetings/time-zone")
+                .param("empName", "John Doe")
+                .param("zone", "Mars/Olympus"))
+                .andExpect(status().isBadRequest());
+
+        verify(meetingService, times(1)).setTimeZone("John Doe", ZoneId.of("Asia/Tokyo"));
+    }
+
+    // Drains the reader like the service would, reporting unreadable records
+    private void answerImportWithReaderOutput() {
+        when(meetingService.importMeetings(any())).thenAnswer(invocation -> {
+            Iterator<ImportRecord> records = invocation.getArgument(0);
+            ImportReport report = new ImportReport();
+            int meetings = 0;
+            while (records.hasNext()) {
+                ImportRecord record = records.next();
+                if (record.getError() != null) {
+                    report.recordFailed(record.getIndex(), record.getEmpName(), record.getError());
+                } else {
+                    meetings++;
+                }
+            }
+            report.recordImported(meetings);
+            return report;
+        });
+    }
+
+    @Test
+    @DisplayName("Should stream an NDJSON import and report malformed lines by index")
+    void testImportMeetings_Ndjson() throws Exception {
+        // Arrange
+        answerImportWithReaderOutput();
+        String body = "{\"empName\":\"John\",\"meeting\":{\"start\":\"2024-01-15T09:00:00\",\"end\":\"2024-01-15T10:00:00\"}}\n"
+                + "{\"empName\":\"Jane\",\"meeting\":{\"start\":\n"
+                + "\n"
+                + "{\"empName\":\"Jane\",\"meeting\":{\"start\":\"not a time\",\"end\":\"2024-01-15T10:00:00\"}}\n"
+                + "{\"empName\":\"Jane\",\"meeting\":{\"start\":\"2024-01-15T11:00:00\",\"end\":\"2024-01-15T12:00:00\"}}\n";
+
+        // Act & Assert
+        mockMvc.perform(post("/meetings/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.failures[0].index").value(1))
+                .andExpect(jsonPath("$.failures[1].index").value(2));
+    }
+
+    @Test
+    @DisplayName("Should stream a JSON array import")
+    void testImportMeetings_JsonArray() throws Exception {
+        // Arrange
+        answerImportWithReaderOutput();
+        String body = "[{\"empName\":\"John\",\"meeting\":{\"start\":\"2024-01-15T09:00:00\",\"end\":\"2024-01-15T10:00:00\"}},"
+                + "{\"empName\":\"Jane\",\"meeting\":{\"start\":\"2024-01-15T11:00:00\",\"end\":\"2024-01-15T12:00:00\","
+                + "\"recurrence\":{\"frequency\":\"DAILY\",\"count\":5}}}, 42]";
+
+        // Act & Assert
+        mockMvc.perform(post("/meetings/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failures[0].index").value(2));
+        mockMvc.perform(post("/meetings/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"empName\":\"John\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should set and return an employee's working hours")
+    void testSetWorkingHours() throws Exception {
+        // Arrange
+        WorkingHours hours = WorkingHours.parse("MON-FRI 08:00-12:00,13:00-17:00; step 15");
+        when(meetingService.getWorkingHours("John Doe")).thenReturn(hours);
+
+        // Act & Assert
+        mockMvc.perform(put("/meetings/working-hours")
+                .param("empName", "John Doe")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"shifts\":{\"MONDAY\":[\"08:00-12:00\",\"13:00-17:00\"]},\"holidays\":[\"2024-12-25\"],\"slotStepMinutes\":15}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.shifts.FRIDAY[1]").value("13:00-17:00"))
+                .andExpect(jsonPath("$.slotStepMinutes").value(15));
+
+        verify(meetingService, times(1)).setWorkingHours(eq("John Doe"), argThat(wh ->
+                wh.getShifts().get(java.time.DayOfWeek.MONDAY).size() == 2
+                        && wh.getHolidays().equals(List.of(java.time.LocalDate.of(2024, 12, 25)))));
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid working-hours policy")
+    void testSetWorkingHours_Invalid() throws Exception {
+        // Arrange
+        doThrow(new IllegalArgumentException("Shift must end after it starts: 18:00-09:00"))
+                .when(meetingService).setWorkingHours(eq("John Doe"), any());
+
+        // Act & Assert
+        mockMvc.perform(put("/meetings/working-hours")
+                .param("empName", "John Doe")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"shifts\":{\"MONDAY\":[\"18:00-09:00\"]}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should handle common free slots request with missing participants")
+    void testGetCommonFreeSlots_MissingParticipants() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/meetings/free-slots/common")
+                .param("durationMinutes", "30"))
+                .andExpect(status().isBadRequest());
+
+        // Verify service method was not called
+        verify(meetingService, never()).findCommonFreeSlots(anyList(), anyInt());
     }
 
     @Test
@@ -214,7 +701,7 @@ class MeetingControllerTest {
 
         // Verify service methods were not called
         verify(meetingService, never()).getOrCreateEmployee(anyString());
-        verify(meetingService, never()).findFreeSlots(any(), any(), anyInt());
+        verify(meetingService, never()).streamFreeSlots(any(), any(), anyInt(), any());
     }
 
     @Test
@@ -228,7 +715,7 @@ class MeetingControllerTest {
 
         // Verify service methods were not called
         verify(meetingService, never()).getOrCreateEmployee(anyString());
-        verify(meetingService, never()).findFreeSlots(any(), any(), anyInt());
+        verify(meetingService, never()).streamFreeSlots(any(), any(), anyInt(), any());
     }
 
     @Test
@@ -242,7 +729,7 @@ class MeetingControllerTest {
 
         // Verify service methods were not called
         verify(meetingService, never()).getOrCreateEmployee(anyString());
-        verify(meetingService, never()).findFreeSlots(any(), any(), anyInt());
+        verify(meetingService, never()).streamFreeSlots(any(), any(), anyInt(), any());
     }
 
     @Test
@@ -257,7 +744,7 @@ class MeetingControllerTest {
 
         // Verify service methods were not called
         verify(meetingService, never()).getOrCreateEmployee(anyString());
-        verify(meetingService, never()).findFreeSlots(any(), any(), anyInt());
+        verify(meetingService, never()).streamFreeSlots(any(), any(), anyInt(), any());
     }
 
     @Test
@@ -308,7 +795,7 @@ class MeetingControllerTest {
         
         when(meetingService.getOrCreateEmployee(emp1)).thenReturn(mock(com.example.demo.model.Employee.class));
         when(meetingService.getOrCreateEmployee(emp2)).thenReturn(mock(com.example.demo.model.Employee.class));
-        when(meetingService.findFreeSlots(any(), any(), eq(durationMinutes)))
+        when(meetingService.streamFreeSlots(any(), any(), eq(durationMinutes), isNull()))
                 .thenThrow(new RuntimeException("Service error"));
 
         // Act & Assert
@@ -321,6 +808,6 @@ class MeetingControllerTest {
         // Verify service methods were called
         verify(meetingService, times(1)).getOrCreateEmployee(emp1);
         verify(meetingService, times(1)).getOrCreateEmployee(emp2);
-        verify(meetingService, times(1)).findFreeSlots(any(), any(), eq(durationMinutes));
+        verify(meetingService, times(1)).streamFreeSlots(any(), any(), eq(durationMinutes), isNull());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.example.demo.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityTemplateTest {
+
+    private static final long MONDAY = LocalDate.of(2024, 1, 15).toEpochDay();
+
+    @Test
+    @DisplayName("Should compile the standard policy to 9-to-6 on weekdays only")
+    void testStandard() {
+        AvailabilityTemplate template = AvailabilityTemplate.STANDARD;
+
+        for (int day = 0; day < 5; day++) {
+            assertArrayEquals(new int[] {9 * 60, 18 * 60}, template.shiftsOn(MONDAY + day));
+        }
+        assertEquals(0, template.shiftsOn(MONDAY + 5).length);
+        assertEquals(0, template.shiftsOn(MONDAY + 6).length);
+        assertEquals(30, template.getSlotStepMinutes());
+    }
+
+    @Test
+    @DisplayName("Should merge overlapping shifts and drop holidays")
+    void testSplitShiftsAndHolidays() {
+        AvailabilityTemplate template = AvailabilityTemplate.compile(
+                WorkingHours.parse("MON 13:00-17:00,08:00-12:00,11:00-12:30; TUE 09:00-10:00; holidays 2024-01-16; step 15"));
+
+        assertArrayEquals(new int[] {8 * 60, 12 * 60 + 30, 13 * 60, 17 * 60}, template.shiftsOn(MONDAY));
+        assertEquals(0, template.shiftsOn(MONDAY + 1).length, "Tuesday 2024-01-16 is a holiday");
+        assertArrayEquals(new int[] {9 * 60, 10 * 60}, template.shiftsOn(MONDAY + 8));
+        assertEquals(15, template.getSlotStepMinutes());
+    }
+
+    @Test
+    @DisplayName("Should intersect shifts, combine holidays and keep the coarser step")
+    void testIntersect() {
+        AvailabilityTemplate early = AvailabilityTemplate.compile(WorkingHours.parse("MON-FRI 07:00-15:00; step 15; holidays 2024-01-17"));
+        AvailabilityTemplate split = AvailabilityTemplate.compile(WorkingHours.parse("MON-SAT 09:00-12:00,13:00-18:00; step 60"));
+
+        AvailabilityTemplate both = early.intersect(split);
+
+        assertArrayEquals(new int[] {9 * 60, 12 * 60, 13 * 60, 15 * 60}, both.shiftsOn(MONDAY));
+        assertEquals(0, both.shiftsOn(MONDAY + 2).length);
+        assertEquals(0, both.shiftsOn(MONDAY + 5).length, "Only one of them works Saturdays");
+        assertEquals(60, both.getSlotStepMinutes());
+    }
+
+    @Test
+    @DisplayName("Should round-trip through the policy and its text form")
+    void testToWorkingHours() {
+        WorkingHours hours = AvailabilityTemplate.compile(
+                WorkingHours.parse("MON-WED 09:00-12:00, 13:00-18:00; SAT 10:00-14:00; step 20; holidays 2024-12-25")).toWorkingHours();
+
+        assertEquals(List.of("09:00-12:00", "13:00-18:00"), hours.getShifts().get(DayOfWeek.TUESDAY));
+        assertFalse(hours.getShifts().containsKey(DayOfWeek.THURSDAY));
+        assertEquals("MON 09:00-12:00,13:00-18:00; TUE 09:00-12:00,13:00-18:00; WED 09:00-12:00,13:00-18:00; "
+                + "SAT 10:00-14:00; step 20; holidays 2024-12-25", hours.toString());
+        assertEquals(hours.toString(), WorkingHours.parse(hours.toString()).toString());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid policies")
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> AvailabilityTemplate.compile(WorkingHours.parse("MON 18:00-09:00")));
+        assertThrows(IllegalArgumentException.class, () -> AvailabilityTemplate.compile(WorkingHours.parse("MON 9am-5pm")));
+        assertThrows(IllegalArgumentException.class, () -> WorkingHours.parse("FRI-MON 09:00-17:00"));
+        assertThrows(IllegalArgumentException.class, () -> WorkingHours.parse("FUNDAY 09:00-17:00"));
+        assertThrows(IllegalArgumentException.class, () -> AvailabilityTemplate.compile(WorkingHours.parse("MON 09:00-17:00; step 0")));
+    }
+}
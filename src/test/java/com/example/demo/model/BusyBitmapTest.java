@@ -0,0 +1,98 @@
+package com.example.demo.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusyBitmapTest {
+
+    private BusyBitmap bitmap;
+    private long monday9am;
+
+    @BeforeEach
+    void setUp() {
+        bitmap = new BusyBitmap();
+        monday9am = EpochMinutes.floor(java.time.LocalDateTime.of(2024, 1, 15, 9, 0));
+    }
+
+    @Test
+    @DisplayName("Should report marked quanta as busy and the rest as free")
+    void testMarkAndProbe() {
+        bitmap.mark(monday9am, monday9am + 60);
+
+        assertTrue(bitmap.anyBusy(monday9am + 30, monday9am + 90));
+        assertFalse(bitmap.anyBusy(monday9am + 60, monday9am + 120));
+        assertFalse(bitmap.anyBusy(monday9am - 60, monday9am));
+    }
+
+    @Test
+    @DisplayName("Should mark every quantum a partial-quantum meeting touches")
+    void testUnalignedMeeting() {
+        bitmap.mark(monday9am + 10, monday9am + 20);
+
+        // 9:00-9:15 and 9:15-9:30 are both touched
+        assertTrue(bitmap.anyBusy(monday9am, monday9am + 15));
+        assertTrue(bitmap.anyBusy(monday9am + 15, monday9am + 30));
+        assertFalse(bitmap.anyBusy(monday9am + 30, monday9am + 45));
+    }
+
+    @Test
+    @DisplayName("Should clear ranges without touching neighbouring quanta")
+    void testClearRange() {
+        bitmap.mark(monday9am, monday9am + 60);
+        long q = Math.floorDiv(monday9am, BusyBitmap.QUANTUM_MINUTES);
+
+        bitmap.setRange(q + 1, q + 3, false);
+
+        assertTrue(bitmap.anyBusy(monday9am, monday9am + 15));
+        assertFalse(bitmap.anyBusy(monday9am + 15, monday9am + 45));
+        assertTrue(bitmap.anyBusy(monday9am + 45, monday9am + 60));
+    }
+
+    @Test
+    @DisplayName("Should OR marked quanta into a word array across page boundaries")
+    void testOrIntoAcrossPages() {
+        long firstQuantum = Math.floorDiv(Math.floorDiv(monday9am, BusyBitmap.QUANTUM_MINUTES), 64) * 64;
+        long[] words = new long[200]; // 12,800 quanta spans several 4096-quantum pages
+        long meetingStart = (firstQuantum + 5000) * BusyBitmap.QUANTUM_MINUTES;
+        bitmap.mark(meetingStart, meetingStart + 30);
+
+        bitmap.orInto(words, firstQuantum);
+
+        int set = 0;
+        for (long word : words) {
+            set += Long.bitCount(word);
+        }
+        assertEquals(2, set);
+        assertTrue((words[5000 / 64] & (1L << (5000 % 64))) != 0);
+        assertThrows(IllegalArgumentException.class, () -> bitmap.orInto(words, firstQuantum + 1));
+    }
+
+    @Test
+    @DisplayName("Should reset a range to exactly the quanta still busy")
+    void testReset() {
+        bitmap.mark(monday9am, monday9am + 120);
+        long q = Math.floorDiv(monday9am, BusyBitmap.QUANTUM_MINUTES);
+
+        // 9:00-11:00 loses its meeting; 9:30-9:40 (one quantum) and 10:45-11:30 remain
+        bitmap.reset(q, q + 8, new long[] {monday9am + 30, monday9am + 40, monday9am + 105, monday9am + 150});
+
+        assertFalse(bitmap.anyBusy(monday9am, monday9am + 30));
+        assertTrue(bitmap.anyBusy(monday9am + 30, monday9am + 45));
+        assertFalse(bitmap.anyBusy(monday9am + 45, monday9am + 105));
+        assertTrue(bitmap.anyBusy(monday9am + 105, monday9am + 120));
+        // Quanta outside the range are left as they were
+        assertFalse(bitmap.anyBusy(monday9am + 120, monday9am + 150));
+    }
+
+    @Test
+    @DisplayName("Should handle times before the epoch")
+    void testNegativeQuanta() {
+        bitmap.mark(-30, -15);
+
+        assertTrue(bitmap.anyBusy(-20, -16));
+        assertFalse(bitmap.anyBusy(-15, 0));
+    }
+}
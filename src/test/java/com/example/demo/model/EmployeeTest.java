@@ -5,7 +5,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -85,12 +90,24 @@ class EmployeeTest {
     }
 
     @Test
-    @DisplayName("Should handle null meeting")
+    @DisplayName("Should reject null meeting")
     void testAddNullMeeting() {
-        employee.addMeeting(null);
-        
-        assertEquals(1, employee.getMeetings().size());
-        assertNull(employee.getMeetings().get(0));
+        assertThrows(IllegalArgumentException.class, () -> employee.addMeeting(null));
+
+        assertTrue(employee.getMeetings().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return meetings in start-time order")
+    void testMeetingsSortedByStart() {
+        Meeting late = new Meeting(baseTime.plusHours(4), baseTime.plusHours(5), "Late Meeting");
+        Meeting early = new Meeting(baseTime, baseTime.plusHours(1), "Early Meeting");
+
+        employee.addMeeting(late);
+        employee.addMeeting(early);
+
+        assertEquals(early, employee.getMeetings().get(0));
+        assertEquals(late, employee.getMeetings().get(1));
     }
 
     @Test
@@ -153,6 +170,75 @@ class EmployeeTest {
         assertEquals(120, longMeeting.getDurationInMinutes());
     }
 
+    @Test
+    @DisplayName("Should move to a new version on every booking or policy change")
+    void testVersion() {
+        long initial = employee.getVersion();
+
+        employee.addMeeting(new Meeting(baseTime, baseTime.plusHours(1)));
+        long afterBooking = employee.getVersion();
+        employee.addMeetings(List.of(new Meeting(baseTime.plusHours(2), baseTime.plusHours(3))));
+        long afterImport = employee.getVersion();
+        employee.setZone(java.time.ZoneId.of("Europe/Berlin"));
+        employee.setAvailability(AvailabilityTemplate.STANDARD);
+
+        assertTrue(initial < afterBooking && afterBooking < afterImport && afterImport < employee.getVersion());
+        assertNotEquals(new Employee("John Doe").getVersion(), new Employee("John Doe").getVersion());
+    }
+
+    @Test
+    @DisplayName("Should never move back to an older version under concurrent changes")
+    void testVersionMonotonicUnderConcurrentWriters() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < 4; w++) {
+                int offset = w;
+                writers.add(pool.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        LocalDateTime start = baseTime.plusMinutes(15L * (4 * i + offset));
+                        employee.addMeeting(new Meeting(start, start.plusMinutes(15)));
+                    }
+                }));
+            }
+            Future<?> reader = pool.submit(() -> {
+                long last = employee.getVersion();
+                while (!writers.stream().allMatch(Future::isDone)) {
+                    long current = employee.getVersion();
+                    assertTrue(current >= last, "version went from " + last + " back to " + current);
+                    last = current;
+                }
+            });
+
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            reader.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(8000, employee.getMeetings().size());
+    }
+
+    @Test
+    @DisplayName("Should remove a meeting by ID and move to a new version only if it was there")
+    void testRemoveMeeting() {
+        Meeting meeting = new Meeting(baseTime, baseTime.plusHours(1), "Meeting");
+        meeting.setId("m1");
+        employee.addMeeting(meeting);
+        long beforeRemoval = employee.getVersion();
+
+        boolean removed = employee.removeMeeting(meeting.withId("m1"));
+        long afterRemoval = employee.getVersion();
+        boolean removedAgain = employee.removeMeeting(meeting);
+
+        assertTrue(removed);
+        assertFalse(removedAgain);
+        assertTrue(employee.getMeetings().isEmpty());
+        assertTrue(beforeRemoval < afterRemoval);
+        assertEquals(afterRemoval, employee.getVersion());
+    }
+
     @Test
     @DisplayName("Should handle employee with empty name")
     void testEmployeeWithEmptyName() {
@@ -0,0 +1,49 @@
+package com.example.demo.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EpochMinutesTest {
+
+    @Test
+    @DisplayName("Should round-trip whole-minute times")
+    void testRoundTrip() {
+        LocalDateTime time = LocalDateTime.of(2024, 1, 15, 9, 30);
+        long minute = EpochMinutes.floor(time);
+
+        assertEquals(minute, EpochMinutes.ceil(time));
+        assertEquals(time, EpochMinutes.toLocalDateTime(minute));
+    }
+
+    @Test
+    @DisplayName("Should round partial minutes down for floor and up for ceil")
+    void testRounding() {
+        LocalDateTime time = LocalDateTime.of(2024, 1, 15, 9, 30, 15);
+
+        assertEquals(LocalDateTime.of(2024, 1, 15, 9, 30), EpochMinutes.toLocalDateTime(EpochMinutes.floor(time)));
+        assertEquals(LocalDateTime.of(2024, 1, 15, 9, 31), EpochMinutes.toLocalDateTime(EpochMinutes.ceil(time)));
+    }
+
+    @Test
+    @DisplayName("Should handle times before the epoch")
+    void testBeforeEpoch() {
+        LocalDateTime time = LocalDateTime.of(1969, 12, 31, 23, 59, 30);
+
+        assertEquals(-1, EpochMinutes.floor(time));
+        assertEquals(0, EpochMinutes.ceil(time));
+        assertEquals(-1, EpochMinutes.epochDay(-1));
+    }
+
+    @Test
+    @DisplayName("Should compute ISO day of week from epoch day")
+    void testDayOfWeek() {
+        for (LocalDate date = LocalDate.of(1969, 12, 25); date.isBefore(LocalDate.of(1970, 1, 10)); date = date.plusDays(1)) {
+            assertEquals(date.getDayOfWeek().getValue(), EpochMinutes.dayOfWeek(date.toEpochDay()));
+        }
+    }
+}
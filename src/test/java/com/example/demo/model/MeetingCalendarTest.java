@@ -0,0 +1,502 @@
+package com.example.demo.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeetingCalendarTest {
+
+    private MeetingCalendar calendar;
+    private LocalDateTime baseTime;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new MeetingCalendar();
+        baseTime = LocalDateTime.of(2024, 1, 15, 9, 0); // Monday 9 AM
+    }
+
+    @Test
+    @DisplayName("Should keep meetings ordered by start time")
+    void testOrdering() {
+        Meeting m3 = new Meeting(baseTime.plusHours(3), baseTime.plusHours(4), "Third");
+        Meeting m1 = new Meeting(baseTime, baseTime.plusHours(1), "First");
+        Meeting m2 = new Meeting(baseTime.plusHours(1), baseTime.plusHours(2), "Second");
+
+        calendar.add(m3);
+        calendar.add(m1);
+        calendar.add(m2);
+
+        assertEquals(3, calendar.size());
+        assertEquals(List.of(m1, m2, m3), calendar.toList());
+        assertEquals(m2, calendar.get(1));
+    }
+
+    @Test
+    @DisplayName("Should keep duplicates in insertion order")
+    void testDuplicates() {
+        Meeting meeting = new Meeting(baseTime, baseTime.plusHours(1), "Standup");
+        Meeting sameTime = new Meeting(baseTime, baseTime.plusHours(1), "Other");
+
+        calendar.add(meeting);
+        calendar.add(sameTime);
+        calendar.add(meeting);
+
+        assertEquals(List.of(meeting, sameTime, meeting), calendar.toList());
+    }
+
+    @Test
+    @DisplayName("Should detect overlaps using half-open intervals")
+    void testOverlaps() {
+        calendar.add(new Meeting(baseTime, baseTime.plusHours(1), "Morning"));
+        calendar.add(new Meeting(baseTime.plusHours(5), baseTime.plusHours(6), "Afternoon"));
+
+        assertTrue(calendar.overlaps(baseTime.plusMinutes(30), baseTime.plusMinutes(90)));
+        assertTrue(calendar.overlaps(baseTime.minusHours(1), baseTime.plusHours(8)));
+        assertFalse(calendar.overlaps(baseTime.plusHours(1), baseTime.plusHours(5)));
+        assertFalse(calendar.overlaps(baseTime.minusHours(1), baseTime));
+    }
+
+    @Test
+    @DisplayName("Should detect overlaps exactly for meetings off the quantum grid")
+    void testOverlaps_Unaligned() {
+        calendar.add(new Meeting(baseTime.plusMinutes(5), baseTime.plusMinutes(10), "Quick Sync"));
+
+        assertFalse(calendar.isQuantumAligned());
+        assertTrue(calendar.overlaps(baseTime, baseTime.plusMinutes(15)));
+        assertFalse(calendar.overlaps(baseTime, baseTime.plusMinutes(5)));
+        assertFalse(calendar.overlaps(baseTime.plusMinutes(10), baseTime.plusMinutes(15)));
+    }
+
+    @Test
+    @DisplayName("Should find meetings in a window including long-running ones")
+    void testFindOverlapping() {
+        Meeting allDay = new Meeting(baseTime.minusHours(1), baseTime.plusHours(9), "Offsite");
+        Meeting morning = new Meeting(baseTime, baseTime.plusHours(1), "Morning");
+        Meeting afternoon = new Meeting(baseTime.plusHours(5), baseTime.plusHours(6), "Afternoon");
+        calendar.add(afternoon);
+        calendar.add(allDay);
+        calendar.add(morning);
+
+        assertEquals(List.of(allDay, afternoon),
+                calendar.findOverlapping(baseTime.plusHours(4), baseTime.plusHours(7)));
+        assertEquals(List.of(allDay, morning, afternoon),
+                calendar.findOverlapping(baseTime, baseTime.plusDays(1)));
+        assertTrue(calendar.findOverlapping(baseTime.plusDays(1), baseTime.plusDays(2)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should agree with a linear scan on random calendars")
+    void testMatchesLinearScan() {
+        Random random = new Random(42);
+        List<Meeting> all = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            LocalDateTime start = baseTime.plusMinutes(15L * random.nextInt(2000));
+            Meeting meeting = new Meeting(start, start.plusMinutes(15L * (1 + random.nextInt(12))), "M" + i);
+            all.add(meeting);
+            calendar.add(meeting);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime start = baseTime.plusMinutes(15L * random.nextInt(2000));
+            LocalDateTime end = start.plusMinutes(15L * (1 + random.nextInt(8)));
+            List<Meeting> expected = all.stream()
+                    .filter(m -> m.getStart().isBefore(end) && m.getEnd().isAfter(start))
+                    .sorted((a, b) -> a.getStart().compareTo(b.getStart()))
+                    .toList();
+
+            assertEquals(!expected.isEmpty(), calendar.overlaps(start, end));
+            assertEquals(expected.size(), calendar.findOverlapping(start, end).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not lose bookings or fail readers under concurrent writes")
+    void testConcurrentAddAndQuery() throws Exception {
+        int writers = 8;
+        int perWriter = 500;
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 2);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int offset = w;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perWriter; i++) {
+                        LocalDateTime start = baseTime.plusMinutes(30L * (i * writers + offset));
+                        calendar.add(new Meeting(start, start.plusMinutes(30), "M"));
+                    }
+                }));
+            }
+            for (int r = 0; r < 2; r++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        int count = 0;
+                        for (Meeting ignored : calendar) {
+                            count++;
+                        }
+                        assertTrue(count <= writers * perWriter);
+                        calendar.overlaps(baseTime, baseTime.plusDays(1));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(writers * perWriter, calendar.size());
+        List<Meeting> meetings = calendar.toList();
+        for (int i = 1; i < meetings.size(); i++) {
+            assertFalse(meetings.get(i).getStart().isBefore(meetings.get(i - 1).getStart()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should bulk-add meetings into the same calendar as one-by-one adds")
+    void testAddAllMatchesAdd() {
+        // Arrange
+        Random random = new Random(7);
+        MeetingCalendar oneByOne = new MeetingCalendar();
+        List<Meeting> existing = new ArrayList<>();
+        List<Meeting> batch = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            LocalDateTime start = baseTime.plusMinutes(15L * random.nextInt(4000) + (i % 50 == 0 ? 7 : 0));
+            Meeting meeting = new Meeting(start, start.plusMinutes(15L * (1 + random.nextInt(8))), "M" + i);
+            (i < 500 ? existing : batch).add(meeting);
+        }
+        existing.forEach(calendar::add);
+        existing.forEach(oneByOne::add);
+
+        // Act
+        calendar.addAll(batch);
+        batch.forEach(oneByOne::add);
+
+        // Assert - same order (ties in booking order), same answers, and a balanced tree
+        assertEquals(oneByOne.toList(), calendar.toList());
+        assertEquals(oneByOne.get(1234), calendar.get(1234));
+        for (int i = 0; i < 500; i++) {
+            long start = EpochMinutes.floor(baseTime) + random.nextInt(60_000);
+            long end = start + random.nextInt(120);
+            assertEquals(oneByOne.overlaps(start, end), calendar.overlaps(start, end));
+            assertArrayEquals(oneByOne.findOverlappingIntervals(start, end), calendar.findOverlappingIntervals(start, end));
+        }
+        assertFalse(calendar.isQuantumAligned());
+        assertThrows(IllegalArgumentException.class, () -> calendar.addAll(List.of(new Meeting(baseTime, null))));
+        assertEquals(2000, calendar.size());
+    }
+
+    @Test
+    @DisplayName("Should keep a recurring meeting as one entry and see each occurrence")
+    void testRecurringMeeting() {
+        // Arrange - daily 09:00-09:30 for five days, plus a one-off at 10:00 on Wednesday
+        Meeting standup = new Meeting(baseTime, baseTime.plusMinutes(30), "Standup");
+        standup.setRecurrence(Recurrence.parse("FREQ=DAILY;COUNT=5"));
+        Meeting review = new Meeting(baseTime.plusDays(2).plusHours(1), baseTime.plusDays(2).plusHours(2), "Review");
+        Meeting early = new Meeting(baseTime.minusHours(1), baseTime, "Early");
+
+        // Act
+        calendar.add(review);
+        calendar.add(standup);
+        calendar.add(early);
+
+        // Assert
+        assertEquals(3, calendar.size());
+        assertEquals(List.of("Early", "Standup", "Review"), calendar.toList().stream().map(Meeting::getTitle).toList());
+        assertEquals("Standup", calendar.get(1).getTitle());
+        assertEquals("Review", calendar.get(2).getTitle());
+        assertTrue(calendar.hasSeries());
+        assertTrue(calendar.overlaps(baseTime.plusDays(4).plusMinutes(10), baseTime.plusDays(4).plusMinutes(20)));
+        assertFalse(calendar.overlaps(baseTime.plusDays(5), baseTime.plusDays(5).plusMinutes(30)));
+        assertFalse(calendar.overlaps(baseTime.plusDays(1).plusMinutes(30), baseTime.plusDays(1).plusHours(1)));
+        List<Meeting> wednesday = calendar.findOverlapping(baseTime.plusDays(2), baseTime.plusDays(3));
+        assertEquals(List.of("Standup", "Review"), wednesday.stream().map(Meeting::getTitle).toList());
+        assertNull(wednesday.get(0).getRecurrence());
+        long from = EpochMinutes.floor(baseTime.plusDays(2));
+        assertArrayEquals(new long[] {from, from + 30, from + 60, from + 120, from + 1440, from + 1470},
+                calendar.findOverlappingIntervals(from, from + 1441));
+    }
+
+    @Test
+    @DisplayName("Should remove meetings by ID into the same calendar as a rebuild without them")
+    void testRemoveMatchesRebuild() {
+        // Arrange - shared starts, overlaps and a few unaligned meetings
+        Random random = new Random(11);
+        List<Meeting> all = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            LocalDateTime start = baseTime.plusMinutes(15L * random.nextInt(1500) + (i % 40 == 0 ? 7 : 0));
+            Meeting meeting = new Meeting(start, start.plusMinutes(15L * (1 + random.nextInt(8))), "M" + i);
+            meeting.setId("id-" + i);
+            all.add(meeting);
+            calendar.add(meeting);
+        }
+        List<Meeting> kept = new ArrayList<>();
+        List<Meeting> removed = new ArrayList<>();
+        for (Meeting meeting : all) {
+            (random.nextBoolean() ? kept : removed).add(meeting);
+        }
+
+        // Act - by a copy carrying the ID, as attendees' calendars hold their own copies
+        for (Meeting meeting : removed) {
+            assertTrue(calendar.remove(meeting.withId(meeting.getId())));
+        }
+
+        // Assert - same order, same answers, same bitmap
+        MeetingCalendar rebuilt = new MeetingCalendar();
+        kept.forEach(rebuilt::add);
+        assertEquals(rebuilt.toList(), calendar.toList());
+        assertEquals(rebuilt.isQuantumAligned(), calendar.isQuantumAligned());
+        for (int i = 0; i < 500; i++) {
+            long start = EpochMinutes.floor(baseTime) + random.nextInt(25_000);
+            long end = start + random.nextInt(120);
+            assertEquals(rebuilt.overlaps(start, end), calendar.overlaps(start, end));
+            assertArrayEquals(rebuilt.findOverlappingIntervals(start, end), calendar.findOverlappingIntervals(start, end));
+        }
+        long firstQuantum = Math.floorDiv(EpochMinutes.floor(baseTime), BusyBitmap.QUANTUM_MINUTES * 64L) * 64;
+        long[] expected = new long[64];
+        long[] actual = new long[64];
+        rebuilt.getBusyBitmap().orInto(expected, firstQuantum);
+        calendar.getBusyBitmap().orInto(actual, firstQuantum);
+        assertArrayEquals(expected, actual);
+        assertFalse(calendar.remove(removed.get(0)));
+    }
+
+    @Test
+    @DisplayName("Should keep overlapping meetings busy and drop series when removing")
+    void testRemove_OverlappingAndSeries() {
+        // Arrange
+        Meeting first = new Meeting(baseTime, baseTime.plusHours(1), "First");
+        Meeting second = new Meeting(baseTime.plusMinutes(30), baseTime.plusMinutes(90), "Second");
+        Meeting standup = new Meeting(baseTime.plusHours(3), baseTime.plusHours(3).plusMinutes(15), "Standup");
+        standup.setRecurrence(Recurrence.parse("FREQ=DAILY;COUNT=5"));
+        standup.setId("standup");
+        calendar.add(first);
+        calendar.add(second);
+        calendar.add(standup);
+
+        // Act
+        boolean removedFirst = calendar.remove(first);
+        Meeting standupCopy = new Meeting();
+        standupCopy.setId("standup");
+        standupCopy.setRecurrence(standup.getRecurrence());
+        boolean removedSeries = calendar.remove(standupCopy);
+
+        // Assert - the quanta the meetings shared stay busy
+        assertTrue(removedFirst);
+        assertTrue(removedSeries);
+        assertFalse(calendar.overlaps(baseTime, baseTime.plusMinutes(30)));
+        assertTrue(calendar.overlaps(baseTime.plusMinutes(30), baseTime.plusMinutes(45)));
+        assertFalse(calendar.hasSeries());
+        assertEquals(List.of(second), calendar.toList());
+        assertFalse(calendar.remove(new Meeting(baseTime, baseTime.plusHours(1), "First")));
+    }
+
+    @Test
+    @DisplayName("Should leave very long meetings out of the bitmap and answer for them from the tree")
+    void testVeryLongMeeting() {
+        // Arrange - far longer than the bitmap marks, next to an ordinary meeting
+        Meeting forever = new Meeting(LocalDateTime.of(1, 1, 1, 0, 0), LocalDateTime.of(9999, 12, 31, 0, 0), "Forever");
+        Meeting standup = new Meeting(baseTime, baseTime.plusMinutes(15), "Standup");
+        calendar.add(forever);
+        calendar.add(standup);
+        long q = Math.floorDiv(EpochMinutes.floor(baseTime), BusyBitmap.QUANTUM_MINUTES * 64L) * 64;
+        long[] words = new long[64];
+
+        // Act
+        calendar.getBusyBitmap().orInto(words, q);
+
+        // Assert - only the standup is marked, yet every range inside the long meeting is busy
+        assertEquals(1, Arrays.stream(words).map(Long::bitCount).sum());
+        assertFalse(calendar.isBitmapComplete(EpochMinutes.floor(baseTime), EpochMinutes.floor(baseTime) + 60));
+        assertTrue(calendar.overlaps(baseTime.plusHours(2), baseTime.plusHours(3)));
+        assertTrue(calendar.overlaps(baseTime.plusYears(5000), baseTime.plusYears(5000).plusMinutes(15)));
+
+        // Once it is removed the bitmap answers again
+        assertTrue(calendar.remove(forever));
+        assertTrue(calendar.isBitmapComplete(EpochMinutes.floor(baseTime), EpochMinutes.floor(baseTime) + 60));
+        assertFalse(calendar.overlaps(baseTime.plusHours(2), baseTime.plusHours(3)));
+        assertTrue(calendar.overlaps(baseTime, baseTime.plusMinutes(15)));
+    }
+
+    @Test
+    @DisplayName("Should answer from off-heap columns exactly as from the tree")
+    void testOffHeapMatchesTree() {
+        // Arrange - shared starts, unaligned meetings, UUID and other IDs, zones, descriptions and a series
+        Random random = new Random(23);
+        MeetingCalendar offHeap = MeetingCalendar.offHeap(new StringDictionary());
+        List<Meeting> all = new ArrayList<>();
+        List<Meeting> batch = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            LocalDateTime start = baseTime.plusMinutes(15L * random.nextInt(2000) + (i % 40 == 0 ? 7 : 0));
+            Meeting meeting = new Meeting(start, start.plusMinutes(15L * (1 + random.nextInt(8))), "M" + i % 20);
+            meeting.setId(i % 3 == 0 ? "id-" + i : UUID.nameUUIDFromBytes(new byte[] {(byte) i, (byte) (i >> 8)}).toString());
+            if (i % 7 == 0) {
+                meeting.setDescription("Notes für " + i);
+            }
+            if (i % 11 == 0) {
+                meeting = meeting.withZone(ZoneId.of("Europe/Berlin"));
+            }
+            (i < 2500 ? all : batch).add(meeting);
+        }
+        Meeting standup = new Meeting(baseTime.plusMinutes(10), baseTime.plusMinutes(25), "Standup");
+        standup.setRecurrence(Recurrence.parse("FREQ=DAILY;COUNT=20"));
+        standup.setId("standup");
+        all.add(standup);
+        all.forEach(calendar::add);
+        all.forEach(offHeap::add);
+
+        // Act
+        calendar.addAll(batch);
+        offHeap.addAll(batch);
+        for (int i = 0; i < all.size(); i += 3) {
+            Meeting removed = all.get(i);
+            assertEquals(calendar.remove(removed), offHeap.remove(removed.withId(removed.getId())));
+        }
+
+        // Assert - same meetings in the same order, same answers and the same bitmap
+        assertEquals(calendar.size(), offHeap.size());
+        assertEquals(keys(calendar.toList()), keys(offHeap.toList()));
+        for (int i = 0; i < 100; i++) {
+            int index = random.nextInt(calendar.size());
+            assertEquals(key(calendar.get(index)), key(offHeap.get(index)));
+        }
+        for (int i = 0; i < 500; i++) {
+            long start = EpochMinutes.floor(baseTime) + random.nextInt(32_000);
+            long end = start + random.nextInt(120);
+            assertEquals(calendar.overlaps(start, end), offHeap.overlaps(start, end));
+            assertArrayEquals(calendar.findOverlappingIntervals(start, end), offHeap.findOverlappingIntervals(start, end));
+            LocalDateTime from = EpochMinutes.toLocalDateTime(start);
+            LocalDateTime to = EpochMinutes.toLocalDateTime(end);
+            assertEquals(keys(calendar.findOverlapping(from, to)), keys(offHeap.findOverlapping(from, to)));
+        }
+        long firstQuantum = Math.floorDiv(EpochMinutes.floor(baseTime), BusyBitmap.QUANTUM_MINUTES * 64L) * 64;
+        long[] expected = new long[64];
+        long[] actual = new long[64];
+        calendar.getBusyBitmap().orInto(expected, firstQuantum);
+        offHeap.getBusyBitmap().orInto(actual, firstQuantum);
+        assertArrayEquals(expected, actual);
+        assertEquals(calendar.isQuantumAligned(), offHeap.isQuantumAligned());
+        Meeting kept = all.get(1);
+        assertEquals(key(kept), key(offHeap.find(kept.getId(), kept.startEpochMinute())));
+        assertNull(offHeap.find(all.get(0).getId(), all.get(0).startEpochMinute()));
+        assertTrue(offHeap.isOffHeap());
+        assertTrue(offHeap.offHeapBytes() > 0);
+        assertEquals(0, calendar.offHeapBytes());
+    }
+
+    @Test
+    @DisplayName("Should keep off-heap columns in step with the tree through cancels and rebookings")
+    void testOffHeapChurn() {
+        // Arrange - a large base, so cancels and bookings stay in the delete list and the delta for a while
+        Random random = new Random(29);
+        MeetingCalendar offHeap = MeetingCalendar.offHeap(new StringDictionary());
+        List<Meeting> booked = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime start = baseTime.plusMinutes(15L * random.nextInt(20_000));
+            Meeting meeting = new Meeting(start, start.plusMinutes(15L * (1 + random.nextInt(4))), "M" + i % 50);
+            meeting.setId("id-" + i);
+            booked.add(meeting);
+        }
+        calendar.addAll(booked);
+        offHeap.addAll(booked);
+        long baseBytes = offHeap.offHeapBytes();
+
+        // Act - cancel and rebook at random, fewer times than it takes to fold the changes into the base
+        for (int i = 0; i < 60; i++) {
+            Meeting cancelled = booked.remove(random.nextInt(booked.size()));
+            assertEquals(calendar.remove(cancelled), offHeap.remove(cancelled.withId(cancelled.getId())));
+            Meeting rebooked = cancelled.withId("re-" + i);
+            rebooked.setStart(cancelled.getStart().plusMinutes(15L * random.nextInt(8)));
+            rebooked.setEnd(rebooked.getStart().plusMinutes(30));
+            calendar.add(rebooked);
+            offHeap.add(rebooked);
+            booked.add(rebooked);
+        }
+
+        // Assert - no new direct memory per change, and the same answers as the tree
+        assertEquals(baseBytes, offHeap.offHeapBytes());
+        assertEquals(calendar.size(), offHeap.size());
+        assertEquals(keys(calendar.toList()), keys(offHeap.toList()));
+        for (int i = 0; i < 500; i++) {
+            int index = random.nextInt(calendar.size());
+            assertEquals(key(calendar.get(index)), key(offHeap.get(index)));
+            long start = EpochMinutes.floor(baseTime) + random.nextInt(300_000);
+            long end = start + random.nextInt(120);
+            assertEquals(calendar.overlaps(start, end), offHeap.overlaps(start, end));
+            assertArrayEquals(calendar.findOverlappingIntervals(start, end), offHeap.findOverlappingIntervals(start, end));
+            LocalDateTime from = EpochMinutes.toLocalDateTime(start);
+            LocalDateTime to = EpochMinutes.toLocalDateTime(end);
+            assertEquals(keys(calendar.findOverlapping(from, to)), keys(offHeap.findOverlapping(from, to)));
+        }
+        Meeting cancelled = booked.get(0);
+        assertTrue(offHeap.remove(cancelled.withId(cancelled.getId())));
+        assertNull(offHeap.find(cancelled.getId(), cancelled.startEpochMinute()));
+        assertFalse(offHeap.remove(cancelled.withId(cancelled.getId())));
+    }
+
+    @Test
+    @DisplayName("Should rebuild meetings from off-heap columns with their ID, zone and description")
+    void testOffHeapRoundTrip() {
+        // Arrange
+        StringDictionary dictionary = new StringDictionary();
+        MeetingCalendar offHeap = MeetingCalendar.offHeap(dictionary);
+        Meeting berlin = new Meeting(baseTime, baseTime.plusHours(1), "Planning");
+        berlin.setZone(ZoneId.of("Europe/Berlin"));
+        berlin.setDescription("Quartalsplanung ✓");
+        berlin.setId(UUID.randomUUID().toString());
+        Meeting other = new Meeting(baseTime.plusHours(2), baseTime.plusHours(3), "Planning");
+        other.setId("M-42");
+        Meeting anonymous = new Meeting(baseTime.plusHours(4), baseTime.plusHours(5), "Walk-in");
+
+        // Act
+        offHeap.add(berlin);
+        offHeap.add(other);
+        offHeap.add(anonymous);
+        Meeting rebuilt = offHeap.get(0);
+        Meeting walkIn = offHeap.get(2);
+        boolean removedAnonymous = offHeap.remove(new Meeting(baseTime.plusHours(4), baseTime.plusHours(5), "Walk-in"));
+
+        // Assert - a new object equal in every field; the repeated title and the zone are encoded, the one-off title is not
+        assertNotSame(berlin, rebuilt);
+        assertEquals(key(berlin), key(rebuilt));
+        assertEquals(baseTime, rebuilt.getStart());
+        assertEquals("M-42", offHeap.get(1).getId());
+        assertTrue(removedAnonymous);
+        assertEquals(2, offHeap.size());
+        assertEquals(2, dictionary.size());
+        assertEquals("Walk-in", walkIn.getTitle());
+    }
+
+    @Test
+    @DisplayName("Should reject meetings without a valid time range")
+    void testRejectsInvalidMeetings() {
+        assertThrows(IllegalArgumentException.class, () -> calendar.add(null));
+        assertThrows(IllegalArgumentException.class, () -> calendar.add(new Meeting()));
+        assertThrows(IllegalArgumentException.class,
+                () -> calendar.add(new Meeting(baseTime, baseTime.minusHours(1))));
+        assertTrue(calendar.isEmpty());
+    }
+
+    private static String key(Meeting meeting) {
+        return meeting.getId() + "|" + meeting.getStart() + "|" + meeting.getEnd() + "|" + meeting.getTitle()
+                + "|" + meeting.getDescription() + "|" + meeting.getZone();
+    }
+
+    private static List<String> keys(List<Meeting> meetings) {
+        return meetings.stream().map(MeetingCalendarTest::key).toList();
+    }
+}
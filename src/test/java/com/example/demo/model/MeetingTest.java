@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -204,4 +205,27 @@ class MeetingTest {
         // Zero duration meeting should not overlap with itself
         assertFalse(zeroDurationMeeting.overlapsWith(zeroDurationMeeting));
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should compare zoned meetings by instant and convert them between zones")
+    void testZonedMeeting() {
+        // Arrange - 10:00-11:00 in Berlin is 09:00-10:00 UTC in January
+        Meeting berlin = new Meeting(baseTime.plusHours(1), baseTime.plusHours(2), "Berlin");
+        berlin.setZone(ZoneId.of("Europe/Berlin"));
+
+        // Act
+        Meeting utc = berlin.withZone(null);
+        Meeting newYork = berlin.withZone(ZoneId.of("America/New_York"));
+
+        // Assert
+        assertEquals(meeting1.startEpochMinute(), berlin.startEpochMinute());
+        assertEquals(baseTime, utc.getStart());
+        assertNull(utc.getZone());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 4, 0), newYork.getStart());
+        assertEquals(berlin.endEpochMinute(), newYork.endEpochMinute());
+        assertEquals("Berlin", newYork.getTitle());
+        assertSame(berlin, berlin.withZone(ZoneId.of("Europe/Berlin")));
+        assertTrue(berlin.overlapsWith(meeting1));
+        assertFalse(berlin.overlapsWith(meeting2));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.demo.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceTest {
+
+    private static final LocalDateTime MONDAY_9AM = LocalDateTime.of(2024, 1, 15, 9, 0);
+
+    private static Meeting series(LocalDateTime start, int minutes, String rule) {
+        Meeting meeting = new Meeting(start, start.plusMinutes(minutes), "Series");
+        meeting.setRecurrence(Recurrence.parse(rule));
+        return meeting;
+    }
+
+    private static long minute(LocalDateTime time) {
+        return EpochMinutes.floor(time);
+    }
+
+    @Test
+    @DisplayName("Should round-trip the text form")
+    void testParseAndFormat() {
+        // Arrange
+        String rule = "FREQ=WEEKLY;INTERVAL=2;COUNT=10;UNTIL=2024-06-30T23:59;EXDATE=2024-02-05,2024-03-04";
+
+        // Act
+        Recurrence recurrence = Recurrence.parse(rule);
+
+        // Assert
+        assertEquals(Recurrence.Frequency.WEEKLY, recurrence.getFrequency());
+        assertEquals(2, recurrence.getInterval());
+        assertEquals(List.of(LocalDate.of(2024, 2, 5), LocalDate.of(2024, 3, 4)), recurrence.getExceptions());
+        assertEquals(rule, recurrence.toString());
+        assertEquals("FREQ=DAILY;INTERVAL=1", Recurrence.parse("freq=daily").toString());
+        assertThrows(IllegalArgumentException.class, () -> Recurrence.parse("INTERVAL=2"));
+        assertThrows(IllegalArgumentException.class, () -> Recurrence.parse("FREQ=WEEKLY;COUNT=0"));
+        assertThrows(IllegalArgumentException.class, () -> Recurrence.parse("FREQ=YEARLY"));
+    }
+
+    @Test
+    @DisplayName("Should expand only the occurrences inside the queried range")
+    void testExpandWindow() {
+        // Arrange - a weekly 30-minute standup, 52 times
+        Meeting standup = series(MONDAY_9AM, 30, "FREQ=WEEKLY;COUNT=52");
+
+        // Act
+        long[] march = standup.occurrences(minute(LocalDateTime.of(2024, 3, 1, 0, 0)),
+                minute(LocalDateTime.of(2024, 4, 1, 0, 0)));
+        long[] partial = standup.occurrences(minute(MONDAY_9AM.plusMinutes(15)), minute(MONDAY_9AM.plusMinutes(20)));
+        long[] afterLast = standup.occurrences(minute(MONDAY_9AM.plusWeeks(52)), minute(MONDAY_9AM.plusWeeks(60)));
+
+        // Assert - Mondays 4, 11, 18 and 25 March
+        assertEquals(8, march.length);
+        assertEquals(minute(LocalDateTime.of(2024, 3, 4, 9, 0)), march[0]);
+        assertEquals(minute(LocalDateTime.of(2024, 3, 25, 9, 30)), march[7]);
+        assertArrayEquals(new long[] {minute(MONDAY_9AM), minute(MONDAY_9AM.plusMinutes(30))}, partial);
+        assertEquals(0, afterLast.length);
+        assertEquals(minute(MONDAY_9AM.plusWeeks(51).plusMinutes(30)), standup.lastEndEpochMinute());
+    }
+
+    @Test
+    @DisplayName("Should honour interval, until and exceptions")
+    void testIntervalUntilAndExceptions() {
+        // Arrange - every other day until Friday, except Wednesday
+        Meeting series = series(MONDAY_9AM, 60, "FREQ=DAILY;INTERVAL=2;UNTIL=2024-01-19T09:00;EXDATE=2024-01-17");
+
+        // Act
+        long[] week = series.occurrences(minute(MONDAY_9AM), minute(MONDAY_9AM.plusWeeks(1)));
+
+        // Assert - Monday and Friday
+        assertArrayEquals(new long[] {
+                minute(MONDAY_9AM), minute(MONDAY_9AM.plusHours(1)),
+                minute(MONDAY_9AM.plusDays(4)), minute(MONDAY_9AM.plusDays(4).plusHours(1))}, week);
+        assertEquals(minute(MONDAY_9AM.plusDays(4).plusHours(1)), series.lastEndEpochMinute());
+    }
+
+    @Test
+    @DisplayName("Should skip months without the day and count only real occurrences")
+    void testMonthlyOnThe31st() {
+        // Arrange
+        Meeting series = series(LocalDateTime.of(2024, 1, 31, 15, 0), 60, "FREQ=MONTHLY;COUNT=4");
+
+        // Act
+        long[] year = series.occurrences(minute(LocalDateTime.of(2024, 1, 1, 0, 0)),
+                minute(LocalDateTime.of(2025, 1, 1, 0, 0)));
+
+        // Assert - 31 January, March, May and July
+        assertEquals(8, year.length);
+        assertEquals(minute(LocalDateTime.of(2024, 3, 31, 15, 0)), year[2]);
+        assertEquals(minute(LocalDateTime.of(2024, 7, 31, 15, 0)), year[6]);
+        assertTrue(series.lastEndEpochMinute() >= year[7]);
+    }
+
+    @Test
+    @DisplayName("Should keep local wall-clock times across DST and jump straight to distant ranges")
+    void testZonedAndOpenEnded() {
+        // Arrange - 09:00 Berlin every day, forever
+        Meeting daily = series(MONDAY_9AM, 15, "FREQ=DAILY");
+        daily.setZone(ZoneId.of("Europe/Berlin"));
+
+        // Act
+        long[] summer = daily.occurrences(minute(LocalDateTime.of(2024, 7, 1, 0, 0)),
+                minute(LocalDateTime.of(2024, 7, 2, 0, 0)));
+        long[] farAway = daily.occurrences(minute(LocalDateTime.of(2124, 1, 15, 0, 0)),
+                minute(LocalDateTime.of(2124, 1, 16, 0, 0)));
+
+        // Assert - 09:00 CEST is 07:00 UTC, 09:00 CET is 08:00 UTC
+        assertArrayEquals(new long[] {minute(LocalDateTime.of(2024, 7, 1, 7, 0)),
+                minute(LocalDateTime.of(2024, 7, 1, 7, 15))}, summer);
+        assertArrayEquals(new long[] {minute(LocalDateTime.of(2124, 1, 15, 8, 0)),
+                minute(LocalDateTime.of(2124, 1, 15, 8, 15))}, farAway);
+        assertEquals(Long.MAX_VALUE, daily.lastEndEpochMinute());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceTest {
+
+    @Test
+    @DisplayName("Should normalize attributes to trimmed lower case and drop blanks")
+    void testAttributes() {
+        // Arrange & Act
+        Resource room = new Resource("Boardroom", 10, Arrays.asList(" Projector", "TV", "tv", "", null));
+
+        // Assert
+        assertEquals(Set.of("projector", "tv"), room.getAttributes());
+        assertTrue(new Resource("Attic", 1, null).getAttributes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fit groups it seats when it has every required attribute")
+    void testFits() {
+        // Arrange
+        Resource room = new Resource("Boardroom", 10, List.of("projector", "tv"));
+
+        // Act & Assert
+        assertTrue(room.fits(10, Set.of("projector")));
+        assertTrue(room.fits(2, Set.of()));
+        assertFalse(room.fits(11, Set.of()));
+        assertFalse(room.fits(2, Set.of("whiteboard")));
+    }
+
+    @Test
+    @DisplayName("Should reject a capacity that is not positive")
+    void testCapacity() {
+        // Arrange
+        Resource room = new Resource("Boardroom", 10, List.of());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new Resource("Attic", 0, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> room.setCapacity(-1));
+        assertEquals(10, room.getCapacity());
+    }
+
+    @Test
+    @DisplayName("Should keep its own calendar of bookings")
+    void testCalendar() {
+        // Arrange
+        Resource room = new Resource("Boardroom", 10, List.of());
+        LocalDateTime start = LocalDateTime.of(2024, 1, 15, 9, 0);
+
+        // Act
+        room.getCalendar().add(new Meeting(start, start.plusHours(1)));
+
+        // Assert
+        assertTrue(room.getCalendar().overlaps(start.plusMinutes(30), start.plusMinutes(45)));
+        assertFalse(room.getCalendar().overlaps(start.plusHours(1), start.plusHours(2)));
+    }
+}
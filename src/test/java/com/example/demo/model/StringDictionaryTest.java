@@ -0,0 +1,45 @@
+package com.example.demo.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringDictionaryTest {
+
+    @Test
+    @DisplayName("Should encode free text only once it repeats")
+    void testEncodeRepeated() {
+        StringDictionary dictionary = new StringDictionary();
+
+        int first = dictionary.encodeRepeated("Standup");
+        int second = dictionary.encodeRepeated("Standup");
+        int third = dictionary.encodeRepeated("Standup");
+
+        assertEquals(StringDictionary.NOT_ENCODED, first);
+        assertTrue(second >= 0);
+        assertEquals(second, third);
+        assertEquals("Standup", dictionary.decode(second));
+        assertEquals(StringDictionary.NULL, dictionary.encodeRepeated(null));
+        assertNull(dictionary.decode(StringDictionary.NULL));
+    }
+
+    @Test
+    @DisplayName("Should stop encoding free text at its maximum size but keep known codes")
+    void testMaxSize() {
+        StringDictionary dictionary = new StringDictionary(2);
+        dictionary.encode("Europe/Berlin");
+        dictionary.encodeRepeated("Planning");
+        int planning = dictionary.encodeRepeated("Planning");
+
+        dictionary.encodeRepeated("Retro");
+        int retro = dictionary.encodeRepeated("Retro");
+
+        assertEquals(StringDictionary.NOT_ENCODED, retro);
+        assertEquals(planning, dictionary.encodeRepeated("Planning"));
+        // Closed sets such as zones are always encoded
+        assertTrue(dictionary.encode("Asia/Tokyo") >= 0);
+        assertEquals(3, dictionary.size());
+        assertThrows(IllegalArgumentException.class, () -> new StringDictionary(0));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.demo.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZoneTableTest {
+
+    private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+    private static long epochMinuteOf(LocalDateTime local, ZoneId zone) {
+        return Math.floorDiv(local.atZone(zone).toEpochSecond(), 60);
+    }
+
+    @Test
+    @DisplayName("Should convert fixed-offset wall-clock minutes without zone rules")
+    void testFixedOffset() {
+        // Arrange
+        long day = LocalDate.of(2024, 1, 15).toEpochDay();
+
+        // Act & Assert
+        assertEquals(day * 1440 + 540, ZoneTable.UTC.toEpochMinute(day, 540));
+        assertEquals(day * 1440 + 540 - 330, ZoneTable.of(ZoneOffset.ofHoursMinutes(5, 30)).toEpochMinute(day, 540));
+        assertEquals((day + 1) * 1440, ZoneTable.UTC.toEpochMinute(day, 1440));
+    }
+
+    @Test
+    @DisplayName("Should agree with the zone rules on every day of a year, DST transitions included")
+    void testMatchesZoneRules() {
+        // Arrange
+        ZoneTable table = ZoneTable.of(BERLIN);
+        LocalDate first = LocalDate.of(2024, 1, 1);
+
+        // Act & Assert
+        for (LocalDate date = first; date.getYear() == 2024; date = date.plusDays(1)) {
+            for (int minute = 0; minute < 1440; minute += 37) {
+                assertEquals(epochMinuteOf(date.atStartOfDay().plusMinutes(minute), BERLIN),
+                        table.toEpochMinute(date.toEpochDay(), minute), date + " minute " + minute);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should move times in a DST gap forward and pick the earlier of repeated times")
+    void testGapAndOverlap() {
+        // Arrange
+        ZoneTable table = ZoneTable.of(BERLIN);
+        long springForward = LocalDate.of(2024, 3, 31).toEpochDay();
+        long fallBack = LocalDate.of(2024, 10, 27).toEpochDay();
+
+        // Act & Assert - 02:30 does not exist in spring and reads as 03:30 CEST (01:30Z)
+        assertEquals(epochMinuteOf(LocalDateTime.of(2024, 3, 31, 1, 30), ZoneOffset.UTC),
+                table.toEpochMinute(springForward, 150));
+        // 02:30 happens twice in autumn; the first one is 02:30 CEST (00:30Z)
+        assertEquals(epochMinuteOf(LocalDateTime.of(2024, 10, 27, 0, 30), ZoneOffset.UTC),
+                table.toEpochMinute(fallBack, 150));
+        // A 09:00-18:00 day is an hour shorter or longer in elapsed time only on those days
+        assertEquals(540, table.toEpochMinute(springForward, 1080) - table.toEpochMinute(springForward, 540));
+        assertEquals(540, table.toEpochMinute(fallBack, 1080) - table.toEpochMinute(fallBack, 540));
+        assertEquals(1380, table.toEpochMinute(springForward + 1, 0) - table.toEpochMinute(springForward, 0));
+        assertEquals(1500, table.toEpochMinute(fallBack + 1, 0) - table.toEpochMinute(fallBack, 0));
+    }
+
+    @Test
+    @DisplayName("Should share one table per zone")
+    void testCached() {
+        assertSame(ZoneTable.of(BERLIN), ZoneTable.of(ZoneId.of("Europe/Berlin")));
+        assertSame(ZoneTable.UTC, ZoneTable.of(ZoneId.of("Z")));
+    }
+}
@@ -0,0 +1,406 @@
+package com.example.demo.persistence;
+
+import com.example.demo.model.Meeting;
+import com.example.demo.model.Recurrence;
+import com.example.demo.model.WorkingHours;
+import com.example.demo.service.CalendarStore.StoredCalendar;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalCalendarStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private LocalDateTime baseTime;
+
+    @BeforeEach
+    void setUp() {
+        baseTime = LocalDateTime.of(2024, 1, 15, 9, 0); // Monday 9 AM
+    }
+
+    private JournalCalendarStore open() throws IOException {
+        return new JournalCalendarStore(directory, 1 << 20, 3600);
+    }
+
+    private static StoredCalendar calendarOf(List<StoredCalendar> calendars, String name) {
+        return calendars.stream().filter(c -> c.employeeName().equalsIgnoreCase(name)).findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Should recover employees and meetings after a restart")
+    void testRecoverAfterRestart() throws Exception {
+        JournalCalendarStore store = open();
+        store.saveEmployee("John Doe");
+        Meeting meeting = new Meeting(baseTime, baseTime.plusHours(1), "Kickoff");
+        meeting.setDescription("Project kickoff");
+        store.saveMeeting(meeting, Arrays.asList("John Doe", "Jane Smith"));
+        store.close();
+
+        JournalCalendarStore reopened = open();
+        List<StoredCalendar> calendars = reopened.loadAll();
+        reopened.close();
+
+        assertEquals(2, calendars.size());
+        Meeting recovered = calendarOf(calendars, "jane smith").meetings().get(0);
+        assertEquals(baseTime, recovered.getStart());
+        assertEquals(baseTime.plusHours(1), recovered.getEnd());
+        assertEquals("Kickoff", recovered.getTitle());
+        assertEquals("Project kickoff", recovered.getDescription());
+        assertEquals(1, calendarOf(calendars, "John Doe").meetings().size());
+    }
+
+    @Test
+    @DisplayName("Should recover from a compacted snapshot plus the journal tail")
+    void testRecoverFromSnapshotAndTail() throws Exception {
+        JournalCalendarStore store = open();
+        for (int i = 0; i < 100; i++) {
+            store.saveMeeting(new Meeting(baseTime.plusHours(i), baseTime.plusHours(i + 1), "Before " + i), List.of("John Doe"));
+        }
+        store.compact();
+        store.saveMeeting(new Meeting(baseTime.plusDays(30), baseTime.plusDays(30).plusHours(1), "After"), List.of("John Doe"));
+        store.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.filter(f -> f.getFileName().toString().startsWith("snapshot-")).count());
+        }
+
+        JournalCalendarStore reopened = open();
+        List<Meeting> meetings = calendarOf(reopened.loadAll(), "John Doe").meetings();
+        reopened.close();
+
+        assertEquals(101, meetings.size());
+        assertEquals("After", meetings.get(100).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should recover working hours from the journal and from snapshots")
+    void testWorkingHours() throws Exception {
+        JournalCalendarStore store = open();
+        store.saveWorkingHours("John Doe", WorkingHours.parse("MON-FRI 08:00-16:00; step 15"));
+        store.saveWorkingHours("Jane Smith", WorkingHours.parse("MON 10:00-11:00"));
+        store.compact();
+        store.saveWorkingHours("Jane Smith", null);
+        store.close();
+
+        JournalCalendarStore reopened = open();
+        List<StoredCalendar> calendars = reopened.loadAll();
+        reopened.close();
+
+        assertEquals("MON 08:00-16:00; TUE 08:00-16:00; WED 08:00-16:00; THU 08:00-16:00; FRI 08:00-16:00; step 15",
+                calendarOf(calendars, "John Doe").workingHours().toString());
+        assertNull(calendarOf(calendars, "Jane Smith").workingHours());
+    }
+
+    @Test
+    @DisplayName("Should recover time zones from the journal and from snapshots")
+    void testTimeZones() throws Exception {
+        JournalCalendarStore store = open();
+        store.saveTimeZone("John Doe", ZoneId.of("Europe/Berlin"));
+        store.saveTimeZone("Jane Smith", ZoneId.of("Asia/Tokyo"));
+        store.compact();
+        store.saveTimeZone("Jane Smith", null);
+        store.saveTimeZone("Bob", ZoneId.of("America/New_York"));
+        store.close();
+
+        JournalCalendarStore reopened = open();
+        List<StoredCalendar> calendars = reopened.loadAll();
+        reopened.close();
+
+        assertEquals(ZoneId.of("Europe/Berlin"), calendarOf(calendars, "John Doe").zone());
+        assertNull(calendarOf(calendars, "Jane Smith").zone());
+        assertEquals(ZoneId.of("America/New_York"), calendarOf(calendars, "Bob").zone());
+    }
+
+    @Test
+    @DisplayName("Should recover recurring meetings with their zone and rule")
+    void testRecurringMeetings() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 15, 9, 0);
+        Meeting standup = new Meeting(start, start.plusMinutes(15), "Standup");
+        standup.setZone(ZoneId.of("Europe/Berlin"));
+        standup.setRecurrence(Recurrence.parse("FREQ=DAILY;COUNT=10;EXDATE=2024-01-17"));
+        Meeting review = new Meeting(start, start.plusHours(1), "Review");
+        review.setRecurrence(Recurrence.parse("FREQ=MONTHLY"));
+        JournalCalendarStore store = open();
+        store.saveMeeting(standup, List.of("John Doe"));
+        store.compact();
+        store.saveMeeting(review, List.of("John Doe"));
+        store.close();
+
+        JournalCalendarStore reopened = open();
+        List<Meeting> meetings = calendarOf(reopened.loadAll(), "John Doe").meetings();
+        reopened.close();
+
+        assertEquals(2, meetings.size());
+        assertEquals(ZoneId.of("Europe/Berlin"), meetings.get(0).getZone());
+        assertEquals(standup.getRecurrence().toString(), meetings.get(0).getRecurrence().toString());
+        assertEquals(standup.startEpochMinute(), meetings.get(0).startEpochMinute());
+        assertNull(meetings.get(1).getZone());
+        assertEquals("FREQ=MONTHLY;INTERVAL=1", meetings.get(1).getRecurrence().toString());
+    }
+
+    @Test
+    @DisplayName("Should recover a batch of meetings saved in one call")
+    void testSaveMeetings() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 15, 9, 0);
+        List<Meeting> batch = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            batch.add(new Meeting(start.plusMinutes(30L * i), start.plusMinutes(30L * i + 30), "M" + i));
+        }
+        JournalCalendarStore store = open();
+        store.saveMeetings("John Doe", batch);
+        store.close();
+
+        JournalCalendarStore reopened = open();
+        List<Meeting> meetings = calendarOf(reopened.loadAll(), "John Doe").meetings();
+        reopened.close();
+
+        assertEquals(5000, meetings.size());
+        assertEquals("M4999", meetings.get(4999).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should recover meeting IDs, cancellations and reschedules from the journal and from snapshots")
+    void testCancelAndReschedule() throws Exception {
+        // Arrange - three shared meetings; one cancelled before compaction, one moved after it
+        List<Meeting> meetings = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Meeting meeting = new Meeting(baseTime.plusHours(i), baseTime.plusHours(i + 1), "M" + i);
+            meeting.setId("id-" + i);
+            meetings.add(meeting);
+        }
+        Meeting moved = new Meeting(baseTime.plusDays(1), baseTime.plusDays(1).plusHours(1), "Moved");
+        moved.setId("id-2");
+        Meeting solo = new Meeting(baseTime.plusDays(2), baseTime.plusDays(2).plusHours(1), "Solo");
+        solo.setId("id-3");
+        JournalCalendarStore store = open();
+        for (Meeting meeting : meetings) {
+            store.saveMeeting(meeting, List.of("John Doe", "Jane Smith"));
+        }
+        store.saveMeeting(solo, List.of("John Doe"));
+        store.deleteMeeting(meetings.get(0), List.of("John Doe", "Jane Smith"));
+
+        // Act
+        store.compact();
+        store.updateMeeting(meetings.get(2), moved, List.of("John Doe", "Jane Smith"));
+        store.close();
+        JournalCalendarStore reopened = open();
+        List<StoredCalendar> calendars = reopened.loadAll();
+        reopened.close();
+
+        // Assert
+        List<Meeting> john = calendarOf(calendars, "John Doe").meetings();
+        assertEquals(List.of("id-1", "id-3", "id-2"), john.stream().map(Meeting::getId).toList());
+        assertEquals("Moved", john.get(2).getTitle());
+        assertEquals(baseTime.plusDays(1), john.get(2).getStart());
+        assertEquals(List.of("M1", "Moved"),
+                calendarOf(calendars, "Jane Smith").meetings().stream().map(Meeting::getTitle).toList());
+    }
+
+    @Test
+    @DisplayName("Should honour a clear record")
+    void testClear() throws Exception {
+        JournalCalendarStore store = open();
+        store.saveMeeting(new Meeting(baseTime, baseTime.plusHours(1), "Gone"), List.of("John Doe"));
+        store.deleteAll();
+        store.saveEmployee("Jane Smith");
+        store.close();
+
+        JournalCalendarStore reopened = open();
+        List<StoredCalendar> calendars = reopened.loadAll();
+        reopened.close();
+
+        assertEquals(1, calendars.size());
+        assertEquals("Jane Smith", calendars.get(0).employeeName());
+    }
+
+    @Test
+    @DisplayName("Should ignore a torn record at the end of the journal")
+    void testTornTail() throws Exception {
+        JournalCalendarStore store = open();
+        store.saveMeeting(new Meeting(baseTime, baseTime.plusHours(1), "Kept"), List.of("John Doe"));
+        store.close();
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(f -> Files.isRegularFile(f) && f.toString().endsWith(".log"))
+                    .filter(f -> {
+                        try {
+                            return Files.size(f) > 0;
+                        } catch (IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    })
+                    .findFirst().orElseThrow();
+        }
+        // Simulate a crash halfway through writing the next record
+        Files.write(segment, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        JournalCalendarStore reopened = open();
+        List<Meeting> meetings = calendarOf(reopened.loadAll(), "John Doe").meetings();
+        reopened.saveMeeting(new Meeting(baseTime.plusHours(2), baseTime.plusHours(3), "After crash"), List.of("John Doe"));
+        reopened.close();
+
+        assertEquals(1, meetings.size());
+        JournalCalendarStore again = open();
+        assertEquals(2, calendarOf(again.loadAll(), "John Doe").meetings().size());
+        again.close();
+    }
+
+    @Test
+    @DisplayName("Should never replay a batch whose write failed part way")
+    void testFailedBatchNotReplayed() throws Exception {
+        // Arrange - the first write stalls so the next batch gathers several records; its third fails half written
+        AtomicInteger writes = new AtomicInteger();
+        JournalCalendarStore store = new JournalCalendarStore(directory, 1 << 20, 3600) {
+            @Override
+            void write(FileChannel channel, ByteBuffer record) throws IOException {
+                int write = writes.incrementAndGet();
+                if (write == 1) {
+                    try {
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                } else if (write == 4) {
+                    record.limit(record.position() + record.remaining() / 2);
+                    super.write(channel, record);
+                    throw new IOException("Injected write failure");
+                }
+                super.write(channel, record);
+            }
+        };
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        int saved = 0;
+        int failed = 0;
+        try {
+            // Act
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                String name = "Employee " + t;
+                for (int i = 0; i < 5; i++) {
+                    LocalDateTime start = baseTime.plusHours(i);
+                    futures.add(pool.submit(() -> {
+                        try {
+                            store.saveMeeting(new Meeting(start, start.plusHours(1), "M"), List.of(name));
+                            return true;
+                        } catch (UncheckedIOException e) {
+                            return false;
+                        }
+                    }));
+                }
+            }
+            for (Future<Boolean> future : futures) {
+                if (future.get(30, TimeUnit.SECONDS)) {
+                    saved++;
+                } else {
+                    failed++;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+            store.close();
+        }
+        JournalCalendarStore reopened = open();
+        List<StoredCalendar> calendars = reopened.loadAll();
+        reopened.close();
+
+        // Assert - the whole failed batch was refused, and only acknowledged records came back
+        assertTrue(failed >= 2, "failed " + failed);
+        assertEquals(saved, calendars.stream().mapToInt(c -> c.meetings().size()).sum());
+    }
+
+    @Test
+    @DisplayName("Should make every concurrent append durable")
+    void testConcurrentAppends() throws Exception {
+        JournalCalendarStore store = open();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                String name = "Employee " + t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        store.saveMeeting(new Meeting(baseTime.plusHours(i), baseTime.plusHours(i + 1), "M"), List.of(name));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+            store.close();
+        }
+
+        JournalCalendarStore reopened = open();
+        List<StoredCalendar> calendars = reopened.loadAll();
+        reopened.close();
+
+        assertEquals(8, calendars.size());
+        calendars.forEach(c -> assertEquals(50, c.meetings().size()));
+    }
+
+    @Test
+    @DisplayName("Should commit or refuse every append racing a close, never leave one waiting")
+    void testAppendsRacingClose() throws Exception {
+        JournalCalendarStore store = open();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                String name = "Employee " + t;
+                futures.add(pool.submit(() -> {
+                    int saved = 0;
+                    try {
+                        for (int i = 0; i < 500; i++) {
+                            store.saveMeeting(new Meeting(baseTime.plusHours(i), baseTime.plusHours(i + 1), "M"), List.of(name));
+                            saved++;
+                        }
+                    } catch (IllegalStateException closed) {
+                        // Refused once the journal is closed
+                    }
+                    return saved;
+                }));
+            }
+            Thread.sleep(20);
+            store.close();
+
+            // Every writer returns: each append was either committed or refused
+            int saved = 0;
+            for (Future<Integer> future : futures) {
+                saved += future.get(30, TimeUnit.SECONDS);
+            }
+            assertThrows(IllegalStateException.class, () -> store.saveEmployee("Late"));
+
+            JournalCalendarStore reopened = open();
+            List<StoredCalendar> calendars = reopened.loadAll();
+            reopened.close();
+            assertEquals(saved, calendars.stream().mapToInt(c -> c.meetings().size()).sum());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Employee;
+import com.example.demo.model.Meeting;
+import com.example.demo.model.Recurrence;
+import com.example.demo.model.WorkingHours;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class MeetingServicePersistenceTest {
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Autowired
+    private CalendarStore calendarStore;
+
+    private LocalDateTime nextMonday9am;
+
+    @BeforeEach
+    void setUp() {
+        meetingService.clearAllData();
+        LocalDate date = LocalDate.now().plusDays(7);
+        while (date.getDayOfWeek().getValue() != 1) {
+            date = date.plusDays(1);
+        }
+        nextMonday9am = date.atTime(9, 0);
+    }
+
+    // A fresh service over the same store behaves like the application after a restart
+    private MeetingService restartedService() {
+        MeetingService restarted = new MeetingService();
+        restarted.setCalendarStore(calendarStore);
+        return restarted;
+    }
+
+    @Test
+    @DisplayName("Should keep bookings across a restart")
+    void testBookingsSurviveRestart() {
+        meetingService.bookMeeting("John Doe", new Meeting(nextMonday9am, nextMonday9am.plusHours(1), "Planning"));
+
+        MeetingService restarted = restartedService();
+
+        assertTrue(restarted.getAllEmployees().isEmpty());
+        List<Meeting> meetings = restarted.findEmployee("john doe").orElseThrow().getMeetings();
+        assertEquals(1, meetings.size());
+        assertEquals("Planning", meetings.get(0).getTitle());
+        assertEquals("John Doe", restarted.findEmployee("JOHN DOE").orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Should keep per-employee working hours across a restart")
+    void testWorkingHoursSurviveRestart() {
+        meetingService.setWorkingHours("John Doe", WorkingHours.parse("MON-THU 08:00-12:00,13:00-16:00; step 15"));
+        meetingService.setWorkingHours("Jane Smith", WorkingHours.parse("MON 10:00-11:00"));
+        meetingService.setWorkingHours("Jane Smith", null);
+
+        MeetingService restarted = restartedService();
+
+        assertEquals("MON 08:00-12:00,13:00-16:00; TUE 08:00-12:00,13:00-16:00; WED 08:00-12:00,13:00-16:00; "
+                + "THU 08:00-12:00,13:00-16:00; step 15", restarted.getWorkingHours("john doe").toString());
+        assertNull(restarted.findEmployee("Jane Smith").orElseThrow().getAvailability());
+    }
+
+    @Test
+    @DisplayName("Should keep per-employee time zones across a restart")
+    void testTimeZonesSurviveRestart() {
+        meetingService.setTimeZone("John Doe", ZoneId.of("Europe/Berlin"));
+        meetingService.setTimeZone("Jane Smith", ZoneId.of("Asia/Tokyo"));
+        meetingService.setTimeZone("Jane Smith", null);
+
+        MeetingService restarted = restartedService();
+
+        assertEquals(ZoneId.of("Europe/Berlin"), restarted.getTimeZone("john doe"));
+        assertNull(restarted.findEmployee("Jane Smith").orElseThrow().getZone());
+    }
+
+    @Test
+    @DisplayName("Should warm a stored calendar once when first used concurrently")
+    void testConcurrentFirstUse() throws Exception {
+        meetingService.bookMeeting("John Doe", new Meeting(nextMonday9am, nextMonday9am.plusHours(1), "Planning"));
+        MeetingService restarted = restartedService();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Employee>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String name = i % 2 == 0 ? "John Doe" : "JOHN DOE";
+                boolean lookupOnly = i % 3 == 0;
+                futures.add(pool.submit(() -> lookupOnly
+                        ? restarted.findEmployee(name).orElseThrow()
+                        : restarted.getOrCreateEmployee(name)));
+            }
+
+            Employee first = futures.get(0).get(30, TimeUnit.SECONDS);
+            for (Future<Employee> future : futures) {
+                assertSame(first, future.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, restarted.getAllEmployees().size());
+        assertEquals(1, restarted.findEmployee("john doe").orElseThrow().getMeetings().size());
+    }
+
+    @Test
+    @DisplayName("Should persist atomic multi-participant bookings for every participant")
+    void testBookMeetingIfFreePersists() {
+        Meeting meeting = new Meeting(nextMonday9am, nextMonday9am.plusHours(1), "Kickoff");
+        assertTrue(meetingService.bookMeetingIfFree(meeting, Arrays.asList("John Doe", "Jane Smith")).isEmpty());
+
+        MeetingService restarted = restartedService();
+
+        assertEquals(List.of("Jane Smith", "John Doe"), restarted.findConflicts(
+                new Meeting(nextMonday9am.plusMinutes(30), nextMonday9am.plusHours(2)),
+                Arrays.asList("Jane Smith", "John Doe")));
+    }
+
+    @Test
+    @DisplayName("Should answer queries older than the warm horizon from the store")
+    void testColdRangesArePushedDown() {
+        LocalDateTime longAgo = LocalDate.now().minusDays(90).atTime(10, 0);
+        meetingService.bookMeeting("John Doe", new Meeting(longAgo, longAgo.plusHours(1), "Old Review"));
+        meetingService.bookMeeting("John Doe", new Meeting(nextMonday9am, nextMonday9am.plusHours(1), "Planning"));
+
+        MeetingService restarted = restartedService();
+
+        // Only the recent meeting is loaded into memory...
+        assertEquals(1, restarted.getOrCreateEmployee("John Doe").getMeetings().size());
+        // ...but conflicts and free slots in the cold range still see the old one
+        assertEquals(List.of("John Doe"), restarted.findConflicts(
+                new Meeting(longAgo.plusMinutes(30), longAgo.plusMinutes(90)), List.of("John Doe")));
+        List<Meeting> slots = restarted.findCommonFreeSlots(
+                List.of(restarted.getOrCreateEmployee("John Doe")), 60, longAgo.withHour(9), longAgo.withHour(12));
+        assertTrue(slots.stream().noneMatch(slot -> slot.overlapsWith(new Meeting(longAgo, longAgo.plusHours(1)))));
+    }
+
+    @Test
+    @DisplayName("Should keep a recurring meeting as one row and see its occurrences in cold ranges")
+    void testRecurringMeetingSurvivesRestart() {
+        LocalDateTime longAgo = LocalDate.now().minusDays(90).atTime(10, 0);
+        Meeting weekly = new Meeting(longAgo, longAgo.plusHours(1), "Weekly");
+        weekly.setZone(ZoneId.of("Europe/Berlin"));
+        weekly.setRecurrence(Recurrence.parse("FREQ=WEEKLY"));
+        meetingService.bookMeeting("John Doe", weekly);
+
+        MeetingService restarted = restartedService();
+
+        // The series still runs, so it is loaded even though it started before the warm horizon
+        List<Meeting> meetings = restarted.getOrCreateEmployee("John Doe").getMeetings();
+        assertEquals(1, meetings.size());
+        assertEquals(longAgo, meetings.get(0).getStart());
+        assertEquals("FREQ=WEEKLY;INTERVAL=1", meetings.get(0).getRecurrence().toString());
+        LocalDateTime weekLater = longAgo.plusWeeks(1);
+        // A week later is still cold, so the store expands the series
+        Meeting berlinHour = new Meeting(weekLater, weekLater.plusMinutes(30));
+        berlinHour.setZone(ZoneId.of("Europe/Berlin"));
+        assertEquals(List.of("John Doe"), restarted.findConflicts(berlinHour, List.of("John Doe")));
+        Meeting dayLater = new Meeting(weekLater.plusDays(1), weekLater.plusDays(1).plusHours(1));
+        dayLater.setZone(ZoneId.of("Europe/Berlin"));
+        assertTrue(restarted.findConflicts(dayLater, List.of("John Doe")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should cancel and reschedule stored meetings for attendees not yet loaded")
+    void testCancelAndRescheduleSurviveRestart() {
+        Meeting kickoff = new Meeting(nextMonday9am, nextMonday9am.plusHours(1), "Kickoff");
+        Meeting review = new Meeting(nextMonday9am.plusHours(2), nextMonday9am.plusHours(3), "Review");
+        meetingService.bookMeetingIfFree(kickoff, Arrays.asList("John Doe", "Jane Smith"));
+        meetingService.bookMeetingIfFree(review, Arrays.asList("John Doe", "Jane Smith"));
+
+        // Neither calendar is in memory: the store names the attendees
+        MeetingService restarted = restartedService();
+        assertTrue(restarted.cancelMeeting(kickoff.getId()));
+        MeetingService again = restartedService();
+        assertTrue(again.rescheduleMeeting(review.getId(),
+                new Meeting(nextMonday9am.plusHours(4), nextMonday9am.plusHours(5))).isEmpty());
+
+        MeetingService last = restartedService();
+        for (String name : List.of("John Doe", "Jane Smith")) {
+            List<Meeting> meetings = last.getOrCreateEmployee(name).getMeetings();
+            assertEquals(1, meetings.size());
+            assertEquals(review.getId(), meetings.get(0).getId());
+            assertEquals(nextMonday9am.plusHours(4), meetings.get(0).getStart());
+        }
+        assertFalse(last.cancelMeeting(kickoff.getId()));
+    }
+}
@@ -1,15 +1,32 @@
 package com.example.demo.service;
 
+import com.example.demo.model.AvailabilityTemplate;
+import com.example.demo.model.ConflictMatrix;
 import com.example.demo.model.Employee;
+import com.example.demo.model.ImportRecord;
+import com.example.demo.model.ImportReport;
 import com.example.demo.model.Meeting;
+import com.example.demo.model.Recurrence;
+import com.example.demo.model.Resource;
+import com.example.demo.model.RoomSlot;
+import com.example.demo.model.WorkingHours;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -46,6 +63,28 @@ class MeetingServiceTest {
         assertEquals(3, meetingService.getAllEmployees().size());
     }
 
+    @Test
+    @DisplayName("Should look up employees without creating them")
+    void testFindEmployee() {
+        // Lookup is case insensitive and returns the registered instance
+        assertEquals(employee2, meetingService.findEmployee("JANE SMITH").orElse(null));
+
+        // Unknown names are not registered by a lookup
+        assertTrue(meetingService.findEmployee("Nobody").isEmpty());
+        assertTrue(meetingService.findEmployee(null).isEmpty());
+        assertEquals(2, meetingService.getAllEmployees().size());
+    }
+
+    @Test
+    @DisplayName("Should return employees as a copy the caller may change")
+    void testGetAllEmployees_Copy() {
+        meetingService.getAllEmployees().clear();
+
+        assertEquals(2, meetingService.getAllEmployees().size());
+        meetingService.getOrCreateEmployee("Alice Johnson");
+        assertEquals(3, meetingService.getAllEmployees().size());
+    }
+
     @Test
     @DisplayName("Should book meeting successfully")
     void testBookMeeting() {
@@ -78,6 +117,60 @@ class MeetingServiceTest {
         assertTrue(employee1.getMeetings().contains(meeting2));
     }
 
+    @Test
+    @DisplayName("Should book for all participants when everyone is free")
+    void testBookMeetingIfFree_AllFree() {
+        Meeting meeting = new Meeting(baseTime, baseTime.plusHours(1), "Kickoff");
+
+        List<String> conflicts = meetingService.bookMeetingIfFree(meeting, Arrays.asList("John Doe", "Jane Smith"));
+
+        assertTrue(conflicts.isEmpty());
+        assertEquals(1, employee1.getMeetings().size());
+        assertEquals(1, employee2.getMeetings().size());
+    }
+
+    @Test
+    @DisplayName("Should book for nobody when any participant has a conflict")
+    void testBookMeetingIfFree_Conflict() {
+        employee2.addMeeting(new Meeting(baseTime.plusMinutes(30), baseTime.plusHours(2), "Existing Meeting"));
+        Meeting meeting = new Meeting(baseTime, baseTime.plusHours(1), "Kickoff");
+
+        List<String> conflicts = meetingService.bookMeetingIfFree(meeting, Arrays.asList("John Doe", "Jane Smith"));
+
+        assertEquals(List.of("Jane Smith"), conflicts);
+        assertTrue(employee1.getMeetings().isEmpty());
+        assertEquals(1, employee2.getMeetings().size());
+    }
+
+    @Test
+    @DisplayName("Should never double-book under concurrent atomic bookings")
+    void testBookMeetingIfFree_Concurrent() throws Exception {
+        int attempts = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(attempts);
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                // Alternate participant order to exercise the deterministic lock ordering
+                List<String> participants = i % 2 == 0
+                        ? Arrays.asList("John Doe", "Jane Smith")
+                        : Arrays.asList("Jane Smith", "John Doe");
+                results.add(pool.submit(() -> meetingService.bookMeetingIfFree(
+                        new Meeting(baseTime, baseTime.plusHours(1), "Contended"), participants)));
+            }
+            long booked = 0;
+            for (Future<List<String>> result : results) {
+                if (result.get(30, TimeUnit.SECONDS).isEmpty()) {
+                    booked++;
+                }
+            }
+            assertEquals(1, booked);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, employee1.getMeetings().size());
+        assertEquals(1, employee2.getMeetings().size());
+    }
+
     @Test
     @DisplayName("Should find conflicts when meetings overlap")
     void testFindConflicts_WithOverlap() {
@@ -259,6 +352,813 @@ class MeetingServiceTest {
         assertTrue(freeSlots.isEmpty());
     }
 
+    @Test
+    @DisplayName("Should treat meetings spanning the start of the working day as busy")
+    void testFindFreeSlots_MeetingBeforeWorkingHours() {
+        // 8-10 AM for John, overlapping 9:30-11 AM for Jane
+        employee1.addMeeting(new Meeting(baseTime.minusHours(1), baseTime.plusHours(1), "Breakfast"));
+        employee2.addMeeting(new Meeting(baseTime.plusMinutes(30), baseTime.plusHours(2), "Review"));
+
+        List<Meeting> freeSlots = meetingService.findFreeSlots(employee1, employee2, 30, baseTime, baseTime.plusDays(1));
+
+        // Free from 11 AM to 6 PM only
+        assertEquals(14, freeSlots.size());
+        assertEquals(baseTime.plusHours(2), freeSlots.get(0).getStart());
+    }
+
+    @Test
+    @DisplayName("Should only return slots inside the search window")
+    void testFindFreeSlots_RespectsSearchWindow() {
+        LocalDateTime searchStart = baseTime.plusHours(3); // Monday 12 PM
+        LocalDateTime searchEnd = baseTime.plusDays(1).plusHours(2); // Tuesday 11 AM
+
+        List<Meeting> freeSlots = meetingService.findFreeSlots(employee1, employee2, 60, searchStart, searchEnd);
+
+        // Monday 12 PM - 6 PM: 11 one-hour slots; Tuesday 9 AM - 11 AM: 3
+        assertEquals(14, freeSlots.size());
+        assertEquals(searchStart, freeSlots.get(0).getStart());
+        assertEquals(searchEnd, freeSlots.get(freeSlots.size() - 1).getEnd());
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive durations")
+    void testFindFreeSlots_InvalidDuration() {
+        assertThrows(IllegalArgumentException.class,
+                () -> meetingService.findFreeSlots(employee1, employee2, 0, baseTime, baseTime.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Should find slots common to many participants")
+    void testFindCommonFreeSlots() {
+        Employee employee3 = meetingService.getOrCreateEmployee("Bob Wilson");
+        employee1.addMeeting(new Meeting(baseTime, baseTime.plusHours(1), "Meeting 1")); // 9-10 AM
+        employee2.addMeeting(new Meeting(baseTime.plusMinutes(30), baseTime.plusHours(2), "Meeting 2")); // 9:30-11 AM
+        employee3.addMeeting(new Meeting(baseTime.plusHours(4), baseTime.plusHours(9), "Meeting 3")); // 1-6 PM
+
+        List<Meeting> freeSlots = meetingService.findCommonFreeSlots(
+                Arrays.asList(employee1, employee2, employee3), 60, baseTime, baseTime.plusDays(1));
+
+        // Only 11 AM - 1 PM is free for everyone
+        assertEquals(3, freeSlots.size());
+        assertEquals(baseTime.plusHours(2), freeSlots.get(0).getStart());
+        assertEquals(baseTime.plusHours(4), freeSlots.get(2).getEnd());
+    }
+
+    @Test
+    @DisplayName("Should match the two-employee search for two participants")
+    void testFindCommonFreeSlots_TwoParticipants() {
+        employee1.addMeeting(new Meeting(baseTime.plusHours(1), baseTime.plusHours(2), "Meeting 1"));
+        employee2.addMeeting(new Meeting(baseTime.plusHours(3), baseTime.plusHours(4), "Meeting 2"));
+
+        List<Meeting> pairwise = meetingService.findFreeSlots(employee1, employee2, 30, baseTime, baseTime.plusDays(1));
+        List<Meeting> common = meetingService.findCommonFreeSlots(
+                Arrays.asList(employee1, employee2), 30, baseTime, baseTime.plusDays(1));
+
+        assertEquals(pairwise.size(), common.size());
+        for (int i = 0; i < common.size(); i++) {
+            assertEquals(pairwise.get(i).getStart(), common.get(i).getStart());
+        }
+    }
+
+    @Test
+    @DisplayName("Should give the same free slots from bitmaps and from the interval merge")
+    void testFindCommonFreeSlots_BitmapMatchesMerge() {
+        Random random = new Random(7);
+        List<Employee> participants = Arrays.asList(employee1, employee2, meetingService.getOrCreateEmployee("Bob Wilson"));
+        for (Employee e : participants) {
+            for (int i = 0; i < 40; i++) {
+                LocalDateTime start = baseTime.plusMinutes(15L * random.nextInt(4 * 24 * 14));
+                e.addMeeting(new Meeting(start, start.plusMinutes(15L * (1 + random.nextInt(8))), "M" + i));
+            }
+        }
+        LocalDateTime searchStart = baseTime;
+        LocalDateTime searchEnd = baseTime.plusDays(14);
+
+        // All meetings sit on 15-minute boundaries, so the bitmap path is used
+        List<Meeting> fromBitmaps = meetingService.findCommonFreeSlots(participants, 45, searchStart, searchEnd);
+
+        // An off-grid meeting outside the window forces the interval-merge path without changing the answer
+        employee1.addMeeting(new Meeting(baseTime.minusDays(30), baseTime.minusDays(30).plusMinutes(7), "Off-grid"));
+        List<Meeting> fromMerge = meetingService.findCommonFreeSlots(participants, 45, searchStart, searchEnd);
+
+        assertEquals(fromMerge.size(), fromBitmaps.size());
+        for (int i = 0; i < fromMerge.size(); i++) {
+            assertEquals(fromMerge.get(i).getStart(), fromBitmaps.get(i).getStart());
+        }
+    }
+
+    @Test
+    @DisplayName("Should page through streamed free slots without gaps or repeats")
+    void testStreamFreeSlots_Pagination() {
+        // Arrange - a few meetings over the coming week
+        LocalDateTime tomorrow = LocalDateTime.now().toLocalDate().plusDays(1).atTime(9, 0);
+        employee1.addMeeting(new Meeting(tomorrow.plusHours(1), tomorrow.plusHours(2), "Busy"));
+        employee2.addMeeting(new Meeting(tomorrow.plusDays(1).plusMinutes(45), tomorrow.plusDays(1).plusHours(3), "Busy"));
+        List<Meeting> all = meetingService.streamFreeSlots(employee1, employee2, 30, null).toList();
+
+        // Act - walk the pages, each one starting after the last slot of the previous page
+        List<Meeting> paged = new ArrayList<>();
+        LocalDateTime after = null;
+        List<Meeting> page;
+        do {
+            page = meetingService.streamFreeSlots(employee1, employee2, 30, after).limit(7).toList();
+            paged.addAll(page);
+            after = page.isEmpty() ? null : page.get(page.size() - 1).getStart();
+        } while (page.size() == 7);
+
+        // Assert
+        assertFalse(all.isEmpty());
+        assertEquals(all.size(), paged.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(all.get(i).getStart(), paged.get(i).getStart());
+        }
+    }
+
+    @Test
+    @DisplayName("Should page through the same slots when a meeting ends off the slot grid")
+    void testStreamFreeSlots_PaginationAfterUnalignedMeeting() {
+        // Arrange - a meeting ending at 09:40 anchors that morning's slots at 09:40, 10:10, ...
+        LocalDateTime morning = LocalDateTime.now(ZoneOffset.UTC).toLocalDate().plusDays(1).atTime(9, 0);
+        while (morning.getDayOfWeek().getValue() > 5) {
+            morning = morning.plusDays(1);
+        }
+        employee1.addMeeting(new Meeting(morning, morning.plusMinutes(40), "Busy"));
+        List<Meeting> all = meetingService.streamFreeSlots(employee1, employee2, 30, null).toList();
+
+        // Act - one slot per page, so a page starts right after the 09:40 slot
+        List<Meeting> paged = new ArrayList<>();
+        LocalDateTime after = null;
+        List<Meeting> page;
+        do {
+            page = meetingService.streamFreeSlots(employee1, employee2, 30, after).limit(1).toList();
+            paged.addAll(page);
+            after = page.isEmpty() ? null : page.get(0).getStart();
+        } while (!page.isEmpty());
+
+        // Assert
+        assertEquals(morning.plusMinutes(70), meetingService.streamFreeSlots(employee1, employee2, 30,
+                morning.plusMinutes(40)).findFirst().orElseThrow().getStart());
+        assertEquals(all.stream().map(Meeting::getStart).toList(), paged.stream().map(Meeting::getStart).toList());
+    }
+
+    @Test
+    @DisplayName("Should stream the same slots as the list-based search")
+    void testStreamCommonFreeSlots_MatchesList() {
+        // Arrange
+        employee1.addMeeting(new Meeting(baseTime.plusMinutes(40), baseTime.plusMinutes(100), "Off-grid"));
+        employee2.addMeeting(new Meeting(baseTime.plusDays(1), baseTime.plusDays(1).plusHours(4), "Busy"));
+        List<Employee> participants = Arrays.asList(employee1, employee2);
+
+        // Act
+        List<Meeting> listed = meetingService.findCommonFreeSlots(participants, 60, baseTime, baseTime.plusDays(7));
+        List<Meeting> streamed = meetingService.streamCommonFreeSlots(participants, 60, baseTime, baseTime.plusDays(7)).toList();
+
+        // Assert
+        assertEquals(listed.size(), streamed.size());
+        for (int i = 0; i < listed.size(); i++) {
+            assertEquals(listed.get(i).getStart(), streamed.get(i).getStart());
+            assertEquals(listed.get(i).getEnd(), streamed.get(i).getEnd());
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the first N slots of the full search")
+    void testFindCommonFreeSlots_MaxResults() {
+        // Arrange - dense mornings, with one off-grid meeting so both busy paths are exercised
+        Random random = new Random(11);
+        List<Employee> participants = Arrays.asList(employee1, employee2);
+        for (int i = 0; i < 60; i++) {
+            LocalDateTime start = baseTime.plusDays(random.nextInt(21)).plusMinutes(15L * random.nextInt(20));
+            participants.get(i % 2).addMeeting(new Meeting(start, start.plusMinutes(30L + 15 * random.nextInt(6)), "M" + i));
+        }
+        employee2.addMeeting(new Meeting(baseTime.plusDays(2).plusMinutes(7), baseTime.plusDays(2).plusMinutes(52), "Off-grid"));
+        LocalDateTime searchStart = baseTime.plusMinutes(20);
+        LocalDateTime searchEnd = baseTime.plusDays(21);
+        List<Meeting> all = meetingService.findCommonFreeSlots(participants, 45, searchStart, searchEnd);
+
+        for (int maxResults : new int[] {1, 3, 5, 40, all.size() + 10}) {
+            // Act
+            List<Meeting> first = meetingService.findCommonFreeSlots(participants, 45, searchStart, searchEnd, maxResults);
+
+            // Assert
+            assertEquals(Math.min(maxResults, all.size()), first.size());
+            for (int i = 0; i < first.size(); i++) {
+                assertEquals(all.get(i).getStart(), first.get(i).getStart());
+            }
+        }
+        assertEquals(all.get(0).getStart(),
+                meetingService.findEarliestFreeSlot(participants, 45, searchStart, searchEnd).orElseThrow().getStart());
+    }
+
+    @Test
+    @DisplayName("Should find no earliest slot when everyone is busy and reject a bad maxResults")
+    void testFindEarliestFreeSlot_NoneAvailable() {
+        // Arrange - busy for the whole working week
+        for (int day = 0; day < 5; day++) {
+            employee1.addMeeting(new Meeting(baseTime.plusDays(day), baseTime.plusDays(day).plusHours(9), "All day"));
+        }
+        List<Employee> participants = Arrays.asList(employee1, employee2);
+
+        // Act & Assert
+        assertTrue(meetingService.findEarliestFreeSlot(participants, 30, baseTime, baseTime.plusDays(5)).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> meetingService.findCommonFreeSlots(participants, 30, baseTime, baseTime.plusDays(5), 0));
+    }
+
+    @Test
+    @DisplayName("Should offer slots only within each participant's own working hours")
+    void testFindCommonFreeSlots_WorkingHoursPolicies() {
+        // Arrange - John works split shifts in 15-minute steps, Jane mornings only and not on Tuesday
+        WorkingHours split = WorkingHours.parse("MON-FRI 08:00-12:00,13:00-17:00; step 15");
+        WorkingHours mornings = WorkingHours.parse("MON-FRI 07:00-12:30; step 15; holidays 2024-01-16");
+        meetingService.setWorkingHours("John Doe", split);
+        meetingService.setWorkingHours("Jane Smith", mornings);
+
+        // Act
+        List<Meeting> johnOnly = meetingService.findCommonFreeSlots(Arrays.asList(employee1), 60,
+                baseTime.minusHours(1), baseTime.plusHours(8));
+        List<Meeting> both = meetingService.findCommonFreeSlots(Arrays.asList(employee1, employee2), 60,
+                baseTime.minusHours(1), baseTime.plusDays(2));
+
+        // Assert - 08:00-12:00 and 13:00-17:00 in 15-minute steps: 13 slots per shift
+        assertEquals(26, johnOnly.size());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 8, 0), johnOnly.get(0).getStart());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 13, 0), johnOnly.get(13).getStart());
+        // Monday 08:00-12:00 only; Tuesday is Jane's holiday; Wednesday 08:00 just fits before the window ends
+        assertEquals(14, both.size());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 11, 0), both.get(12).getStart());
+        assertEquals(LocalDateTime.of(2024, 1, 17, 8, 0), both.get(13).getStart());
+
+        // Reverting restores the organization's hours
+        meetingService.setWorkingHours("John Doe", null);
+        assertEquals(AvailabilityTemplate.STANDARD.toWorkingHours().toString(),
+                meetingService.getWorkingHours("John Doe").toString());
+    }
+
+    @Test
+    @DisplayName("Should apply a configured organization-wide policy")
+    void testOrganizationWorkingHours() {
+        // Arrange
+        meetingService.setOrganizationWorkingHours("MON-SAT 10:00-16:00; step 60");
+
+        // Act - Saturday 2024-01-20
+        List<Meeting> slots = meetingService.findCommonFreeSlots(Arrays.asList(employee1, employee2), 60,
+                baseTime.plusDays(5), baseTime.plusDays(6));
+
+        // Assert
+        assertEquals(6, slots.size());
+        assertEquals(LocalDateTime.of(2024, 1, 20, 10, 0), slots.get(0).getStart());
+        assertThrows(IllegalArgumentException.class, () -> meetingService.setWorkingHours("John Doe",
+                WorkingHours.parse("MON 17:00-09:00")));
+    }
+
+    @Test
+    @DisplayName("Should only offer slots inside the overlap of participants' local working hours")
+    void testFindCommonFreeSlots_TimeZones() {
+        // Arrange - 09:00-18:00 is 08:00-17:00Z in Berlin and 14:00-23:00Z in New York in January
+        meetingService.setTimeZone("John Doe", ZoneId.of("Europe/Berlin"));
+        meetingService.setTimeZone("Jane Smith", ZoneId.of("America/New_York"));
+        LocalDateTime monday = baseTime.toLocalDate().atStartOfDay();
+        // Booked as 15:00-16:00 Berlin time, i.e. 14:00-15:00Z
+        Meeting zoned = new Meeting(monday.plusHours(15), monday.plusHours(16), "Berlin call");
+        zoned.setZone(ZoneId.of("Europe/Berlin"));
+
+        // Act
+        List<Meeting> before = meetingService.findCommonFreeSlots(Arrays.asList(employee1, employee2), 60,
+                monday, monday.plusDays(1));
+        meetingService.bookMeeting("John Doe", zoned);
+        List<Meeting> after = meetingService.findCommonFreeSlots(Arrays.asList(employee1, employee2), 60,
+                monday, monday.plusDays(1));
+
+        // Assert - slots are UTC: 14:00-17:00Z in 30-minute steps, then only from 15:00Z
+        assertEquals(5, before.size());
+        assertEquals(monday.plusHours(14), before.get(0).getStart());
+        assertEquals(monday.plusHours(16), before.get(4).getStart());
+        assertEquals(3, after.size());
+        assertEquals(monday.plusHours(15), after.get(0).getStart());
+        assertEquals(monday.plusHours(14), employee1.getMeetings().get(0).getStart());
+        assertEquals(ZoneId.of("America/New_York"), meetingService.getTimeZone("jane smith"));
+        meetingService.setTimeZone("Jane Smith", null);
+        assertEquals(ZoneOffset.UTC, meetingService.getTimeZone("Jane Smith"));
+    }
+
+    @Test
+    @DisplayName("Should keep local working hours across a DST change")
+    void testFindCommonFreeSlots_DaylightSaving() {
+        // Arrange - Berlin moves to summer time on Sunday 2024-03-31
+        meetingService.setTimeZone("John Doe", ZoneId.of("Europe/Berlin"));
+        meetingService.setOrganizationWorkingHours("MON-FRI 09:00-10:00; step 60");
+        LocalDateTime friday = LocalDateTime.of(2024, 3, 29, 0, 0);
+
+        // Act
+        List<Meeting> slots = meetingService.findCommonFreeSlots(Arrays.asList(employee1), 60,
+                friday, friday.plusDays(4));
+
+        // Assert - 09:00 local is 08:00Z before the change and 07:00Z after it
+        assertEquals(2, slots.size());
+        assertEquals(LocalDateTime.of(2024, 3, 29, 8, 0), slots.get(0).getStart());
+        assertEquals(LocalDateTime.of(2024, 4, 1, 7, 0), slots.get(1).getStart());
+    }
+
+    @Test
+    @DisplayName("Should book a recurring meeting once and honour every occurrence")
+    void testRecurringMeeting() {
+        // Arrange - a weekly Monday 09:00-10:00 standup for a year
+        Meeting standup = new Meeting(baseTime, baseTime.plusHours(1), "Standup");
+        standup.setRecurrence(Recurrence.parse("FREQ=WEEKLY;COUNT=52"));
+        LocalDateTime monthLater = baseTime.plusWeeks(4);
+
+        // Act
+        meetingService.bookMeeting("John Doe", standup);
+        List<Meeting> slots = meetingService.findCommonFreeSlots(Arrays.asList(employee1, employee2), 60,
+                monthLater.minusHours(1), monthLater.plusHours(2));
+        List<String> oneOffConflicts = meetingService.findConflicts(
+                new Meeting(monthLater.plusMinutes(30), monthLater.plusMinutes(90)), Arrays.asList("John Doe", "Jane Smith"));
+        Meeting weekly = new Meeting(baseTime.plusDays(3), baseTime.plusDays(3).plusHours(1), "Thursday sync");
+        weekly.setRecurrence(Recurrence.parse("FREQ=WEEKLY"));
+        Meeting fortnightlyMonday = new Meeting(baseTime.minusWeeks(1).plusMinutes(30), baseTime.minusWeeks(1).plusMinutes(45));
+        fortnightlyMonday.setRecurrence(Recurrence.parse("FREQ=WEEKLY;INTERVAL=2"));
+
+        // Assert - one entry, and 09:00 on the Monday a month later is taken
+        assertEquals(1, employee1.getMeetings().size());
+        assertEquals(List.of(monthLater.plusHours(1)), slots.stream().map(Meeting::getStart).toList());
+        assertEquals(List.of("John Doe"), oneOffConflicts);
+        assertTrue(meetingService.bookMeetingIfFree(weekly, List.of("John Doe")).isEmpty());
+        assertEquals(List.of("John Doe"), meetingService.bookMeetingIfFree(fortnightlyMonday, List.of("John Doe")));
+        assertEquals(2, employee1.getMeetings().size());
+    }
+
+    @Test
+    @DisplayName("Should give the same answers in a conflict matrix as one conflict check per candidate")
+    void testFindConflictMatrix() {
+        // Arrange - three busy calendars and 200 unsorted candidates, one of them recurring
+        Random random = new Random(19);
+        List<String> participants = Arrays.asList("John Doe", "Jane Smith", "Alex Kim");
+        for (String name : participants) {
+            for (int i = 0; i < 100; i++) {
+                LocalDateTime start = baseTime.plusMinutes(15L * random.nextInt(2000));
+                meetingService.bookMeeting(name, new Meeting(start, start.plusMinutes(15L * (1 + random.nextInt(6)))));
+            }
+        }
+        List<Meeting> candidates = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime start = baseTime.plusMinutes(5L * random.nextInt(6000));
+            candidates.add(new Meeting(start, start.plusMinutes(5L * (1 + random.nextInt(12)))));
+        }
+        Meeting daily = new Meeting(baseTime.minusDays(1), baseTime.minusDays(1).plusMinutes(15));
+        daily.setRecurrence(Recurrence.parse("FREQ=DAILY;COUNT=10"));
+        candidates.add(daily);
+
+        // Act
+        ConflictMatrix matrix = meetingService.findConflictMatrix(candidates, participants);
+
+        // Assert
+        assertEquals(participants, matrix.getParticipants());
+        assertEquals(candidates.size(), matrix.getConflicts().length);
+        for (int c = 0; c < candidates.size(); c++) {
+            assertEquals(meetingService.findConflicts(candidates.get(c), participants), matrix.conflictsFor(c));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> meetingService.findConflictMatrix(List.of(new Meeting(baseTime, baseTime.minusHours(1))), participants));
+    }
+
+    @Test
+    @DisplayName("Should give the same answers when participants are evaluated in parallel")
+    void testParallelParticipants() {
+        // Arrange - 120 participants, half of them with meetings off the 15-minute grid
+        MeetingService parallel = new MeetingService();
+        parallel.setParallelThreads(4);
+        parallel.setParallelMinParticipants(2);
+        Random random = new Random(20);
+        List<String> names = new ArrayList<>();
+        for (int p = 0; p < 120; p++) {
+            String name = "Attendee " + p;
+            names.add(name);
+            for (int i = 0; i < 5; i++) {
+                LocalDateTime start = baseTime.plusMinutes(15L * random.nextInt(400) + (p % 2 == 0 ? 0 : 5));
+                Meeting meeting = new Meeting(start, start.plusMinutes(15L * (1 + random.nextInt(4))));
+                meetingService.bookMeeting(name, meeting);
+                parallel.bookMeeting(name, meeting);
+            }
+        }
+        Meeting allHands = new Meeting(baseTime.plusHours(2), baseTime.plusHours(3), "All hands");
+        List<Meeting> candidates = List.of(allHands, new Meeting(baseTime.plusDays(1), baseTime.plusDays(1).plusHours(1)));
+
+        try {
+            for (List<String> group : List.of(names, names.subList(1, 120).stream().filter(n -> n.endsWith("0")).toList())) {
+                List<Employee> sequentialGroup = group.stream().map(meetingService::getOrCreateEmployee).toList();
+                List<Employee> parallelGroup = group.stream().map(parallel::getOrCreateEmployee).toList();
+
+                // Act
+                List<String> conflicts = parallel.findConflicts(allHands, group);
+                List<Meeting> slots = parallel.findCommonFreeSlots(parallelGroup, 15, baseTime, baseTime.plusDays(7));
+                ConflictMatrix matrix = parallel.findConflictMatrix(candidates, group);
+
+                // Assert - same results, in participant order
+                assertEquals(meetingService.findConflicts(allHands, group), conflicts);
+                assertEquals(meetingService.findCommonFreeSlots(sequentialGroup, 15, baseTime, baseTime.plusDays(7)).stream()
+                        .map(Meeting::getStart).toList(), slots.stream().map(Meeting::getStart).toList());
+                assertArrayEquals(meetingService.findConflictMatrix(candidates, group).getConflicts(), matrix.getConflicts());
+            }
+        } finally {
+            parallel.shutdown();
+        }
+        assertThrows(IllegalArgumentException.class, () -> parallel.setParallelThreads(-1));
+    }
+
+    @Test
+    @DisplayName("Should keep answering while the participant pool is replaced or shut down")
+    void testParallelPoolShutdownDuringQueries() throws Exception {
+        // Arrange
+        MeetingService parallel = new MeetingService();
+        parallel.setParallelThreads(2);
+        parallel.setParallelMinParticipants(2);
+        List<String> names = new ArrayList<>();
+        for (int p = 0; p < 40; p++) {
+            names.add("Attendee " + p);
+            parallel.bookMeeting("Attendee " + p, new Meeting(baseTime.plusMinutes(15L * p), baseTime.plusMinutes(15L * p + 30)));
+        }
+        Meeting probe = new Meeting(baseTime, baseTime.plusHours(2));
+        List<String> expected = parallel.findConflicts(probe, names);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        try {
+            // Act - queries race pools being swapped out and shut down
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 300; i++) {
+                        assertEquals(expected, parallel.findConflicts(probe, names));
+                    }
+                }));
+            }
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 100; i++) {
+                    parallel.setParallelThreads(i % 2 == 0 ? 0 : 2);
+                }
+            }));
+
+            // Assert - no query saw a rejected submission
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve repeated free-slot searches from the cache until a participant's calendar changes")
+    void testFreeSlotCache() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MeetingService service = new MeetingService();
+        service.setMeterRegistry(registry);
+        Employee john = service.getOrCreateEmployee("John Doe");
+        Employee jane = service.getOrCreateEmployee("Jane Smith");
+        Employee alex = service.getOrCreateEmployee("Alex Kim");
+        service.bookMeeting("John Doe", new Meeting(baseTime.plusHours(1), baseTime.plusHours(2)));
+        LocalDateTime end = baseTime.plusDays(5);
+
+        // Act - the first page fills the entry part way, the full search completes it, repeats hit
+        List<Meeting> firstPage = service.streamCommonFreeSlots(List.of(john, jane), 30, baseTime, end).limit(3).toList();
+        List<Meeting> all = service.findFreeSlots(john, jane, 30, baseTime, end);
+        List<Meeting> reversed = service.findCommonFreeSlots(List.of(jane, john), 30, baseTime, end);
+        List<Meeting> otherPair = service.findFreeSlots(jane, alex, 30, baseTime, end);
+        service.bookMeeting("John Doe", new Meeting(baseTime.plusHours(4), baseTime.plusHours(5)));
+        List<Meeting> afterBooking = service.findFreeSlots(john, jane, 30, baseTime, end);
+        List<Meeting> otherPairAgain = service.findFreeSlots(alex, jane, 30, baseTime, end);
+
+        // Assert
+        MeetingService uncached = new MeetingService();
+        uncached.setSlotCacheEntries(0);
+        uncached.bookMeeting("John Doe", new Meeting(baseTime.plusHours(1), baseTime.plusHours(2)));
+        uncached.bookMeeting("John Doe", new Meeting(baseTime.plusHours(4), baseTime.plusHours(5)));
+        assertEquals(uncached.findFreeSlots(uncached.getOrCreateEmployee("John Doe"), uncached.getOrCreateEmployee("Jane Smith"),
+                30, baseTime, end).stream().map(Meeting::getStart).toList(), afterBooking.stream().map(Meeting::getStart).toList());
+        assertEquals(all.subList(0, 3).stream().map(Meeting::getStart).toList(), firstPage.stream().map(Meeting::getStart).toList());
+        assertEquals(all.stream().map(Meeting::getStart).toList(), reversed.stream().map(Meeting::getStart).toList());
+        assertNotSame(all.get(0), reversed.get(0));
+        assertEquals(otherPair.size(), otherPairAgain.size());
+        assertEquals(all.size() - 2, afterBooking.size());
+        assertTrue(afterBooking.stream().noneMatch(slot -> slot.getStart().equals(baseTime.plusHours(4))));
+        // Hits: the full search resuming the first page, the reversed pair and the untouched pair
+        assertEquals(3.0, registry.get("calendar.free.slots.cache").tag("result", "hit").counter().count());
+        assertEquals(3.0, registry.get("calendar.free.slots.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should resume a partly filled cache entry with the slots an uncached search finds")
+    void testFreeSlotCacheResumeAfterUnalignedMeeting() {
+        // Arrange - a meeting ending at 09:40, off the 15-minute grid
+        MeetingService uncached = new MeetingService();
+        uncached.setSlotCacheEntries(0);
+        for (MeetingService service : List.of(meetingService, uncached)) {
+            service.bookMeeting("John Doe", new Meeting(baseTime, baseTime.plusMinutes(40)));
+        }
+        LocalDateTime end = baseTime.plusDays(2);
+
+        // Act - the first search caches one slot, the second resumes after it, the third is served from the entry
+        List<Meeting> first = meetingService.findCommonFreeSlots(List.of(employee1, employee2), 30, baseTime, end, 1);
+        List<Meeting> resumed = meetingService.findCommonFreeSlots(List.of(employee1, employee2), 30, baseTime, end, 3);
+        List<Meeting> full = meetingService.findFreeSlots(employee1, employee2, 30, baseTime, end);
+
+        // Assert
+        List<LocalDateTime> expected = uncached.findFreeSlots(uncached.getOrCreateEmployee("John Doe"),
+                uncached.getOrCreateEmployee("Jane Smith"), 30, baseTime, end).stream().map(Meeting::getStart).toList();
+        assertEquals(List.of(baseTime.plusMinutes(40), baseTime.plusMinutes(70), baseTime.plusMinutes(100)),
+                expected.subList(0, 3));
+        assertEquals(expected.subList(0, 1), first.stream().map(Meeting::getStart).toList());
+        assertEquals(expected.subList(0, 3), resumed.stream().map(Meeting::getStart).toList());
+        assertEquals(expected, full.stream().map(Meeting::getStart).toList());
+    }
+
+    @Test
+    @DisplayName("Should recompute free slots when the cache is disabled or entries have expired")
+    void testFreeSlotCacheDisabledAndExpired() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MeetingService expiring = new MeetingService();
+        expiring.setMeterRegistry(registry);
+        expiring.setSlotCacheTtlSeconds(0);
+        MeetingService disabled = new MeetingService();
+        disabled.setSlotCacheEntries(0);
+        LocalDateTime end = baseTime.plusDays(1);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            expiring.findFreeSlots(expiring.getOrCreateEmployee("John Doe"), expiring.getOrCreateEmployee("Jane Smith"), 30, baseTime, end);
+        }
+        List<Meeting> slots = disabled.findFreeSlots(disabled.getOrCreateEmployee("John Doe"),
+                disabled.getOrCreateEmployee("Jane Smith"), 30, baseTime, end);
+
+        // Assert
+        assertEquals(0.0, registry.get("calendar.free.slots.cache").tag("result", "hit").counter().count());
+        assertEquals(3.0, registry.get("calendar.free.slots.cache").tag("result", "miss").counter().count());
+        assertEquals(18, slots.size());
+    }
+
+    @Test
+    @DisplayName("Should give concurrent identical queries the same fresh answers")
+    void testConcurrentIdenticalQueries() throws Exception {
+        // Arrange
+        meetingService.setSlotCacheEntries(0);
+        meetingService.bookMeeting("John Doe", new Meeting(baseTime, baseTime.plusHours(1)));
+        Meeting request = new Meeting(baseTime.plusMinutes(30), baseTime.plusMinutes(90));
+        List<String> participants = Arrays.asList("John Doe", "Jane Smith");
+        LocalDateTime end = baseTime.plusDays(7);
+        int expectedSlots = meetingService.findFreeSlots(employee1, employee2, 30, baseTime, end).size();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            // Act
+            List<Future<List<String>>> conflicts = new ArrayList<>();
+            List<Future<List<Meeting>>> slots = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                conflicts.add(executor.submit(() -> meetingService.findConflicts(request, participants)));
+                slots.add(executor.submit(() -> meetingService.findFreeSlots(employee1, employee2, 30, baseTime, end)));
+            }
+
+            // Assert - each caller gets its own list, and a booking is seen straight away
+            for (int i = 0; i < 32; i++) {
+                assertEquals(List.of("John Doe"), conflicts.get(i).get(5, TimeUnit.SECONDS));
+                assertEquals(expectedSlots, slots.get(i).get(5, TimeUnit.SECONDS).size());
+            }
+            meetingService.findConflicts(request, participants).clear();
+            meetingService.bookMeeting("Jane Smith", new Meeting(baseTime.plusHours(1), baseTime.plusHours(2)));
+            assertEquals(participants, meetingService.findConflicts(request, participants));
+            assertEquals(expectedSlots - 2, meetingService.findFreeSlots(employee1, employee2, 30, baseTime, end).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should cancel a meeting by ID for every attendee")
+    void testCancelMeeting() {
+        // Arrange
+        Meeting meeting = new Meeting(baseTime, baseTime.plusHours(1), "Planning");
+        meetingService.bookMeetingIfFree(meeting, List.of("John Doe", "Jane Smith"));
+        meetingService.bookMeeting("John Doe", new Meeting(baseTime.plusHours(2), baseTime.plusHours(3), "Other"));
+        String id = meeting.getId();
+
+        // Act
+        boolean cancelled = meetingService.cancelMeeting(id);
+
+        // Assert
+        assertNotNull(id);
+        assertTrue(cancelled);
+        assertEquals(List.of("Other"), employee1.getMeetings().stream().map(Meeting::getTitle).toList());
+        assertTrue(employee2.getMeetings().isEmpty());
+        assertTrue(meetingService.findConflicts(new Meeting(baseTime, baseTime.plusHours(1)),
+                List.of("John Doe", "Jane Smith")).isEmpty());
+        assertTrue(meetingService.findMeeting(id).isEmpty());
+        assertFalse(meetingService.cancelMeeting(id));
+        assertFalse(meetingService.cancelMeeting("no-such-meeting"));
+    }
+
+    @Test
+    @DisplayName("Should give a meeting its ID only once it is booked")
+    void testRejectedBookingGetsNoId() {
+        // Arrange
+        meetingService.bookMeeting("John Doe", new Meeting(baseTime, baseTime.plusHours(1), "Planning"));
+        Meeting clash = new Meeting(baseTime.plusMinutes(30), baseTime.plusMinutes(90), "Clash");
+
+        // Act
+        List<String> conflicts = meetingService.bookMeetingIfFree(clash, List.of("John Doe", "Jane Smith"));
+        String idAfterConflict = clash.getId();
+        List<String> retried = meetingService.bookMeetingIfFree(clash, List.of("Jane Smith"));
+
+        // Assert - the rejected attempt left no ID behind; the booked one resolves to the meeting
+        assertEquals(List.of("John Doe"), conflicts);
+        assertNull(idAfterConflict);
+        assertTrue(retried.isEmpty());
+        assertEquals("Clash", meetingService.findMeeting(clash.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    @DisplayName("Should reschedule for every attendee unless the new time conflicts with another meeting")
+    void testRescheduleMeeting() {
+        // Arrange - planning 9-10 for both, John also busy 11-12
+        Meeting meeting = new Meeting(baseTime, baseTime.plusHours(1), "Planning");
+        meetingService.bookMeetingIfFree(meeting, List.of("John Doe", "Jane Smith"));
+        meetingService.bookMeeting("John Doe", new Meeting(baseTime.plusHours(2), baseTime.plusHours(3), "Other"));
+        String id = meeting.getId();
+
+        // Act
+        List<String> clash = meetingService.rescheduleMeeting(id,
+                new Meeting(baseTime.plusMinutes(150), baseTime.plusMinutes(210)));
+        // Overlapping its own old time is fine; the new times are read in the given zone
+        Meeting changes = new Meeting(baseTime.plusMinutes(90), baseTime.plusMinutes(150));
+        changes.setZone(ZoneId.of("Europe/Berlin"));
+        List<String> moved = meetingService.rescheduleMeeting(id, changes);
+        Meeting renamed = new Meeting();
+        renamed.setTitle("Quarterly planning");
+        List<String> retitled = meetingService.rescheduleMeeting(id, renamed);
+
+        // Assert
+        assertEquals(List.of("John Doe"), clash);
+        assertTrue(moved.isEmpty());
+        assertTrue(retitled.isEmpty());
+        Meeting updated = meetingService.findMeeting(id).orElseThrow();
+        assertEquals(baseTime.plusMinutes(30), updated.getStart());
+        assertEquals("Quarterly planning", updated.getTitle());
+        for (Employee e : List.of(employee1, employee2)) {
+            assertTrue(e.getCalendar().overlaps(baseTime.plusMinutes(30), baseTime.plusMinutes(90)));
+            assertFalse(e.getCalendar().overlaps(baseTime, baseTime.plusMinutes(30)));
+        }
+        assertEquals(2, employee1.getMeetings().size());
+        assertThrows(java.util.NoSuchElementException.class,
+                () -> meetingService.rescheduleMeeting("no-such-meeting", renamed));
+        assertThrows(IllegalArgumentException.class,
+                () -> meetingService.rescheduleMeeting(id, new Meeting(null, baseTime)));
+    }
+
+    @Test
+    @DisplayName("Should pair free slots with the smallest matching room that is free")
+    void testFindFreeSlotsWithRoom() {
+        // Arrange - the large room is busy 9-10
+        meetingService.putResource("Small", 2, List.of("TV"));
+        meetingService.putResource("Large", 10, List.of("Projector", "TV"));
+        meetingService.putResource("Huge", 20, List.of("projector"));
+        meetingService.bookMeetingIfFree(new Meeting(baseTime, baseTime.plusHours(1)), List.of("Someone"), "Large");
+        List<Employee> participants = List.of(employee1, employee2);
+        LocalDateTime end = baseTime.plusHours(3);
+
+        // Act
+        List<RoomSlot> slots = meetingService.findFreeSlotsWithRoom(participants, 60, 4, List.of("PROJECTOR"),
+                baseTime, end, 10);
+        meetingService.bookMeetingIfFree(new Meeting(baseTime, baseTime.plusHours(1)), List.of("Someone else"), "Huge");
+        List<RoomSlot> later = meetingService.findFreeSlotsWithRoom(participants, 60, 4, List.of("projector"),
+                baseTime, end, 1);
+        List<RoomSlot> none = meetingService.findFreeSlotsWithRoom(participants, 60, 1, List.of("whiteboard"),
+                baseTime, end, 10);
+
+        // Assert
+        assertEquals(baseTime, slots.get(0).getSlot().getStart());
+        assertEquals("Huge", slots.get(0).getRoom());
+        RoomSlot atTen = slots.stream().filter(s -> s.getSlot().getStart().equals(baseTime.plusHours(1)))
+                .findFirst().orElseThrow();
+        assertEquals("Large", atTen.getRoom());
+        assertTrue(slots.stream().noneMatch(s -> s.getRoom().equals("Small")));
+        assertEquals(1, later.size());
+        assertEquals(baseTime.plusHours(1), later.get(0).getSlot().getStart());
+        assertEquals("Large", later.get(0).getRoom());
+        assertTrue(none.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should book, move and release a room along with the participants")
+    void testBookMeetingIfFree_WithRoom() {
+        // Arrange
+        meetingService.putResource("Boardroom", 8, List.of());
+        Meeting meeting = new Meeting(baseTime, baseTime.plusHours(1), "Planning");
+        Resource room = meetingService.findResource("boardroom").orElseThrow();
+
+        // Act
+        List<String> booked = meetingService.bookMeetingIfFree(meeting, List.of("John Doe"), "Boardroom");
+        List<String> roomBusy = meetingService.bookMeetingIfFree(
+                new Meeting(baseTime.plusMinutes(30), baseTime.plusMinutes(90)), List.of("Jane Smith"), "BOARDROOM");
+        List<String> moved = meetingService.rescheduleMeeting(meeting.getId(),
+                new Meeting(baseTime.plusHours(2), baseTime.plusHours(3)));
+        List<String> freed = meetingService.bookMeetingIfFree(
+                new Meeting(baseTime.plusMinutes(30), baseTime.plusMinutes(90)), List.of("Jane Smith"), "Boardroom");
+        boolean cancelled = meetingService.cancelMeeting(meeting.getId());
+
+        // Assert
+        assertTrue(booked.isEmpty());
+        assertEquals(List.of("Boardroom"), roomBusy);
+        assertTrue(moved.isEmpty());
+        assertTrue(freed.isEmpty());
+        assertTrue(cancelled);
+        assertEquals(1, employee2.getMeetings().size());
+        assertTrue(room.getCalendar().overlaps(baseTime.plusMinutes(30), baseTime.plusMinutes(90)));
+        assertFalse(room.getCalendar().overlaps(baseTime.plusHours(2), baseTime.plusHours(3)));
+        assertThrows(IllegalArgumentException.class,
+                () -> meetingService.bookMeetingIfFree(new Meeting(baseTime, baseTime.plusHours(1)), List.of("John Doe"), "Attic"));
+        assertThrows(IllegalArgumentException.class, () -> meetingService.putResource("Attic", 0, List.of()));
+        meetingService.putResource("BOARDROOM", 12, List.of("tv"));
+        assertEquals(1, meetingService.getAllResources().size());
+        assertEquals(12, room.getCapacity());
+    }
+
+    @Test
+    @DisplayName("Should book, search, cancel and reschedule the same way with the off-heap engine")
+    void testOffHeapEngine() {
+        // Arrange - the same bookings on a heap service and an off-heap one
+        MeetingService offHeap = new MeetingService();
+        offHeap.setCalendarEngine("off-heap");
+        Random random = new Random(5);
+        List<String> people = List.of("John Doe", "Jane Smith", "Bob Wilson");
+        for (int i = 0; i < 300; i++) {
+            LocalDateTime start = baseTime.plusMinutes(30L * random.nextInt(300));
+            LocalDateTime end = start.plusMinutes(30L * (1 + random.nextInt(3)));
+            String person = people.get(random.nextInt(people.size()));
+            meetingService.bookMeeting(person, new Meeting(start, end, "M" + i));
+            offHeap.bookMeeting(person, new Meeting(start, end, "M" + i));
+        }
+        Meeting planning = new Meeting(baseTime.plusDays(20), baseTime.plusDays(20).plusHours(1), "Planning");
+        offHeap.bookMeetingIfFree(planning, people);
+        String id = planning.getId();
+
+        // Act
+        List<Meeting> heapSlots = meetingService.findCommonFreeSlots(
+                people.stream().map(meetingService::getOrCreateEmployee).toList(), 30, baseTime, baseTime.plusDays(7));
+        List<Meeting> offHeapSlots = offHeap.findCommonFreeSlots(
+                people.stream().map(offHeap::getOrCreateEmployee).toList(), 30, baseTime, baseTime.plusDays(7));
+        List<String> clash = offHeap.bookMeetingIfFree(new Meeting(baseTime.plusDays(20), baseTime.plusDays(20).plusMinutes(30)),
+                List.of("Jane Smith"));
+        List<String> moved = offHeap.rescheduleMeeting(id, new Meeting(baseTime.plusDays(21), baseTime.plusDays(21).plusHours(1)));
+        Meeting found = offHeap.findMeeting(id).orElseThrow();
+        boolean cancelled = offHeap.cancelMeeting(id);
+
+        // Assert
+        assertTrue(offHeap.getOrCreateEmployee("John Doe").getCalendar().isOffHeap());
+        assertFalse(employee1.getCalendar().isOffHeap());
+        assertEquals(heapSlots.stream().map(Meeting::getStart).toList(), offHeapSlots.stream().map(Meeting::getStart).toList());
+        assertEquals(List.of("Jane Smith"), clash);
+        assertTrue(moved.isEmpty());
+        assertEquals(baseTime.plusDays(21), found.getStart());
+        assertEquals("Planning", found.getTitle());
+        assertTrue(cancelled);
+        assertTrue(offHeap.findConflicts(found, people).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> offHeap.setCalendarEngine("mmap"));
+    }
+
+    @Test
+    @DisplayName("Should bulk-import records grouped by employee and report rejected ones by index")
+    void testImportMeetings() {
+        // Arrange - 10,000 records over 50 employees, with two bad ones
+        List<ImportRecord> records = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime start = baseTime.plusDays(i % 200).plusMinutes(30L * (i / 200 % 16));
+            ImportRecord record = new ImportRecord("Employee " + (i % 50), new Meeting(start, start.plusMinutes(30), "M" + i));
+            record.setIndex(i);
+            records.add(record);
+        }
+        records.get(17).setMeeting(new Meeting(baseTime, baseTime.minusHours(1)));
+        records.get(42).setEmpName(null);
+        records.add(ImportRecord.unreadable(10_000, "Unexpected character"));
+
+        // Act
+        ImportReport report = meetingService.importMeetings(records.iterator());
+
+        // Assert
+        assertEquals(9_998, report.getImported());
+        assertEquals(50, report.getEmployees());
+        assertEquals(List.of(17L, 42L, 10_000L), report.getFailures().stream().map(ImportReport.Failure::index).toList());
+        assertEquals("Unexpected character", report.getFailures().get(2).message());
+        Employee first = meetingService.findEmployee("employee 0").orElseThrow();
+        assertEquals(200, first.getMeetings().size());
+        assertTrue(first.getCalendar().overlaps(baseTime, baseTime.plusMinutes(30)));
+        LocalDateTime previous = LocalDateTime.MIN;
+        for (Meeting meeting : first.getMeetings()) {
+            assertFalse(meeting.getStart().isBefore(previous));
+            previous = meeting.getStart();
+        }
+    }
+
     @Test
     @DisplayName("Should clear all data")
     void testClearAllData() {
@@ -289,4 +1189,36 @@ class MeetingServiceTest {
         // Assert
         assertTrue(conflicts.isEmpty(), "Meetings that touch at boundaries should not conflict");
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should record operation timers, conflicts, slot counts and calendar sizes")
+    void testMetrics() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MeetingService service = new MeetingService();
+        service.setMaxEmployeeGauges(1);
+        service.setMeterRegistry(registry);
+        service.bookMeeting("John Doe", new Meeting(baseTime, baseTime.plusHours(1), "Standup"));
+        service.getOrCreateEmployee("Jane Smith");
+
+        // Act
+        service.findConflicts(new Meeting(baseTime, baseTime.plusMinutes(30)), Arrays.asList("John Doe", "Jane Smith"));
+        List<Meeting> slots = service.findFreeSlots(service.getOrCreateEmployee("John Doe"),
+                service.getOrCreateEmployee("Jane Smith"), 60, baseTime, baseTime.plusHours(9));
+
+        // Assert
+        assertEquals(1, registry.get("calendar.operation").tag("operation", "book").timer().count());
+        assertEquals(1, registry.get("calendar.operation").tag("operation", "conflicts").timer().count());
+        assertEquals(1, registry.get("calendar.operation").tag("operation", "free_slots").timer().count());
+        assertEquals(1.0, registry.get("calendar.conflicts.detected").tag("operation", "conflicts").counter().count());
+        assertEquals(slots.size(), registry.get("calendar.free.slots.returned").summary().totalAmount());
+        assertEquals(2.0, registry.get("calendar.employees").gauge().value());
+        assertEquals(1.0, registry.get("calendar.meetings").gauge().value());
+        // Only the first employee gets a per-employee gauge under a cap of one
+        assertEquals(1, registry.find("calendar.employee.meetings").gauges().size());
+        assertEquals(1.0, registry.get("calendar.employee.meetings").tag("employee", "John Doe").gauge().value());
+
+        service.clearAllData();
+        assertTrue(registry.find("calendar.employee.meetings").gauges().isEmpty());
+    }
+}
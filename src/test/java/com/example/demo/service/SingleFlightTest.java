@@ -0,0 +1,84 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("Should run concurrent identical computations once and hand every caller the answer")
+    void testCoalescesConcurrentCalls() throws Exception {
+        // Arrange - the first caller's computation blocks until every other caller has joined it
+        AtomicInteger joined = new AtomicInteger();
+        AtomicInteger computed = new AtomicInteger();
+        SingleFlight<String, Integer> flights = new SingleFlight<>(joined::incrementAndGet);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            // Act
+            Future<Integer> leader = executor.submit(() -> flights.run("key", () -> {
+                started.countDown();
+                await(release);
+                return computed.incrementAndGet() * 42;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            List<Future<Integer>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(executor.submit(() -> flights.run("key", () -> computed.incrementAndGet() * 42)));
+            }
+            while (joined.get() < 7) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            // Assert
+            assertEquals(42, leader.get(5, TimeUnit.SECONDS));
+            for (Future<Integer> follower : followers) {
+                assertEquals(42, follower.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, computed.get());
+            assertEquals(0, flights.inFlight());
+            // Nothing is kept once the flight lands
+            assertEquals(84, flights.run("key", () -> computed.incrementAndGet() * 42));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should pass a failed computation's exception to every caller and forget it")
+    void testPropagatesFailures() {
+        SingleFlight<String, Integer> flights = new SingleFlight<>(() -> { });
+
+        IllegalArgumentException failure = assertThrows(IllegalArgumentException.class,
+                () -> flights.run("key", () -> {
+                    throw new IllegalArgumentException("bad query");
+                }));
+
+        assertEquals("bad query", failure.getMessage());
+        assertEquals(0, flights.inFlight());
+        assertEquals(1, flights.run("key", () -> 1));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}